@@ -0,0 +1,97 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc;
+
+import org.mariadb.jdbc.pool.ConnectionBag;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Borrow / release contention of pool idle connection container, comparing ConnectionBag to the
+ * LinkedBlockingDeque previously used. No server is needed.
+ *
+ * <p>Run with main() to measure 1 to 256 threads.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 1)
+@Threads(value = 64)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class Pool_Bag_Contention {
+
+  private static final int WORK_TOKENS = 50;
+
+  @Param({"20"})
+  int poolSize;
+
+  private ConnectionBag<Item> bag;
+  private LinkedBlockingDeque<Item> deque;
+
+  public static class Item implements ConnectionBag.Entry {
+    private final AtomicInteger state = new AtomicInteger();
+
+    @Override
+    public int getState() {
+      return state.get();
+    }
+
+    @Override
+    public void setState(int state) {
+      this.state.set(state);
+    }
+
+    @Override
+    public boolean compareAndSetState(int expect, int update) {
+      return state.compareAndSet(expect, update);
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    bag = new ConnectionBag<>();
+    deque = new LinkedBlockingDeque<>();
+    for (int i = 0; i < poolSize; i++) {
+      bag.add(new Item());
+      deque.addFirst(new Item());
+    }
+  }
+
+  @Benchmark
+  public Item connectionBag() throws InterruptedException {
+    Item item = bag.borrow(10, TimeUnit.SECONDS);
+    Blackhole.consumeCPU(WORK_TOKENS);
+    bag.requite(item);
+    return item;
+  }
+
+  @Benchmark
+  public Item linkedBlockingDeque() throws InterruptedException {
+    Item item = deque.pollFirst();
+    if (item == null) item = deque.pollFirst(10, TimeUnit.SECONDS);
+    Blackhole.consumeCPU(WORK_TOKENS);
+    deque.addFirst(item);
+    return item;
+  }
+
+  public static void main(String[] args) throws Exception {
+    for (int threads : new int[] {1, 4, 16, 64, 128, 256}) {
+      Options opt =
+          new OptionsBuilder()
+              .include(Pool_Bag_Contention.class.getSimpleName())
+              .threads(threads)
+              .build();
+      new Runner(opt).run();
+    }
+  }
+}
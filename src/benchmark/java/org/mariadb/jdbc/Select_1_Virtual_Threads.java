@@ -0,0 +1,84 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Many virtual threads sharing a small pool. Requires java 21.
+ *
+ * <p>Forked JVM runs with -Djdk.tracePinnedThreads=full : any virtual thread blocking while
+ * holding a monitor prints its stack trace in benchmark output. Output must not contain any
+ * "&lt;== monitors" line with a org.mariadb.jdbc frame.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Djdk.tracePinnedThreads=full"})
+public class Select_1_Virtual_Threads extends Common {
+
+  private static final int TASKS = 10_000;
+
+  @State(Scope.Benchmark)
+  public static class PoolState {
+
+    protected MariaDbPoolDataSource dataSource;
+    protected ExecutorService executor;
+
+    @Param({"20"})
+    int poolSize;
+
+    @Setup(Level.Trial)
+    public void createPool() throws Exception {
+      dataSource =
+          new MariaDbPoolDataSource(
+              String.format(
+                  "jdbc:mariadb://%s:%s/%s?user=%s&password=%s&maxPoolSize=%s&useServerPrepStmts=true%s",
+                  host, port, database, username, password, poolSize, other));
+      try {
+        executor =
+            (ExecutorService)
+                Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (NoSuchMethodException e) {
+        throw new IllegalStateException("virtual threads require java 21", e);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() {
+      executor.shutdown();
+      dataSource.close();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TASKS)
+  public int run(PoolState state) throws Throwable {
+    List<Future<Integer>> futures = new ArrayList<>(TASKS);
+    for (int i = 0; i < TASKS; i++) {
+      futures.add(
+          state.executor.submit(
+              () -> {
+                try (Connection conn = state.dataSource.getConnection()) {
+                  try (PreparedStatement prep = conn.prepareStatement("select ?")) {
+                    prep.setInt(1, 1);
+                    ResultSet rs = prep.executeQuery();
+                    rs.next();
+                    return rs.getInt(1);
+                  }
+                }
+              }));
+    }
+    int sum = 0;
+    for (Future<Integer> future : futures) sum += future.get();
+    return sum;
+  }
+}
@@ -14,12 +14,15 @@ import java.sql.ParameterMetaData;
 import java.util.*;
 import java.util.concurrent.locks.ReentrantLock;
 import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.Completion;
 import org.mariadb.jdbc.client.util.Parameters;
 import org.mariadb.jdbc.codec.*;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.export.Prepare;
+import org.mariadb.jdbc.message.server.OkPacket;
 import org.mariadb.jdbc.plugin.Codec;
 import org.mariadb.jdbc.plugin.codec.*;
+import org.mariadb.jdbc.util.ParameterBatch;
 import org.mariadb.jdbc.util.ParameterList;
 
 /** Common methods for prepare statement, for client and server prepare statement. */
@@ -37,6 +40,14 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   /** PREPARE command result */
   protected Prepare prepareResult = null;
 
+  /** update counts of batch parts already sent by auto-flush, aggregated on executeBatch() */
+  private long[] flushedUpdates;
+
+  private int flushedUpdateNo;
+
+  /** results of batch parts already sent by auto-flush, kept only for generated keys */
+  private List<Completion> flushedResults;
+
   /**
    * Constructor
    *
@@ -91,6 +102,129 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
     return sb.toString();
   }
 
+  /**
+   * Send current batched parameters to server. Results are set in {@link #results}.
+   *
+   * @throws SQLException if any error occurs
+   */
+  protected abstract void executeInternalPreparedBatch() throws SQLException;
+
+  /**
+   * Send batched parameters to server without waiting for executeBatch() when auto-flush thresholds
+   * (options batchFlushRows / batchFlushSize) are reached. Update counts are kept to be aggregated
+   * on executeBatch(), parameters are released.
+   *
+   * @throws SQLException if batch part fails
+   */
+  protected void flushBatchIfNeeded() throws SQLException {
+    Configuration conf = con.getContext().getConf();
+    if (!((conf.batchFlushRows() > 0 && batchParameters.size() >= conf.batchFlushRows())
+        || (conf.batchFlushSize() > 0
+            && batchParameters instanceof ParameterBatch
+            && ((ParameterBatch) batchParameters).approximateSize() >= conf.batchFlushSize()))) {
+      return;
+    }
+    lock.lock();
+    try {
+      long[] updates = executeBatchPart();
+      if (flushedUpdates == null) {
+        flushedUpdates = new long[Math.max(16, updates.length * 2)];
+      } else if (flushedUpdateNo + updates.length > flushedUpdates.length) {
+        flushedUpdates =
+            Arrays.copyOf(
+                flushedUpdates,
+                Math.max(flushedUpdates.length * 2, flushedUpdateNo + updates.length));
+      }
+      System.arraycopy(updates, 0, flushedUpdates, flushedUpdateNo, updates.length);
+      flushedUpdateNo += updates.length;
+      if (autoGeneratedKeys == java.sql.Statement.RETURN_GENERATED_KEYS) {
+        if (flushedResults == null) flushedResults = new ArrayList<>();
+        flushedResults.addAll(results);
+      }
+      results = null;
+    } finally {
+      batchParameters.clear();
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Indicate if there is a batch to execute, either batched parameters or batch parts already sent
+   * by auto-flush.
+   *
+   * @return true if batch is not empty
+   */
+  protected boolean hasBatch() {
+    return (batchParameters != null && !batchParameters.isEmpty()) || flushedUpdateNo > 0;
+  }
+
+  /**
+   * Execute remaining batched parameters, aggregating update counts with batch parts already sent
+   * by auto-flush. Lock must be held.
+   *
+   * @return update counts
+   * @throws SQLException if any error occurs
+   */
+  protected long[] executeBatchUpdates() throws SQLException {
+    long[] updates;
+    if (batchParameters == null || batchParameters.isEmpty()) {
+      updates = new long[0];
+      results = new ArrayList<>();
+    } else {
+      updates = executeBatchPart();
+    }
+    if (flushedUpdateNo > 0) {
+      long[] allUpdates = Arrays.copyOf(flushedUpdates, flushedUpdateNo + updates.length);
+      System.arraycopy(updates, 0, allUpdates, flushedUpdateNo, updates.length);
+      updates = allUpdates;
+      if (flushedResults != null) {
+        flushedResults.addAll(results);
+        results = flushedResults;
+      }
+      clearFlushedBatch();
+    }
+    currResult = results.isEmpty() ? null : results.remove(0);
+    return updates;
+  }
+
+  private long[] executeBatchPart() throws SQLException {
+    try {
+      executeInternalPreparedBatch();
+    } catch (SQLException sqle) {
+      if (flushedUpdateNo == 0) throw sqle;
+      // report update counts of batch parts already sent
+      int[] partUpdates =
+          sqle instanceof BatchUpdateException
+              ? ((BatchUpdateException) sqle).getUpdateCounts()
+              : new int[0];
+      int[] updateCounts = new int[flushedUpdateNo + partUpdates.length];
+      for (int i = 0; i < flushedUpdateNo; i++) updateCounts[i] = (int) flushedUpdates[i];
+      System.arraycopy(partUpdates, 0, updateCounts, flushedUpdateNo, partUpdates.length);
+      clearFlushedBatch();
+      throw new BatchUpdateException(
+          sqle.getMessage(), sqle.getSQLState(), sqle.getErrorCode(), updateCounts, sqle);
+    }
+    long[] updates = new long[batchParameters.size()];
+    if (results.size() != updates.length) {
+      Arrays.fill(updates, java.sql.Statement.SUCCESS_NO_INFO);
+    } else {
+      for (int i = 0; i < updates.length; i++) {
+        if (results.get(i) instanceof OkPacket) {
+          updates[i] = ((OkPacket) results.get(i)).getAffectedRows();
+        } else {
+          updates[i] = java.sql.Statement.SUCCESS_NO_INFO;
+        }
+      }
+    }
+    return updates;
+  }
+
+  private void clearFlushedBatch() {
+    flushedUpdates = null;
+    flushedUpdateNo = 0;
+    flushedResults = null;
+  }
+
   /**
    * Set PREPARE result
    *
@@ -161,6 +295,13 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   // methods inherited from Statement that are disabled
   // ***************************************************************************************************
 
+  @Override
+  public void clearBatch() throws SQLException {
+    super.clearBatch();
+    if (batchParameters != null) batchParameters.clear();
+    clearFlushedBatch();
+  }
+
   @Override
   public void addBatch(String sql) throws SQLException {
     throw exceptionFactory().create("addBatch(String sql) cannot be called on preparedStatement");
@@ -294,7 +435,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setBoolean(int parameterIndex, boolean x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new NonNullParameter<>(BooleanCodec.INSTANCE, x));
+    parameters.setBoolean(parameterIndex - 1, x);
   }
 
   /**
@@ -310,7 +451,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setByte(int parameterIndex, byte x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new NonNullParameter<>(ByteCodec.INSTANCE, x));
+    parameters.setByte(parameterIndex - 1, x);
   }
 
   /**
@@ -326,7 +467,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setShort(int parameterIndex, short x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new NonNullParameter<>(ShortCodec.INSTANCE, x));
+    parameters.setShort(parameterIndex - 1, x);
   }
 
   /**
@@ -342,7 +483,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setInt(int parameterIndex, int x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new NonNullParameter<>(IntCodec.INSTANCE, x));
+    parameters.setInt(parameterIndex - 1, x);
   }
 
   /**
@@ -358,7 +499,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setLong(int parameterIndex, long x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new NonNullParameter<>(LongCodec.INSTANCE, x));
+    parameters.setLong(parameterIndex - 1, x);
   }
 
   /**
@@ -374,7 +515,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setFloat(int parameterIndex, float x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new NonNullParameter<>(FloatCodec.INSTANCE, x));
+    parameters.setFloat(parameterIndex - 1, x);
   }
 
   /**
@@ -390,7 +531,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void setDouble(int parameterIndex, double x) throws SQLException {
     checkIndex(parameterIndex);
-    parameters.set(parameterIndex - 1, new NonNullParameter<>(DoubleCodec.INSTANCE, x));
+    parameters.setDouble(parameterIndex - 1, x);
   }
 
   /**
@@ -1237,12 +1378,11 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
     }
 
     // in case parameter still not set, defaulting to object type
-    for (Codec<?> codec : con.getContext().getConf().codecs()) {
-      if (codec.canEncode(obj)) {
-        Parameter p = new Parameter(codec, obj, scaleOrLength);
-        parameters.set(parameterIndex - 1, p);
-        return;
-      }
+    Codec<?> codec = con.getContext().getConf().encoder(obj);
+    if (codec != null) {
+      Parameter p = new Parameter(codec, obj, scaleOrLength);
+      parameters.set(parameterIndex - 1, p);
+      return;
     }
 
     throw new SQLException(String.format("Type %s not supported type", obj.getClass().getName()));
@@ -1581,4 +1721,39 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
         targetSqlType == null ? null : targetSqlType.getVendorTypeNumber(),
         null);
   }
+
+  /**
+   * Dispatch results of commands sending many rows on each row.
+   *
+   * @param res command results, null for a failed command
+   * @param rowsPerCommand number of rows by command
+   * @param increment auto_increment_increment to derive insert ids, 0 if not needed
+   * @return results by row, null for rows of failed commands
+   */
+  protected static List<Completion> completionsPerRow(
+      List<Completion> res, List<Integer> rowsPerCommand, long increment) {
+    List<Completion> rowResults = new ArrayList<>();
+    for (int cmd = 0; cmd < res.size() && cmd < rowsPerCommand.size(); cmd++) {
+      int rows = rowsPerCommand.get(cmd);
+      Completion completion = res.get(cmd);
+      if (!(completion instanceof OkPacket)) {
+        // failed command, or unexpected result: each row has the same result
+        for (int i = 0; i < rows; i++) rowResults.add(completion);
+        continue;
+      }
+      // affected rows and insert ids can only be dispatched when each row has been inserted once
+      // (not with INSERT IGNORE, ON DUPLICATE KEY UPDATE or REPLACE affecting other rows)
+      OkPacket ok = (OkPacket) completion;
+      boolean oneRowEach = ok.getAffectedRows() == rows;
+      long affectedRows = oneRowEach ? 1 : Statement.SUCCESS_NO_INFO;
+      for (int i = 0; i < rows; i++) {
+        long insertId =
+            !oneRowEach || increment == 0 || ok.getLastInsertId() == 0
+                ? 0
+                : ok.getLastInsertId() + i * increment;
+        rowResults.add(new OkPacket(affectedRows, insertId));
+      }
+    }
+    return rowResults;
+  }
 }
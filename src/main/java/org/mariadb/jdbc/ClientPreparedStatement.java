@@ -14,6 +14,7 @@ import java.util.Locale;
 import java.util.concurrent.locks.ReentrantLock;
 import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.Completion;
+import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.result.CompleteResult;
 import org.mariadb.jdbc.client.result.Result;
 import org.mariadb.jdbc.export.ExceptionFactory;
@@ -22,6 +23,7 @@ import org.mariadb.jdbc.message.client.*;
 import org.mariadb.jdbc.message.server.OkPacket;
 import org.mariadb.jdbc.message.server.PrepareResultPacket;
 import org.mariadb.jdbc.util.ClientParser;
+import org.mariadb.jdbc.util.ParameterBatch;
 import org.mariadb.jdbc.util.ParameterList;
 import org.mariadb.jdbc.util.constants.ServerStatus;
 
@@ -67,7 +69,7 @@ public class ClientPreparedStatement extends BasePreparedStatement {
 
     boolean noBackslashEscapes =
         (con.getContext().getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) > 0;
-    parser = ClientParser.parameterParts(sql, noBackslashEscapes);
+    parser = ClientParser.parse(sql, noBackslashEscapes);
     parameters = new ParameterList(parser.getParamCount());
   }
 
@@ -107,9 +109,14 @@ public class ClientPreparedStatement extends BasePreparedStatement {
     }
   }
 
-  private void executeInternalPreparedBatch() throws SQLException {
+  @Override
+  protected void executeInternalPreparedBatch() throws SQLException {
     checkNotClosed();
-    if (autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS
+    if (batchParameters.size() > 1
+        && parser.isInsertValuesRewritable()
+        && con.getContext().getConf().rewriteBatchedStatements()) {
+      executeBatchRewrite();
+    } else if (autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS
         && batchParameters.size() > 1
         && con.getContext().hasClientCapability(STMT_BULK_OPERATIONS)) {
       executeBatchBulk();
@@ -137,12 +144,11 @@ public class ClientPreparedStatement extends BasePreparedStatement {
    */
   private void executeBatchBulk() throws SQLException {
     String cmd = escapeTimeout(sql);
+    BulkExecutePacket bulkPacket = null;
     try {
       if (prepareResult == null) {
-        ClientMessage[] packets =
-            new ClientMessage[] {
-              new PreparePacket(cmd), new BulkExecutePacket(null, batchParameters, cmd, null)
-            };
+        bulkPacket = new BulkExecutePacket(null, batchParameters, cmd, null);
+        ClientMessage[] packets = new ClientMessage[] {new PreparePacket(cmd), bulkPacket};
         List<Completion> res =
             con.getClient()
                 .executePipeline(
@@ -161,10 +167,11 @@ public class ClientPreparedStatement extends BasePreparedStatement {
           results = res;
         }
       } else {
+        bulkPacket = new BulkExecutePacket(prepareResult, batchParameters, cmd, null);
         results =
             con.getClient()
                 .execute(
-                    new BulkExecutePacket(prepareResult, batchParameters, cmd, null),
+                    bulkPacket,
                     this,
                     fetchSize,
                     maxRows,
@@ -176,10 +183,77 @@ public class ClientPreparedStatement extends BasePreparedStatement {
     } catch (SQLException bue) {
       results = null;
       throw exceptionFactory()
-          .createBatchUpdate(Collections.emptyList(), batchParameters.size(), bue);
+          .createBatchUpdate(
+              bulkPacket == null
+                  ? Collections.emptyList()
+                  : completionsPerRow(
+                      bulkPacket.getCommandResults(), bulkPacket.getRowsPerCommand(), 0),
+              batchParameters.size(),
+              bue);
     }
   }
 
+  /**
+   * Send INSERT commands rewritten with multi-values, then split each command result by row
+   *
+   * @throws SQLException if IOException / Command error
+   */
+  private void executeBatchRewrite() throws SQLException {
+    long increment =
+        autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? autoIncrementIncrement() : 1;
+    MultiValuesInsertPacket packet =
+        new MultiValuesInsertPacket(preSqlCmd(), parser, batchParameters);
+    try {
+      List<Completion> res =
+          con.getClient()
+              .execute(
+                  packet,
+                  this,
+                  0,
+                  maxRows,
+                  ResultSet.CONCUR_READ_ONLY,
+                  ResultSet.TYPE_FORWARD_ONLY,
+                  closeOnCompletion,
+                  false);
+      List<Integer> rowsPerCommand = packet.getRowsPerCommand();
+      if (res.size() != rowsPerCommand.size()) {
+        results = res;
+        return;
+      }
+      results = completionsPerRow(res, rowsPerCommand, increment);
+    } catch (SQLException bue) {
+      results = null;
+      throw exceptionFactory()
+          .createBatchUpdate(
+              completionsPerRow(packet.getCommandResults(), packet.getRowsPerCommand(), 0),
+              batchParameters.size(),
+              bue);
+    }
+  }
+
+  /**
+   * Get session auto_increment_increment, querying server only if not already known. Value is only
+   * kept when server notifies its changes (session tracking), since it can be changed by a SET
+   * command.
+   *
+   * @return auto_increment_increment value
+   * @throws SQLException if query fails
+   */
+  private long autoIncrementIncrement() throws SQLException {
+    Context context = con.getContext();
+    boolean tracked = context.isTransactionIsolationTracked();
+    Integer increment = tracked ? context.getAutoIncrementIncrement() : null;
+    if (increment == null) {
+      try (java.sql.Statement st = con.createStatement();
+          ResultSet rs = st.executeQuery("SELECT @@auto_increment_increment")) {
+        rs.next();
+        increment = rs.getInt(1);
+      }
+      if (tracked) context.setAutoIncrementIncrement(increment);
+    }
+    return increment;
+  }
+
   /**
    * Send n * COM_QUERY + n * read answer
    *
@@ -355,9 +429,10 @@ public class ClientPreparedStatement extends BasePreparedStatement {
   @Override
   public void addBatch() throws SQLException {
     validParameters();
-    if (batchParameters == null) batchParameters = new ArrayList<>();
+    if (batchParameters == null) batchParameters = new ParameterBatch();
+    // parameter values are copied into batch columns, current parameters stay reusable
     batchParameters.add(parameters);
-    parameters = parameters.clone();
+    flushBatchIfNeeded();
   }
 
   /**
@@ -460,28 +535,17 @@ public class ClientPreparedStatement extends BasePreparedStatement {
   @Override
   public int[] executeBatch() throws SQLException {
     checkNotClosed();
-    if (batchParameters == null || batchParameters.isEmpty()) return new int[0];
+    if (!hasBatch()) return new int[0];
     lock.lock();
     try {
-      executeInternalPreparedBatch();
-      int[] updates = new int[batchParameters.size()];
-      if (results.size() != batchParameters.size()) {
-        for (int i = 0; i < batchParameters.size(); i++) {
-          updates[i] = Statement.SUCCESS_NO_INFO;
-        }
-      } else {
-        for (int i = 0; i < updates.length; i++) {
-          if (results.get(i) instanceof OkPacket) {
-            updates[i] = (int) ((OkPacket) results.get(i)).getAffectedRows();
-          } else {
-            updates[i] = org.mariadb.jdbc.Statement.SUCCESS_NO_INFO;
-          }
-        }
+      long[] largeUpdates = executeBatchUpdates();
+      int[] updates = new int[largeUpdates.length];
+      for (int i = 0; i < updates.length; i++) {
+        updates[i] = (int) largeUpdates[i];
       }
-      currResult = results.remove(0);
       return updates;
     } finally {
-      batchParameters.clear();
+      if (batchParameters != null) batchParameters.clear();
       lock.unlock();
     }
   }
@@ -489,19 +553,12 @@ public class ClientPreparedStatement extends BasePreparedStatement {
   @Override
   public long[] executeLargeBatch() throws SQLException {
     checkNotClosed();
-    if (batchParameters == null || batchParameters.isEmpty()) return new long[0];
+    if (!hasBatch()) return new long[0];
     lock.lock();
     try {
-      executeInternalPreparedBatch();
-      long[] updates = new long[results.size()];
-      for (int i = 0; i < results.size(); i++) {
-        updates[i] = ((OkPacket) results.get(i)).getAffectedRows();
-      }
-      currResult = results.remove(0);
-      return updates;
-
+      return executeBatchUpdates();
     } finally {
-      batchParameters.clear();
+      if (batchParameters != null) batchParameters.clear();
       lock.unlock();
     }
   }
@@ -7,9 +7,17 @@ package org.mariadb.jdbc;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.DataType;
 import org.mariadb.jdbc.export.HaMode;
 import org.mariadb.jdbc.export.SslMode;
 import org.mariadb.jdbc.plugin.Codec;
@@ -90,6 +98,7 @@ public class Configuration {
   private String localSocketAddress = null;
   private int socketTimeout = 0;
   private boolean useReadAheadInput = false;
+  private boolean useNioChannel = false;
   private String tlsSocketType = null;
 
   // SSL
@@ -107,10 +116,14 @@ public class Configuration {
   private boolean useCompression = false;
   private boolean useAffectedRows = false;
   private boolean useBulkStmts = true;
+  private boolean rewriteBatchedStatements = false;
+  private int batchFlushRows = 0;
+  private int batchFlushSize = 0;
   private boolean disablePipeline = false;
   // prepare
   private boolean cachePrepStmts = true;
   private int prepStmtCacheSize = 250;
+  private int columnMetadataCacheSize = 64;
   private boolean useServerPrepStmts = false;
 
   // authentication
@@ -142,14 +155,20 @@ public class Configuration {
   private int maxIdleTime = 600_000;
   private boolean registerJmxPool = true;
   private int poolValidMinDelay = 1000;
+  private int poolValidationInterval = 0;
+  private int poolCreationParallelism = 1;
+  private int poolMaxWaiters = 0;
+  private int controlConnectionPoolSize = 2;
+  private int controlConnectionIdleTimeout = 60;
+  private int asyncExecutorSize = 8;
   private boolean useResetConnection = false;
+  private boolean lazyResetConnection = false;
+  private boolean lazySessionChanges = false;
 
   // MySQL sha authentication
   private String serverRsaPublicKeyFile = null;
   private boolean allowPublicKeyRetrieval = false;
 
-  private Codec<?>[] codecs = null;
-
   private Configuration() {}
 
   private Configuration(
@@ -183,6 +202,7 @@ public class Configuration {
       String localSocketAddress,
       int socketTimeout,
       boolean useReadAheadInput,
+      boolean useNioChannel,
       String tlsSocketType,
       SslMode sslMode,
       String serverSslCert,
@@ -196,9 +216,13 @@ public class Configuration {
       boolean useCompression,
       boolean useAffectedRows,
       boolean useBulkStmts,
+      boolean rewriteBatchedStatements,
+      int batchFlushRows,
+      int batchFlushSize,
       boolean disablePipeline,
       boolean cachePrepStmts,
       int prepStmtCacheSize,
+      int columnMetadataCacheSize,
       boolean useServerPrepStmts,
       CredentialPlugin credentialType,
       String sessionVariables,
@@ -222,7 +246,15 @@ public class Configuration {
       int maxIdleTime,
       boolean registerJmxPool,
       int poolValidMinDelay,
+      int poolValidationInterval,
+      int poolCreationParallelism,
+      int poolMaxWaiters,
+      int controlConnectionPoolSize,
+      int controlConnectionIdleTimeout,
+      int asyncExecutorSize,
       boolean useResetConnection,
+      boolean lazyResetConnection,
+      boolean lazySessionChanges,
       String serverRsaPublicKeyFile,
       boolean allowPublicKeyRetrieval) {
     this.user = user;
@@ -230,7 +262,7 @@ public class Configuration {
     this.database = database;
     this.addresses = addresses;
     this.haMode = haMode;
-    this.nonMappedOptions = nonMappedOptions;
+    this.nonMappedOptions = UnmodifiableProperties.of(nonMappedOptions);
     this.timezone = timezone;
     this.autocommit = autocommit;
     this.useMysqlMetadata = useMysqlMetadata;
@@ -255,6 +287,7 @@ public class Configuration {
     this.localSocketAddress = localSocketAddress;
     this.socketTimeout = socketTimeout;
     this.useReadAheadInput = useReadAheadInput;
+    this.useNioChannel = useNioChannel;
     this.tlsSocketType = tlsSocketType;
     this.sslMode = sslMode;
     this.serverSslCert = serverSslCert;
@@ -268,9 +301,13 @@ public class Configuration {
     this.useCompression = useCompression;
     this.useAffectedRows = useAffectedRows;
     this.useBulkStmts = useBulkStmts;
+    this.rewriteBatchedStatements = rewriteBatchedStatements;
+    this.batchFlushRows = batchFlushRows;
+    this.batchFlushSize = batchFlushSize;
     this.disablePipeline = disablePipeline;
     this.cachePrepStmts = cachePrepStmts;
     this.prepStmtCacheSize = prepStmtCacheSize;
+    this.columnMetadataCacheSize = columnMetadataCacheSize;
     this.useServerPrepStmts = useServerPrepStmts;
     this.credentialType = credentialType;
     this.sessionVariables = sessionVariables;
@@ -294,7 +331,15 @@ public class Configuration {
     this.maxIdleTime = maxIdleTime;
     this.registerJmxPool = registerJmxPool;
     this.poolValidMinDelay = poolValidMinDelay;
+    this.poolValidationInterval = poolValidationInterval;
+    this.poolCreationParallelism = poolCreationParallelism;
+    this.poolMaxWaiters = poolMaxWaiters;
+    this.controlConnectionPoolSize = controlConnectionPoolSize;
+    this.controlConnectionIdleTimeout = controlConnectionIdleTimeout;
+    this.asyncExecutorSize = asyncExecutorSize;
     this.useResetConnection = useResetConnection;
+    this.lazyResetConnection = lazyResetConnection;
+    this.lazySessionChanges = lazySessionChanges;
     this.serverRsaPublicKeyFile = serverRsaPublicKeyFile;
     this.allowPublicKeyRetrieval = allowPublicKeyRetrieval;
     this.initialUrl = buildUrl(this);
@@ -334,10 +379,14 @@ public class Configuration {
       String timezone,
       Boolean dumpQueriesOnException,
       Integer prepStmtCacheSize,
+      Integer columnMetadataCacheSize,
       Boolean useAffectedRows,
       Boolean useServerPrepStmts,
       String connectionAttributes,
       Boolean useBulkStmts,
+      Boolean rewriteBatchedStatements,
+      Integer batchFlushRows,
+      Integer batchFlushSize,
       Boolean disablePipeline,
       Boolean autocommit,
       Boolean useMysqlMetadata,
@@ -358,7 +407,15 @@ public class Configuration {
       Integer maxIdleTime,
       Boolean registerJmxPool,
       Integer poolValidMinDelay,
+      Integer poolValidationInterval,
+      Integer poolCreationParallelism,
+      Integer poolMaxWaiters,
+      Integer controlConnectionPoolSize,
+      Integer controlConnectionIdleTimeout,
+      Integer asyncExecutorSize,
       Boolean useResetConnection,
+      Boolean lazyResetConnection,
+      Boolean lazySessionChanges,
       String serverRsaPublicKeyFile,
       Boolean allowPublicKeyRetrieval,
       String serverSslCert,
@@ -366,6 +423,7 @@ public class Configuration {
       String keyStorePassword,
       String keyStoreType,
       Boolean useReadAheadInput,
+      Boolean useNioChannel,
       Boolean cachePrepStmts,
       Boolean transactionReplay,
       Integer transactionReplaySize,
@@ -376,7 +434,7 @@ public class Configuration {
       throws SQLException {
     this.database = database;
     this.addresses = addresses;
-    this.nonMappedOptions = nonMappedOptions;
+    this.nonMappedOptions = UnmodifiableProperties.of(nonMappedOptions);
     if (haMode != null) this.haMode = haMode;
     this.credentialType = CredentialPluginLoader.get(credentialType);
     this.user = user;
@@ -415,10 +473,14 @@ public class Configuration {
     this.timezone = timezone;
     if (dumpQueriesOnException != null) this.dumpQueriesOnException = dumpQueriesOnException;
     if (prepStmtCacheSize != null) this.prepStmtCacheSize = prepStmtCacheSize;
+    if (columnMetadataCacheSize != null) this.columnMetadataCacheSize = columnMetadataCacheSize;
     if (useAffectedRows != null) this.useAffectedRows = useAffectedRows;
     if (useServerPrepStmts != null) this.useServerPrepStmts = useServerPrepStmts;
     this.connectionAttributes = connectionAttributes;
     if (useBulkStmts != null) this.useBulkStmts = useBulkStmts;
+    if (rewriteBatchedStatements != null) this.rewriteBatchedStatements = rewriteBatchedStatements;
+    if (batchFlushRows != null) this.batchFlushRows = batchFlushRows;
+    if (batchFlushSize != null) this.batchFlushSize = batchFlushSize;
     if (disablePipeline != null) this.disablePipeline = disablePipeline;
     if (autocommit != null) this.autocommit = autocommit;
     if (useMysqlMetadata != null) this.useMysqlMetadata = useMysqlMetadata;
@@ -447,10 +509,21 @@ public class Configuration {
     if (maxIdleTime != null) this.maxIdleTime = maxIdleTime;
     if (registerJmxPool != null) this.registerJmxPool = registerJmxPool;
     if (poolValidMinDelay != null) this.poolValidMinDelay = poolValidMinDelay;
+    if (poolValidationInterval != null) this.poolValidationInterval = poolValidationInterval;
+    if (poolCreationParallelism != null) this.poolCreationParallelism = poolCreationParallelism;
+    if (poolMaxWaiters != null) this.poolMaxWaiters = poolMaxWaiters;
+    if (controlConnectionPoolSize != null)
+      this.controlConnectionPoolSize = controlConnectionPoolSize;
+    if (controlConnectionIdleTimeout != null)
+      this.controlConnectionIdleTimeout = controlConnectionIdleTimeout;
+    if (asyncExecutorSize != null) this.asyncExecutorSize = asyncExecutorSize;
     if (useResetConnection != null) this.useResetConnection = useResetConnection;
+    if (lazyResetConnection != null) this.lazyResetConnection = lazyResetConnection;
+    if (lazySessionChanges != null) this.lazySessionChanges = lazySessionChanges;
     if (serverRsaPublicKeyFile != null) this.serverRsaPublicKeyFile = serverRsaPublicKeyFile;
     if (allowPublicKeyRetrieval != null) this.allowPublicKeyRetrieval = allowPublicKeyRetrieval;
     if (useReadAheadInput != null) this.useReadAheadInput = useReadAheadInput;
+    if (useNioChannel != null) this.useNioChannel = useNioChannel;
     if (cachePrepStmts != null) this.cachePrepStmts = cachePrepStmts;
     if (transactionReplay != null) this.transactionReplay = transactionReplay;
     if (transactionReplaySize != null) this.transactionReplaySize = transactionReplaySize;
@@ -529,11 +602,268 @@ public class Configuration {
    */
   public static Configuration parse(final String url, Properties prop) throws SQLException {
     if (acceptsUrl(url)) {
-      return parseInternal(url, (prop == null) ? new Properties() : prop);
+      // url options are added to a copy, leaving caller properties unchanged
+      Properties properties = new Properties();
+      if (prop != null) properties.putAll(prop);
+      return ParsedCache.get(url, properties);
     }
     return null;
   }
 
+  /**
+   * Parsed configurations, keyed by a hash of connection string, properties and DriverManager login
+   * timeout (default connect timeout depends on it). Cached configurations are templates without
+   * password: password is set back on each parse result. Configurations with other credentials (key
+   * store password, PAM passwords, ...) are not cached.
+   */
+  private static final class ParsedCache {
+    private static final int MAX_SIZE = 256;
+    private static final ReentrantLock LOCK = new ReentrantLock();
+    private static final Map<String, Configuration> CACHE =
+        new LinkedHashMap<String, Configuration>(MAX_SIZE, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Configuration> eldest) {
+            return size() > MAX_SIZE;
+          }
+        };
+
+    private static Configuration get(String url, Properties properties) throws SQLException {
+      String key = key(url, properties);
+      Configuration template;
+      LOCK.lock();
+      try {
+        template = CACHE.get(key);
+      } finally {
+        LOCK.unlock();
+      }
+
+      if (template == null) {
+        Configuration conf = parseInternal(url, properties);
+        if (hasOtherCredentials(conf)) return conf;
+        template = conf.password == null ? conf : conf.clone(conf.user, null);
+        LOCK.lock();
+        try {
+          CACHE.put(key, template);
+        } finally {
+          LOCK.unlock();
+        }
+        return conf;
+      }
+
+      String password = password(url, properties);
+      return password == null || password.isEmpty()
+          ? template
+          : template.clone(template.user, password);
+    }
+
+    private static String key(String url, Properties properties) {
+      StringBuilder sb =
+          new StringBuilder(url).append('\n').append(DriverManager.getLoginTimeout());
+      Map<String, String> sorted = new TreeMap<>();
+      for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+        sorted.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+      }
+      for (Map.Entry<String, String> entry : sorted.entrySet()) {
+        sb.append('\n').append(entry.getKey()).append('=').append(entry.getValue());
+      }
+      try {
+        byte[] hash =
+            MessageDigest.getInstance("SHA-256")
+                .digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte b : hash)
+          hex.append(Character.forDigit((b >> 4) & 0xf, 16))
+              .append(Character.forDigit(b & 0xf, 16));
+        return hex.toString();
+      } catch (NoSuchAlgorithmException e) {
+        // SHA-256 is required on any java platform
+        throw new IllegalStateException(e);
+      }
+    }
+
+    /**
+     * Password of connection string or properties, url option having precedence, like when parsing.
+     */
+    private static String password(String url, Properties properties) {
+      int paramIndex = url.indexOf('?');
+      if (paramIndex >= 0) {
+        String password = null;
+        for (String parameter : url.substring(paramIndex + 1).split("&")) {
+          int pos = parameter.indexOf('=');
+          if (pos > 0 && "password".equalsIgnoreCase(parameter.substring(0, pos))) {
+            password = parameter.substring(pos + 1);
+          }
+        }
+        if (password != null) return password;
+      }
+      for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+        if ("password".equalsIgnoreCase(String.valueOf(entry.getKey()))) {
+          return String.valueOf(entry.getValue());
+        }
+      }
+      return null;
+    }
+
+    private static boolean hasOtherCredentials(Configuration conf) {
+      if (conf.keyStorePassword != null) return true;
+      for (Object key : conf.nonMappedOptions.keySet()) {
+        if (key.toString().toLowerCase(Locale.ROOT).contains("password")) return true;
+      }
+      return false;
+    }
+  }
+
+  /** Non mapped options, shared between configurations, that cannot be modified once created. */
+  private static final class UnmodifiableProperties extends Properties {
+    private static final long serialVersionUID = 1L;
+
+    private UnmodifiableProperties(Properties properties) {
+      for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+        super.put(entry.getKey(), entry.getValue());
+      }
+    }
+
+    private static Properties of(Properties properties) {
+      if (properties instanceof UnmodifiableProperties) return properties;
+      return new UnmodifiableProperties(properties == null ? new Properties() : properties);
+    }
+
+    private static UnsupportedOperationException unmodifiable() {
+      return new UnsupportedOperationException("configuration options cannot be modified");
+    }
+
+    @Override
+    public synchronized Object setProperty(String key, String value) {
+      throw unmodifiable();
+    }
+
+    @Override
+    public synchronized Object put(Object key, Object value) {
+      throw unmodifiable();
+    }
+
+    @Override
+    public synchronized void putAll(Map<?, ?> t) {
+      throw unmodifiable();
+    }
+
+    @Override
+    public synchronized Object putIfAbsent(Object key, Object value) {
+      throw unmodifiable();
+    }
+
+    @Override
+    public synchronized Object remove(Object key) {
+      throw unmodifiable();
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+      throw unmodifiable();
+    }
+
+    @Override
+    public synchronized void clear() {
+      throw unmodifiable();
+    }
+
+    @Override
+    public synchronized boolean replace(Object key, Object oldValue, Object newValue) {
+      throw unmodifiable();
+    }
+
+    @Override
+    public synchronized Object replace(Object key, Object value) {
+      throw unmodifiable();
+    }
+
+    @Override
+    public synchronized void replaceAll(
+        java.util.function.BiFunction<? super Object, ? super Object, ?> function) {
+      throw unmodifiable();
+    }
+
+    @Override
+    public synchronized Object computeIfAbsent(
+        Object key, java.util.function.Function<? super Object, ?> mappingFunction) {
+      throw unmodifiable();
+    }
+
+    @Override
+    public synchronized Object computeIfPresent(
+        Object key,
+        java.util.function.BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+      throw unmodifiable();
+    }
+
+    @Override
+    public synchronized Object compute(
+        Object key,
+        java.util.function.BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+      throw unmodifiable();
+    }
+
+    @Override
+    public synchronized Object merge(
+        Object key,
+        Object value,
+        java.util.function.BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+      throw unmodifiable();
+    }
+
+    @Override
+    public Set<Object> keySet() {
+      return Collections.unmodifiableSet(super.keySet());
+    }
+
+    @Override
+    public Set<Map.Entry<Object, Object>> entrySet() {
+      return Collections.unmodifiableSet(super.entrySet());
+    }
+
+    @Override
+    public Collection<Object> values() {
+      return Collections.unmodifiableCollection(super.values());
+    }
+  }
+
+  /**
+   * Codec implementations, loaded once for the whole process, with dispatch tables resolving the
+   * codec to use for a java class (encoding) or for a server data type and java class (decoding).
+   * Tables are filled lazily with the first codec accepting the type, in codec order.
+   */
+  private static final class CodecRegistry {
+    private static final Codec<?>[] CODECS = loadCodecs();
+
+    /** marker of resolved decoding without any compatible codec */
+    private static final Object NO_CODEC = new Object();
+
+    private static final ClassValue<AtomicReference<Object>> ENCODERS =
+        new ClassValue<AtomicReference<Object>>() {
+          @Override
+          protected AtomicReference<Object> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+          }
+        };
+
+    private static final ClassValue<AtomicReferenceArray<Object>> DECODERS =
+        new ClassValue<AtomicReferenceArray<Object>>() {
+          @Override
+          protected AtomicReferenceArray<Object> computeValue(Class<?> type) {
+            return new AtomicReferenceArray<>(DataType.values().length);
+          }
+        };
+
+    @SuppressWarnings("rawtypes")
+    private static Codec<?>[] loadCodecs() {
+      ServiceLoader<Codec> loader =
+          ServiceLoader.load(Codec.class, Configuration.class.getClassLoader());
+      List<Codec<?>> result = new ArrayList<>();
+      loader.iterator().forEachRemaining(result::add);
+      return result.toArray(new Codec<?>[0]);
+    }
+  }
+
   /**
    * Parses the connection URL in order to set the UrlParser instance with all the information
    * provided through the URL.
@@ -763,6 +1093,7 @@ public class Configuration {
         this.localSocketAddress,
         this.socketTimeout,
         this.useReadAheadInput,
+        this.useNioChannel,
         this.tlsSocketType,
         this.sslMode,
         this.serverSslCert,
@@ -776,9 +1107,13 @@ public class Configuration {
         this.useCompression,
         this.useAffectedRows,
         this.useBulkStmts,
+        this.rewriteBatchedStatements,
+        this.batchFlushRows,
+        this.batchFlushSize,
         this.disablePipeline,
         this.cachePrepStmts,
         this.prepStmtCacheSize,
+        this.columnMetadataCacheSize,
         this.useServerPrepStmts,
         this.credentialType,
         this.sessionVariables,
@@ -802,7 +1137,15 @@ public class Configuration {
         this.maxIdleTime,
         this.registerJmxPool,
         this.poolValidMinDelay,
+        this.poolValidationInterval,
+        this.poolCreationParallelism,
+        this.poolMaxWaiters,
+        this.controlConnectionPoolSize,
+        this.controlConnectionIdleTimeout,
+        this.asyncExecutorSize,
         this.useResetConnection,
+        this.lazyResetConnection,
+        this.lazySessionChanges,
         this.serverRsaPublicKeyFile,
         this.allowPublicKeyRetrieval);
   }
@@ -1161,6 +1504,15 @@ public class Configuration {
     return prepStmtCacheSize;
   }
 
+  /**
+   * Column metadata cache size
+   *
+   * @return column metadata cache size
+   */
+  public int columnMetadataCacheSize() {
+    return columnMetadataCacheSize;
+  }
+
   /**
    * Use affected row
    *
@@ -1197,6 +1549,35 @@ public class Configuration {
     return useBulkStmts;
   }
 
+  /**
+   * Rewrite client side batch of INSERT ... VALUES commands into multi-values INSERT commands.
+   *
+   * @return must rewrite batched INSERT commands
+   */
+  public boolean rewriteBatchedStatements() {
+    return rewriteBatchedStatements;
+  }
+
+  /**
+   * Number of batched parameter sets after which batch is sent to server, 0 to send batch only on
+   * executeBatch().
+   *
+   * @return batch auto-flush row threshold
+   */
+  public int batchFlushRows() {
+    return batchFlushRows;
+  }
+
+  /**
+   * Approximate size in bytes of batched parameters after which batch is sent to server, 0 to
+   * disable.
+   *
+   * @return batch auto-flush size threshold
+   */
+  public int batchFlushSize() {
+    return batchFlushSize;
+  }
+
   /**
    * Disable pipeline.
    *
@@ -1271,7 +1652,8 @@ public class Configuration {
   }
 
   /**
-   * non standard options
+   * non standard options. Returned properties cannot be modified, configuration being shared
+   * between connections.
    *
    * @return non standard options
    */
@@ -1388,6 +1770,60 @@ public class Configuration {
     return poolValidMinDelay;
   }
 
+  /**
+   * Interval in milliseconds of idle pooled connection background validation. 0 disables it.
+   *
+   * @return background validation interval
+   */
+  public int poolValidationInterval() {
+    return poolValidationInterval;
+  }
+
+  /**
+   * Maximum number of pool connections created in parallel.
+   *
+   * @return connection creation parallelism
+   */
+  public int poolCreationParallelism() {
+    return poolCreationParallelism;
+  }
+
+  /**
+   * Maximum number of requests waiting for a pool connection. 0 means no limit.
+   *
+   * @return maximum waiting requests
+   */
+  public int poolMaxWaiters() {
+    return poolMaxWaiters;
+  }
+
+  /**
+   * Maximum number of shared connections per host used to send KILL commands.
+   *
+   * @return control connection pool size
+   */
+  public int controlConnectionPoolSize() {
+    return controlConnectionPoolSize;
+  }
+
+  /**
+   * Time in seconds an unused control connection is kept before being closed.
+   *
+   * @return control connection idle timeout in seconds
+   */
+  public int controlConnectionIdleTimeout() {
+    return controlConnectionIdleTimeout;
+  }
+
+  /**
+   * Maximum number of threads executing asynchronous commands.
+   *
+   * @return asynchronous executor size
+   */
+  public int asyncExecutorSize() {
+    return asyncExecutorSize;
+  }
+
   /**
    * Must connection returned to pool be RESET
    *
@@ -1397,6 +1833,24 @@ public class Configuration {
     return useResetConnection;
   }
 
+  /**
+   * Must connection reset be deferred and sent with next command.
+   *
+   * @return lazy reset connection
+   */
+  public boolean lazyResetConnection() {
+    return lazyResetConnection;
+  }
+
+  /**
+   * Must session changes be deferred and sent with next command.
+   *
+   * @return lazy session changes
+   */
+  public boolean lazySessionChanges() {
+    return lazySessionChanges;
+  }
+
   /**
    * Server RSA public key file for caching_sha2_password authentication
    *
@@ -1424,6 +1878,15 @@ public class Configuration {
     return useReadAheadInput;
   }
 
+  /**
+   * Use NIO socket channel with pooled direct buffers for socket exchanges
+   *
+   * @return use NIO socket channel transport
+   */
+  public boolean useNioChannel() {
+    return useNioChannel;
+  }
+
   /**
    * Cache prepared statement result.
    *
@@ -1484,7 +1947,56 @@ public class Configuration {
    * @return codec list
    */
   public Codec<?>[] codecs() {
-    return codecs;
+    return CodecRegistry.CODECS;
+  }
+
+  /**
+   * Codec to encode a java object, resolved once for each object class.
+   *
+   * @param value value to encode
+   * @return codec, or null if no codec can encode this object
+   */
+  public Codec<?> encoder(Object value) {
+    AtomicReference<Object> encoder = CodecRegistry.ENCODERS.get(value.getClass());
+    Object codec = encoder.get();
+    if (codec == null) {
+      codec = CodecRegistry.NO_CODEC;
+      for (Codec<?> candidate : CodecRegistry.CODECS) {
+        if (candidate.canEncode(value)) {
+          codec = candidate;
+          break;
+        }
+      }
+      encoder.set(codec);
+    }
+    return codec == CodecRegistry.NO_CODEC ? null : (Codec<?>) codec;
+  }
+
+  /**
+   * Codec to decode a column to a java class, resolved once for each server data type and java
+   * class.
+   *
+   * @param column column metadata
+   * @param type java class
+   * @param <T> java class
+   * @return codec, or null if no codec can decode this column to this class
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Codec<T> decoder(ColumnDecoder column, Class<T> type) {
+    AtomicReferenceArray<Object> decoders = CodecRegistry.DECODERS.get(type);
+    int idx = column.getType().ordinal();
+    Object codec = decoders.get(idx);
+    if (codec == null) {
+      codec = CodecRegistry.NO_CODEC;
+      for (Codec<?> candidate : CodecRegistry.CODECS) {
+        if (candidate.canDecode(column, type)) {
+          codec = candidate;
+          break;
+        }
+      }
+      decoders.set(idx, codec);
+    }
+    return codec == CodecRegistry.NO_CODEC ? null : (Codec<T>) codec;
   }
 
   /**
@@ -1640,19 +2152,9 @@ public class Configuration {
       // only for jws, so never thrown
       throw new IllegalArgumentException("Security too restrictive : " + s.getMessage());
     }
-    conf.loadCodecs();
     return sb.toString();
   }
 
-  @SuppressWarnings("rawtypes")
-  private void loadCodecs() {
-    ServiceLoader<Codec> loader =
-        ServiceLoader.load(Codec.class, Configuration.class.getClassLoader());
-    List<Codec<?>> result = new ArrayList<>();
-    loader.iterator().forEachRemaining(result::add);
-    codecs = result.toArray(new Codec<?>[0]);
-  }
-
   @Override
   public int hashCode() {
     return initialUrl.hashCode();
@@ -1697,6 +2199,7 @@ public class Configuration {
     private String localSocketAddress;
     private Integer socketTimeout;
     private Boolean useReadAheadInput;
+    private Boolean useNioChannel;
     private String tlsSocketType;
 
     // SSL
@@ -1714,10 +2217,14 @@ public class Configuration {
     private Boolean useCompression;
     private Boolean useAffectedRows;
     private Boolean useBulkStmts;
+    private Boolean rewriteBatchedStatements;
+    private Integer batchFlushRows;
+    private Integer batchFlushSize;
     private Boolean disablePipeline;
     // prepare
     private Boolean cachePrepStmts;
     private Integer prepStmtCacheSize;
+    private Integer columnMetadataCacheSize;
     private Boolean useServerPrepStmts;
 
     // authentication
@@ -1750,7 +2257,15 @@ public class Configuration {
     private Integer maxIdleTime;
     private Boolean registerJmxPool;
     private Integer poolValidMinDelay;
+    private Integer poolValidationInterval;
+    private Integer poolCreationParallelism;
+    private Integer poolMaxWaiters;
+    private Integer controlConnectionPoolSize;
+    private Integer controlConnectionIdleTimeout;
+    private Integer asyncExecutorSize;
     private Boolean useResetConnection;
+    private Boolean lazyResetConnection;
+    private Boolean lazySessionChanges;
 
     // MySQL sha authentication
     private String serverRsaPublicKeyFile;
@@ -2244,6 +2759,19 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Number of result-set column definitions cached by connection. When a result-set returns
+     * exactly the same column definitions than a cached one, cached columns are reused instead of
+     * being decoded again. 0 disables cache. Default 64.
+     *
+     * @param columnMetadataCacheSize column metadata cache size
+     * @return this {@link Builder}
+     */
+    public Builder columnMetadataCacheSize(Integer columnMetadataCacheSize) {
+      this.columnMetadataCacheSize = columnMetadataCacheSize;
+      return this;
+    }
+
     /**
      * Indicate server to return affected rows in place of found rows. This impact the return number
      * of rows affected by update
@@ -2289,6 +2817,42 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Rewrite client side batch of INSERT ... VALUES commands into multi-values INSERT commands,
+     * each command being limited to max_allowed_packet size.
+     *
+     * @param rewriteBatchedStatements must rewrite batched INSERT commands
+     * @return this {@link Builder}
+     */
+    public Builder rewriteBatchedStatements(Boolean rewriteBatchedStatements) {
+      this.rewriteBatchedStatements = rewriteBatchedStatements;
+      return this;
+    }
+
+    /**
+     * Number of batched parameter sets after which batch is sent to server without waiting for
+     * executeBatch(), keeping memory usage bounded for huge batches. 0 (default) disables it.
+     *
+     * @param batchFlushRows batch auto-flush row threshold
+     * @return this {@link Builder}
+     */
+    public Builder batchFlushRows(Integer batchFlushRows) {
+      this.batchFlushRows = batchFlushRows;
+      return this;
+    }
+
+    /**
+     * Approximate size in bytes of batched parameters after which batch is sent to server without
+     * waiting for executeBatch(). 0 (default) disables it.
+     *
+     * @param batchFlushSize batch auto-flush size threshold
+     * @return this {@link Builder}
+     */
+    public Builder batchFlushSize(Integer batchFlushSize) {
+      this.batchFlushSize = batchFlushSize;
+      return this;
+    }
+
     /**
      * Disable pipeline
      *
@@ -2520,6 +3084,79 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Interval in milliseconds between background validations of idle pooled connections, done by a
+     * dedicated pool thread. 0 (default) disables background validation.
+     *
+     * @param poolValidationInterval background validation interval in milliseconds
+     * @return this {@link Builder}
+     */
+    public Builder poolValidationInterval(Integer poolValidationInterval) {
+      this.poolValidationInterval = poolValidationInterval;
+      return this;
+    }
+
+    /**
+     * Maximum number of connections the pool creates in parallel, when filling minimum pool size or
+     * on demand bursts. Default 1 (connections are created one at a time), capped to maximum pool
+     * size.
+     *
+     * @param poolCreationParallelism connection creation parallelism
+     * @return this {@link Builder}
+     */
+    public Builder poolCreationParallelism(Integer poolCreationParallelism) {
+      this.poolCreationParallelism = poolCreationParallelism;
+      return this;
+    }
+
+    /**
+     * Maximum number of requests waiting for a pool connection when pool is exhausted. Requests
+     * exceeding this number fail immediately instead of waiting up to connectTimeout. Default 0 (no
+     * limit).
+     *
+     * @param poolMaxWaiters maximum number of waiting requests
+     * @return this {@link Builder}
+     */
+    public Builder poolMaxWaiters(Integer poolMaxWaiters) {
+      this.poolMaxWaiters = poolMaxWaiters;
+      return this;
+    }
+
+    /**
+     * Maximum number of shared connections per host and configuration used to send KILL commands
+     * (query cancellation, abort). 0 means a new connection is created for each command. Default 2.
+     *
+     * @param controlConnectionPoolSize maximum number of control connections
+     * @return this {@link Builder}
+     */
+    public Builder controlConnectionPoolSize(Integer controlConnectionPoolSize) {
+      this.controlConnectionPoolSize = controlConnectionPoolSize;
+      return this;
+    }
+
+    /**
+     * Time in seconds an unused control connection is kept before being closed. Default 60.
+     *
+     * @param controlConnectionIdleTimeout control connection idle timeout in seconds
+     * @return this {@link Builder}
+     */
+    public Builder controlConnectionIdleTimeout(Integer controlConnectionIdleTimeout) {
+      this.controlConnectionIdleTimeout = controlConnectionIdleTimeout;
+      return this;
+    }
+
+    /**
+     * Maximum number of threads executing asynchronous commands, shared by all connections using
+     * the same value. Default 8.
+     *
+     * @param asyncExecutorSize maximum number of asynchronous executor threads
+     * @return this {@link Builder}
+     */
+    public Builder asyncExecutorSize(Integer asyncExecutorSize) {
+      this.asyncExecutorSize = asyncExecutorSize;
+      return this;
+    }
+
     /**
      * Indicate that connection returned to pool must be RESETed like having proper connection
      * state.
@@ -2532,6 +3169,33 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * When resetting connection (option useResetConnection), reset command is not sent when
+     * connection is given back to pool, but sent with the next command, response being read with
+     * this command response. This saves a round trip per borrow/release cycle. A connection
+     * released with a transaction in progress is reset immediately. Default false.
+     *
+     * @param lazyResetConnection must connection reset be deferred
+     * @return this {@link Builder}
+     */
+    public Builder lazyResetConnection(Boolean lazyResetConnection) {
+      this.lazyResetConnection = lazyResetConnection;
+      return this;
+    }
+
+    /**
+     * Session changes done by setAutoCommit and setTransactionIsolation are not sent immediately,
+     * but pipelined with next command. Enabling autocommit within a transaction is still sent
+     * immediately, since it commits the transaction. Default false.
+     *
+     * @param lazySessionChanges must session changes be deferred
+     * @return this {@link Builder}
+     */
+    public Builder lazySessionChanges(Boolean lazySessionChanges) {
+      this.lazySessionChanges = lazySessionChanges;
+      return this;
+    }
+
     /**
      * MySQL Authentication RSA server file, for mysql authentication
      *
@@ -2565,6 +3229,18 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Use NIO socket channel with pooled direct buffers for socket exchanges, instead of socket
+     * streams. Only used for TCP connections without SSL.
+     *
+     * @param useNioChannel use NIO socket channel transport
+     * @return this {@link Builder}
+     */
+    public Builder useNioChannel(Boolean useNioChannel) {
+      this.useNioChannel = useNioChannel;
+      return this;
+    }
+
     /**
      * Cache server prepare result
      *
@@ -2640,10 +3316,14 @@ public class Configuration {
               this.timezone,
               this.dumpQueriesOnException,
               this.prepStmtCacheSize,
+              this.columnMetadataCacheSize,
               this.useAffectedRows,
               this.useServerPrepStmts,
               this.connectionAttributes,
               this.useBulkStmts,
+              this.rewriteBatchedStatements,
+              this.batchFlushRows,
+              this.batchFlushSize,
               this.disablePipeline,
               this.autocommit,
               this.useMysqlMetadata,
@@ -2664,7 +3344,15 @@ public class Configuration {
               this.maxIdleTime,
               this.registerJmxPool,
               this.poolValidMinDelay,
+              this.poolValidationInterval,
+              this.poolCreationParallelism,
+              this.poolMaxWaiters,
+              this.controlConnectionPoolSize,
+              this.controlConnectionIdleTimeout,
+              this.asyncExecutorSize,
               this.useResetConnection,
+              this.lazyResetConnection,
+              this.lazySessionChanges,
               this.serverRsaPublicKeyFile,
               this.allowPublicKeyRetrieval,
               this.serverSslCert,
@@ -2672,6 +3360,7 @@ public class Configuration {
               this.keyStorePassword,
               this.keyStoreType,
               this.useReadAheadInput,
+              this.useNioChannel,
               this.cachePrepStmts,
               this.transactionReplay,
               this.transactionReplaySize,
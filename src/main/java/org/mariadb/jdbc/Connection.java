@@ -14,7 +14,8 @@ import java.util.regex.Pattern;
 import javax.sql.ConnectionEvent;
 import org.mariadb.jdbc.client.Client;
 import org.mariadb.jdbc.client.Context;
-import org.mariadb.jdbc.client.impl.StandardClient;
+import org.mariadb.jdbc.client.impl.ControlClientPool;
+import org.mariadb.jdbc.client.impl.PipelineDispatcher;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.message.client.ChangeDbPacket;
 import org.mariadb.jdbc.message.client.PingPacket;
@@ -50,6 +51,7 @@ public class Connection implements java.sql.Connection {
   private final int defaultFetchSize;
   private final boolean forceTransactionEnd;
   private MariaDbPoolConnection poolConnection;
+  private final PipelineDispatcher pipelineDispatcher;
 
   /**
    * Connection construction.
@@ -74,6 +76,9 @@ public class Connection implements java.sql.Connection {
             && context.getVersion().versionGreaterOrEqual(10, 3, 0);
     this.canCachePrepStmts = context.getConf().cachePrepStmts();
     this.defaultFetchSize = context.getConf().defaultFetchSize();
+    this.pipelineDispatcher =
+        new PipelineDispatcher(
+            client, lock, PipelineDispatcher.sharedExecutor(context.getConf().asyncExecutorSize()));
   }
 
   /**
@@ -87,16 +92,14 @@ public class Connection implements java.sql.Connection {
   }
 
   /**
-   * Cancels the current query - clones the current protocol and executes a query using the new
-   * connection.
+   * Cancels the current query - executes a KILL QUERY using a shared control connection to the
+   * current host (see option `controlConnectionPoolSize`).
    *
-   * @throws SQLException never thrown
+   * @throws SQLException if KILL QUERY command fails
    */
   public void cancelCurrentQuery() throws SQLException {
-    try (Client cli =
-        new StandardClient(conf, client.getHostAddress(), new ReentrantLock(), true)) {
-      cli.execute(new QueryPacket("KILL QUERY " + client.getContext().getThreadId()), false);
-    }
+    ControlClientPool.get(client.getUserConfiguration(), client.getHostAddress())
+        .execute("KILL QUERY " + client.getContext().getThreadId());
   }
 
   @Override
@@ -193,8 +196,20 @@ public class Connection implements java.sql.Connection {
     lock.lock();
     try {
       getContext().addStateFlag(ConnectionState.STATE_AUTOCOMMIT);
-      client.execute(
-          new QueryPacket(((autoCommit) ? "set autocommit=1" : "set autocommit=0")), true);
+      QueryPacket packet =
+          new QueryPacket(((autoCommit) ? "set autocommit=1" : "set autocommit=0"));
+      int serverStatus = getContext().getServerStatus();
+      // enabling autocommit commits current transaction, so is never deferred
+      if (conf.lazySessionChanges() && (serverStatus & ServerStatus.IN_TRANSACTION) == 0) {
+        getContext().addSessionChange("autocommit", autoCommit, !autoCommit, packet);
+        getContext()
+            .setServerStatus(
+                autoCommit
+                    ? serverStatus | ServerStatus.AUTOCOMMIT
+                    : serverStatus & ~ServerStatus.AUTOCOMMIT);
+      } else {
+        client.execute(packet, true);
+      }
     } finally {
       lock.unlock();
     }
@@ -331,6 +346,13 @@ public class Connection implements java.sql.Connection {
   @Override
   public int getTransactionIsolation() throws SQLException {
 
+    // known level is reliable when server notifies changes
+    Context context = client.getContext();
+    int level = context.getTransactionIsolationLevel();
+    if (level != 0 && context.isTransactionIsolationTracked()) {
+      return level;
+    }
+
     String sql = "SELECT @@tx_isolation";
 
     if (!client.getContext().getVersion().isMariaDBServer()) {
@@ -347,22 +369,28 @@ public class Connection implements java.sql.Connection {
       final String response = rs.getString(1);
       switch (response) {
         case "REPEATABLE-READ":
-          return java.sql.Connection.TRANSACTION_REPEATABLE_READ;
+          level = java.sql.Connection.TRANSACTION_REPEATABLE_READ;
+          break;
 
         case "READ-UNCOMMITTED":
-          return java.sql.Connection.TRANSACTION_READ_UNCOMMITTED;
+          level = java.sql.Connection.TRANSACTION_READ_UNCOMMITTED;
+          break;
 
         case "READ-COMMITTED":
-          return java.sql.Connection.TRANSACTION_READ_COMMITTED;
+          level = java.sql.Connection.TRANSACTION_READ_COMMITTED;
+          break;
 
         case "SERIALIZABLE":
-          return java.sql.Connection.TRANSACTION_SERIALIZABLE;
+          level = java.sql.Connection.TRANSACTION_SERIALIZABLE;
+          break;
 
         default:
           throw exceptionFactory.create(
               String.format(
                   "Could not get transaction isolation level: Invalid value \"%s\"", response));
       }
+      context.setTransactionIsolationLevel(level);
+      return level;
     }
     throw exceptionFactory.create("Failed to retrieve transaction isolation");
   }
@@ -390,8 +418,15 @@ public class Connection implements java.sql.Connection {
     try {
       checkNotClosed();
       getContext().addStateFlag(ConnectionState.STATE_TRANSACTION_ISOLATION);
-      client.getContext().setTransactionIsolationLevel(level);
-      client.execute(new QueryPacket(query), true);
+      Context context = client.getContext();
+      int currentLevel =
+          context.isTransactionIsolationTracked() ? context.getTransactionIsolationLevel() : 0;
+      context.setTransactionIsolationLevel(level);
+      if (conf.lazySessionChanges()) {
+        context.addSessionChange("isolation", level, currentLevel, new QueryPacket(query));
+      } else {
+        client.execute(new QueryPacket(query), true);
+      }
     } finally {
       lock.unlock();
     }
@@ -779,6 +814,15 @@ public class Connection implements java.sql.Connection {
     return client;
   }
 
+  /**
+   * Asynchronous command executor of this connection
+   *
+   * @return pipeline dispatcher
+   */
+  public PipelineDispatcher getPipelineDispatcher() {
+    return pipelineDispatcher;
+  }
+
   /** Internal Savepoint implementation */
   class MariaDbSavepoint implements java.sql.Savepoint {
 
@@ -835,6 +879,9 @@ public class Connection implements java.sql.Connection {
    * <p>BUT : - session variable state are reset only if option useResetConnection is set and - if
    * using the option "useServerPrepStmts", PREPARE statement are still prepared
    *
+   * <p>With option lazyResetConnection, reset command is only sent with next command, unless a
+   * transaction is in progress.
+   *
    * @throws SQLException if resetting operation failed
    */
   public void reset() throws SQLException {
@@ -850,8 +897,22 @@ public class Connection implements java.sql.Connection {
                     && getContext().getVersion().getMinorVersion() == 2
                     && getContext().getVersion().versionGreaterOrEqual(10, 2, 22)));
 
-    if (useComReset) {
+    boolean inTransaction =
+        forceTransactionEnd
+            || (client.getContext().getServerStatus() & ServerStatus.IN_TRANSACTION) > 0;
+
+    // an open transaction is ended immediately, not to keep its locks while connection is idle
+    boolean lazyReset = useComReset && conf.lazyResetConnection() && !inTransaction;
+    if (lazyReset) {
+      // reset is sent with next command, avoiding a round trip
+      client.resetOnNextCommand();
+      getContext().setAutoIncrementIncrement(null);
+    } else if (useComReset) {
+      // session changes not sent yet are discarded by reset
+      getContext().drainSessionChanges();
+      // session tracking configuration is restored by client with next command
       client.execute(ResetPacket.INSTANCE, true);
+      getContext().setAutoIncrementIncrement(null);
     }
 
     // in transaction => rollback
@@ -891,6 +952,25 @@ public class Connection implements java.sql.Connection {
     clearWarnings();
   }
 
+  /**
+   * Change authenticated user, without creating a new connection (COM_CHANGE_USER). Session state
+   * is reset as for a new connection: transaction is rolled back, session variables, temporary
+   * tables and prepared statements are lost.
+   *
+   * @param user new user
+   * @param password new user password
+   * @throws SQLException if authentication fails or any socket error occurs
+   */
+  public void changeUser(String user, String password) throws SQLException {
+    lock.lock();
+    try {
+      client.changeUser(user, password);
+      clearWarnings();
+    } finally {
+      lock.unlock();
+    }
+  }
+
   /**
    * Current server thread id.
    *
@@ -28,7 +28,8 @@ public final class Driver implements java.sql.Driver {
 
   static {
     try {
-      DriverManager.registerDriver(new Driver());
+      // release pools and control connections when driver is deregistered
+      DriverManager.registerDriver(new Driver(), Pools::close);
     } catch (SQLException e) {
       // eat
     }
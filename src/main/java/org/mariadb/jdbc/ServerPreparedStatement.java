@@ -23,6 +23,7 @@ import org.mariadb.jdbc.message.client.PrepareExecutePacket;
 import org.mariadb.jdbc.message.client.PreparePacket;
 import org.mariadb.jdbc.message.server.OkPacket;
 import org.mariadb.jdbc.message.server.PrepareResultPacket;
+import org.mariadb.jdbc.util.ParameterBatch;
 import org.mariadb.jdbc.util.ParameterList;
 
 /**
@@ -155,7 +156,8 @@ public class ServerPreparedStatement extends BasePreparedStatement {
                 false);
   }
 
-  private void executeInternalPreparedBatch() throws SQLException {
+  @Override
+  protected void executeInternalPreparedBatch() throws SQLException {
     checkNotClosed();
     String cmd = escapeTimeout(sql);
     if (batchParameters.size() > 1 && con.getContext().hasServerCapability(STMT_BULK_OPERATIONS)) {
@@ -193,13 +195,11 @@ public class ServerPreparedStatement extends BasePreparedStatement {
     List<Completion> res;
     if (prepareResult == null && canCachePrepStmts)
       prepareResult = con.getContext().getPrepareCache().get(cmd, this);
+    BulkExecutePacket bulkPacket = null;
     try {
       if (prepareResult == null) {
-        ClientMessage[] packets;
-        packets =
-            new ClientMessage[] {
-              new PreparePacket(cmd), new BulkExecutePacket(null, batchParameters, cmd, this)
-            };
+        bulkPacket = new BulkExecutePacket(null, batchParameters, cmd, this);
+        ClientMessage[] packets = new ClientMessage[] {new PreparePacket(cmd), bulkPacket};
         res =
             con.getClient()
                 .executePipeline(
@@ -219,10 +219,11 @@ public class ServerPreparedStatement extends BasePreparedStatement {
           results = res;
         }
       } else {
+        bulkPacket = new BulkExecutePacket(prepareResult, batchParameters, cmd, this);
         results =
             con.getClient()
                 .execute(
-                    new BulkExecutePacket(prepareResult, batchParameters, cmd, this),
+                    bulkPacket,
                     this,
                     0,
                     maxRows,
@@ -235,7 +236,13 @@ public class ServerPreparedStatement extends BasePreparedStatement {
     } catch (SQLException bue) {
       results = null;
       throw exceptionFactory()
-          .createBatchUpdate(Collections.emptyList(), batchParameters.size(), bue);
+          .createBatchUpdate(
+              bulkPacket == null
+                  ? Collections.emptyList()
+                  : completionsPerRow(
+                      bulkPacket.getCommandResults(), bulkPacket.getRowsPerCommand(), 0),
+              batchParameters.size(),
+              bue);
     }
   }
 
@@ -503,9 +510,10 @@ public class ServerPreparedStatement extends BasePreparedStatement {
   @Override
   public void addBatch() throws SQLException {
     validParameters();
-    if (batchParameters == null) batchParameters = new ArrayList<>();
+    if (batchParameters == null) batchParameters = new ParameterBatch();
+    // parameter values are copied into batch columns, current parameters stay reusable
     batchParameters.add(parameters);
-    parameters = parameters.clone();
+    flushBatchIfNeeded();
   }
 
   /**
@@ -601,31 +609,18 @@ public class ServerPreparedStatement extends BasePreparedStatement {
   @Override
   public int[] executeBatch() throws SQLException {
     checkNotClosed();
-    if (batchParameters == null || batchParameters.isEmpty()) return new int[0];
+    if (!hasBatch()) return new int[0];
     lock.lock();
     try {
-      executeInternalPreparedBatch();
-
-      int[] updates = new int[batchParameters.size()];
-      if (results.size() != updates.length) {
-        for (int i = 0; i < updates.length; i++) {
-          updates[i] = Statement.SUCCESS_NO_INFO;
-        }
-      } else {
-        for (int i = 0; i < updates.length; i++) {
-          if (results.get(i) instanceof OkPacket) {
-            updates[i] = (int) ((OkPacket) results.get(i)).getAffectedRows();
-          } else {
-            updates[i] = org.mariadb.jdbc.Statement.SUCCESS_NO_INFO;
-          }
-        }
+      long[] largeUpdates = executeBatchUpdates();
+      int[] updates = new int[largeUpdates.length];
+      for (int i = 0; i < updates.length; i++) {
+        updates[i] = (int) largeUpdates[i];
       }
-      currResult = results.remove(0);
       return updates;
-
     } finally {
       localInfileInputStream = null;
-      batchParameters.clear();
+      if (batchParameters != null) batchParameters.clear();
       lock.unlock();
     }
   }
@@ -633,31 +628,12 @@ public class ServerPreparedStatement extends BasePreparedStatement {
   @Override
   public long[] executeLargeBatch() throws SQLException {
     checkNotClosed();
-    if (batchParameters == null || batchParameters.isEmpty()) return new long[0];
+    if (!hasBatch()) return new long[0];
     lock.lock();
     try {
-      executeInternalPreparedBatch();
-
-      long[] updates = new long[batchParameters.size()];
-      if (results.size() != updates.length) {
-        for (int i = 0; i < updates.length; i++) {
-          updates[i] = Statement.SUCCESS_NO_INFO;
-        }
-      } else {
-        for (int i = 0; i < updates.length; i++) {
-          if (results.get(i) instanceof OkPacket) {
-            updates[i] = ((OkPacket) results.get(i)).getAffectedRows();
-          } else {
-            updates[i] = org.mariadb.jdbc.Statement.SUCCESS_NO_INFO;
-          }
-        }
-      }
-
-      currResult = results.remove(0);
-      return updates;
-
+      return executeBatchUpdates();
     } finally {
-      batchParameters.clear();
+      if (batchParameters != null) batchParameters.clear();
       lock.unlock();
     }
   }
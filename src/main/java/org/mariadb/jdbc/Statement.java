@@ -9,6 +9,8 @@ import static org.mariadb.jdbc.util.constants.Capabilities.LOCAL_FILES;
 import java.io.InputStream;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -17,6 +19,7 @@ import org.mariadb.jdbc.client.Completion;
 import org.mariadb.jdbc.client.DataType;
 import org.mariadb.jdbc.client.result.CompleteResult;
 import org.mariadb.jdbc.client.result.Result;
+import org.mariadb.jdbc.client.util.PipelineCommand;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.message.client.QueryPacket;
 import org.mariadb.jdbc.message.server.OkPacket;
@@ -175,6 +178,71 @@ public class Statement implements java.sql.Statement {
     return executeUpdate(sql, Statement.NO_GENERATED_KEYS);
   }
 
+  /**
+   * Executes the given SQL statement asynchronously. Command is queued to connection, then sent
+   * pipelined with other queued commands, without blocking current thread. Future are completed in
+   * command order.
+   *
+   * <p>Result-set is always completely read (fetch size is not used), and statement current result
+   * is not changed.
+   *
+   * @param sql an SQL statement to be sent to the database, typically a static SQL <code>SELECT
+   *     </code> statement
+   * @return future completed with the <code>ResultSet</code> object that contains the data produced
+   *     by the given query, or exceptionally with an {@link SQLException}
+   */
+  public CompletableFuture<ResultSet> executeQueryAsync(String sql) {
+    return executeAsync(sql)
+        .thenApply(
+            res -> {
+              Completion completion = res.get(0);
+              if (completion instanceof Result) return (Result) completion;
+              return new CompleteResult(new ColumnDecoder[0], new byte[0][], con.getContext());
+            });
+  }
+
+  /**
+   * Executes the given SQL statement, which may be an <code>INSERT</code>, <code>UPDATE</code>, or
+   * <code>DELETE</code> statement or an SQL statement that returns nothing, asynchronously. See
+   * {@link #executeQueryAsync(String)}.
+   *
+   * @param sql an SQL Data Manipulation Language (DML) statement
+   * @return future completed with the row count, or exceptionally with an {@link SQLException}
+   */
+  public CompletableFuture<Integer> executeUpdateAsync(String sql) {
+    return executeAsync(sql)
+        .thenApply(
+            res -> {
+              Completion completion = res.get(0);
+              if (completion instanceof Result) {
+                throw new CompletionException(
+                    exceptionFactory()
+                        .create(
+                            "the given SQL statement produces an unexpected ResultSet object",
+                            "HY000"));
+              }
+              return (int) ((OkPacket) completion).getAffectedRows();
+            });
+  }
+
+  private CompletableFuture<List<Completion>> executeAsync(String sql) {
+    try {
+      checkNotClosed();
+      return con.getPipelineDispatcher()
+          .submit(
+              new PipelineCommand(
+                  new QueryPacket(escapeTimeout(sql), null),
+                  this,
+                  maxRows,
+                  resultSetConcurrency,
+                  resultSetType));
+    } catch (SQLException e) {
+      CompletableFuture<List<Completion>> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+  }
+
   /**
    * Releases this <code>Statement</code> object's database and JDBC resources immediately instead
    * of waiting for this to happen when it is automatically closed. It is generally good practice to
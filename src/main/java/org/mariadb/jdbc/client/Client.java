@@ -7,7 +7,9 @@ package org.mariadb.jdbc.client;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.concurrent.Executor;
+import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.client.util.PipelineCommand;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.export.Prepare;
 import org.mariadb.jdbc.message.ClientMessage;
@@ -87,6 +89,35 @@ public interface Client extends AutoCloseable {
       boolean canRedo)
       throws SQLException;
 
+  /**
+   * Execute independent commands, setting on each command its results or its error. An error in one
+   * command does not prevent execution of following ones, unless connection is lost. Results are
+   * always completely read.
+   *
+   * <p>Default implementation executes commands one after the other.
+   *
+   * @param commands commands to execute
+   */
+  default void executePipeline(List<PipelineCommand> commands) {
+    for (PipelineCommand command : commands) {
+      try {
+        command.setResults(
+            execute(
+                command.getMessage(),
+                command.getStmt(),
+                0,
+                command.getMaxRows(),
+                command.getResultSetConcurrency(),
+                command.getResultSetType(),
+                false,
+                false),
+            null);
+      } catch (SQLException e) {
+        command.setResults(null, e);
+      }
+    }
+  }
+
   /**
    * Read results
    *
@@ -163,6 +194,31 @@ public interface Client extends AutoCloseable {
   /** Reset connection */
   void reset();
 
+  /**
+   * Defer a connection reset (COM_RESET_CONNECTION): reset is sent with next command, and its
+   * response read before this command response.
+   */
+  void resetOnNextCommand();
+
+  /**
+   * Change authenticated user of current connection. Server resets session state, as for a new
+   * connection.
+   *
+   * @param user new user
+   * @param password new user password
+   * @throws SQLException if authentication fails or any socket error occurs
+   */
+  void changeUser(String user, String password) throws SQLException;
+
+  /**
+   * Configuration with credentials of the currently authenticated user: connection configuration,
+   * or its clone with user set by {@link #changeUser(String, String)}. Used to send control
+   * commands (KILL) with the same user.
+   *
+   * @return configuration of current user
+   */
+  Configuration getUserConfiguration();
+
   /**
    * is current client writer or read-only
    *
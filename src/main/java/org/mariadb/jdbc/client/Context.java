@@ -4,8 +4,13 @@
 
 package org.mariadb.jdbc.client;
 
+import java.util.List;
 import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.util.ColumnLabelIndex;
+import org.mariadb.jdbc.client.util.ColumnMetadataCache;
+import org.mariadb.jdbc.client.util.SlabPool;
 import org.mariadb.jdbc.export.ExceptionFactory;
+import org.mariadb.jdbc.message.ClientMessage;
 
 public interface Context {
 
@@ -133,7 +138,7 @@ public interface Context {
   /**
    * Get connection transaction isolation level
    *
-   * @return connection transaction isolation level
+   * @return connection transaction isolation level, 0 if unknown
    */
   int getTransactionIsolationLevel();
 
@@ -144,6 +149,40 @@ public interface Context {
    */
   void setTransactionIsolationLevel(int transactionIsolationLevel);
 
+  /**
+   * Indicate if server notifies transaction isolation and auto_increment_increment changes (session
+   * tracking), current values being then reliable when known.
+   *
+   * @return true if transaction isolation changes are tracked
+   */
+  boolean isTransactionIsolationTracked();
+
+  /**
+   * Set if server notifies transaction isolation changes
+   *
+   * @param transactionIsolationTracked are transaction isolation changes tracked
+   */
+  void setTransactionIsolationTracked(boolean transactionIsolationTracked);
+
+  /**
+   * Queue a session change, sent pipelined before next command. Changes of the same session state
+   * collapse: a later change replaces the queued one, and a change back to the value the state had
+   * before being queued cancels it.
+   *
+   * @param key session state key
+   * @param value new value
+   * @param currentValue value before change
+   * @param message command applying change
+   */
+  void addSessionChange(String key, Object value, Object currentValue, ClientMessage message);
+
+  /**
+   * Retrieve and clear queued session changes
+   *
+   * @return queued session change commands, in queue order, or null if none
+   */
+  List<ClientMessage> drainSessionChanges();
+
   /**
    * get LRU prepare cache object
    *
@@ -151,6 +190,42 @@ public interface Context {
    */
   PrepareCache getPrepareCache();
 
+  /**
+   * get row storage slab pool, shared by connection result-sets
+   *
+   * @return slab pool
+   */
+  SlabPool getSlabPool();
+
+  /**
+   * get column metadata cache, null if disabled
+   *
+   * @return column metadata cache
+   */
+  ColumnMetadataCache getColumnMetadataCache();
+
+  /**
+   * get label index of columns metadata, shared by all results having the same metadata
+   *
+   * @param columns columns metadata
+   * @return label index
+   */
+  ColumnLabelIndex getColumnLabelIndex(ColumnDecoder[] columns);
+
+  /**
+   * Get session auto_increment_increment value, if already known
+   *
+   * @return auto_increment_increment value, or null if not known
+   */
+  Integer getAutoIncrementIncrement();
+
+  /**
+   * Set session auto_increment_increment value
+   *
+   * @param autoIncrementIncrement auto_increment_increment value, or null if unknown
+   */
+  void setAutoIncrementIncrement(Integer autoIncrementIncrement);
+
   /** Reset prepare cache (after a failover) */
   void resetPrepareCache();
 
@@ -6,11 +6,22 @@ package org.mariadb.jdbc.client.context;
 
 import static org.mariadb.jdbc.util.constants.Capabilities.STMT_BULK_OPERATIONS;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
 import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.PrepareCache;
 import org.mariadb.jdbc.client.ServerVersion;
+import org.mariadb.jdbc.client.util.ColumnLabelIndex;
+import org.mariadb.jdbc.client.util.ColumnMetadataCache;
+import org.mariadb.jdbc.client.util.SlabPool;
 import org.mariadb.jdbc.export.ExceptionFactory;
+import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.message.server.InitialHandshakePacket;
 import org.mariadb.jdbc.util.constants.Capabilities;
 
@@ -32,10 +43,13 @@ public class BaseContext implements Context {
   protected int serverStatus;
 
   /** Server current database */
-  private String database;
+  private volatile String database;
 
-  /** Server current transaction isolation level */
-  private int transactionIsolationLevel;
+  /** Server current transaction isolation level, 0 if unknown */
+  private volatile int transactionIsolationLevel;
+
+  /** Does server notify transaction isolation changes */
+  private volatile boolean transactionIsolationTracked;
 
   /** Server current warning count */
   private int warning;
@@ -43,9 +57,34 @@ public class BaseContext implements Context {
   /** LRU prepare cache object */
   private final PrepareCache prepareCache;
 
+  /** Row storage slab pool */
+  private final SlabPool slabPool = new SlabPool();
+
+  /** Column metadata cache, null if disabled */
+  private final ColumnMetadataCache columnMetadataCache;
+
+  /** Label index by columns metadata array (identity), released with metadata */
+  private final Map<ColumnDecoder[], ColumnLabelIndex> columnLabelIndexes = new WeakHashMap<>();
+
+  /** Session auto_increment_increment, lazily retrieved */
+  private Integer autoIncrementIncrement;
+
   /** Connection state use flag */
   private int stateFlag = 0;
 
+  /** Session changes not sent yet, by session state key */
+  private final Map<String, SessionChange> sessionChanges = new LinkedHashMap<>();
+
+  private static final class SessionChange {
+    private final Object origin;
+    private ClientMessage message;
+
+    private SessionChange(Object origin, ClientMessage message) {
+      this.origin = origin;
+      this.message = message;
+    }
+  }
+
   /**
    * Constructor of connection context
    *
@@ -74,6 +113,10 @@ public class BaseContext implements Context {
     this.database = conf.database();
     this.exceptionFactory = exceptionFactory;
     this.prepareCache = prepareCache;
+    this.columnMetadataCache =
+        conf.columnMetadataCacheSize() > 0
+            ? new ColumnMetadataCache(conf.columnMetadataCacheSize())
+            : null;
   }
 
   public long getThreadId() {
@@ -152,6 +195,67 @@ public class BaseContext implements Context {
     this.transactionIsolationLevel = transactionIsolationLevel;
   }
 
+  public boolean isTransactionIsolationTracked() {
+    return transactionIsolationTracked;
+  }
+
+  public void setTransactionIsolationTracked(boolean transactionIsolationTracked) {
+    this.transactionIsolationTracked = transactionIsolationTracked;
+  }
+
+  public void addSessionChange(
+      String key, Object value, Object currentValue, ClientMessage message) {
+    SessionChange change = sessionChanges.get(key);
+    if (change == null) {
+      if (!Objects.equals(value, currentValue)) {
+        sessionChanges.put(key, new SessionChange(currentValue, message));
+      }
+    } else if (Objects.equals(value, change.origin)) {
+      // back to server value
+      sessionChanges.remove(key);
+    } else {
+      change.message = message;
+    }
+  }
+
+  public List<ClientMessage> drainSessionChanges() {
+    if (sessionChanges.isEmpty()) return null;
+    List<ClientMessage> messages = new ArrayList<>(sessionChanges.size());
+    for (SessionChange change : sessionChanges.values()) messages.add(change.message);
+    sessionChanges.clear();
+    return messages;
+  }
+
+  public SlabPool getSlabPool() {
+    return slabPool;
+  }
+
+  public ColumnMetadataCache getColumnMetadataCache() {
+    return columnMetadataCache;
+  }
+
+  public ColumnLabelIndex getColumnLabelIndex(ColumnDecoder[] columns) {
+    ColumnLabelIndex index;
+    synchronized (columnLabelIndexes) {
+      index = columnLabelIndexes.get(columns);
+    }
+    if (index == null) {
+      index = new ColumnLabelIndex(columns);
+      synchronized (columnLabelIndexes) {
+        columnLabelIndexes.putIfAbsent(columns, index);
+      }
+    }
+    return index;
+  }
+
+  public Integer getAutoIncrementIncrement() {
+    return autoIncrementIncrement;
+  }
+
+  public void setAutoIncrementIncrement(Integer autoIncrementIncrement) {
+    this.autoIncrementIncrement = autoIncrementIncrement;
+  }
+
   public PrepareCache getPrepareCache() {
     return prepareCache;
   }
@@ -0,0 +1,310 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.client.impl;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.message.client.QueryPacket;
+import org.mariadb.jdbc.pool.PoolThreadFactory;
+import org.mariadb.jdbc.util.log.Logger;
+import org.mariadb.jdbc.util.log.Loggers;
+
+/**
+ * Shared connections used to send control commands (KILL QUERY / KILL), one pool per configuration
+ * and host. Connections are lazily created, without post connection commands, and kept for next
+ * commands, so cancelling a query usually costs a single round trip.
+ *
+ * <p>Concurrent commands are bounded by option `controlConnectionPoolSize`. Connections unused for
+ * `controlConnectionIdleTimeout` seconds are closed, and pools without connections are removed.
+ */
+public final class ControlClientPool {
+
+  private static final Logger logger = Loggers.getLogger(ControlClientPool.class);
+  private static final ConcurrentHashMap<Key, ControlClientPool> pools = new ConcurrentHashMap<>();
+  private static final ReentrantLock lock = new ReentrantLock();
+  private static ScheduledThreadPoolExecutor idleChecker = null;
+
+  /** control connection socket timeout when no connect timeout is set */
+  private static final int DEFAULT_SOCKET_TIMEOUT = 30_000;
+
+  private final Configuration conf;
+  private final HostAddress hostAddress;
+  private final Semaphore permits;
+  private final ConcurrentLinkedDeque<IdleClient> idleClients = new ConcurrentLinkedDeque<>();
+  private final AtomicLong commands = new AtomicLong();
+  private final AtomicLong createdConnections = new AtomicLong();
+  private final AtomicLong failures = new AtomicLong();
+  private volatile boolean closed;
+
+  private ControlClientPool(Configuration conf, HostAddress hostAddress) {
+    this.conf = conf;
+    this.hostAddress = hostAddress;
+    this.permits = new Semaphore(conf.controlConnectionPoolSize());
+  }
+
+  /**
+   * Get control connection pool of a configuration and host
+   *
+   * @param conf configuration
+   * @param hostAddress host
+   * @return control connection pool
+   */
+  public static ControlClientPool get(Configuration conf, HostAddress hostAddress) {
+    Key key = new Key(conf, hostAddress);
+    ControlClientPool pool = pools.get(key);
+    if (pool != null) return pool;
+    lock.lock();
+    try {
+      if (idleChecker == null) {
+        idleChecker =
+            new ScheduledThreadPoolExecutor(
+                1, new PoolThreadFactory("MariaDb-control-connection-idle-checker"));
+        idleChecker.scheduleWithFixedDelay(
+            ControlClientPool::closeIdleClients, 1, 1, TimeUnit.SECONDS);
+      }
+      return pools.computeIfAbsent(key, k -> new ControlClientPool(conf, hostAddress));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Close all control connections, removing all pools. */
+  public static void closeAll() {
+    List<StandardClient> clients = new ArrayList<>();
+    lock.lock();
+    try {
+      for (ControlClientPool pool : pools.values()) {
+        pool.closed = true;
+        IdleClient idleClient;
+        while ((idleClient = pool.idleClients.pollFirst()) != null) clients.add(idleClient.client);
+      }
+      pools.clear();
+      if (idleChecker != null) {
+        idleChecker.shutdown();
+        idleChecker = null;
+      }
+    } finally {
+      lock.unlock();
+    }
+    // socket I/O is done outside lock
+    for (StandardClient client : clients) client.close();
+  }
+
+  private static void closeIdleClients() {
+    List<StandardClient> clients = new ArrayList<>();
+    lock.lock();
+    try {
+      for (ControlClientPool pool : pools.values()) {
+        pool.drainIdleClients(
+            System.nanoTime() - TimeUnit.SECONDS.toNanos(pool.conf.controlConnectionIdleTimeout()),
+            clients);
+        int size = pool.conf.controlConnectionPoolSize();
+        // holding all permits ensures no command is in progress, nor will start on this pool
+        if (pool.idleClients.isEmpty() && pool.permits.tryAcquire(size)) {
+          if (pool.idleClients.isEmpty()) {
+            pool.closed = true;
+            pools.remove(new Key(pool.conf, pool.hostAddress));
+          }
+          pool.permits.release(size);
+        }
+      }
+      if (pools.isEmpty() && idleChecker != null) {
+        idleChecker.shutdown();
+        idleChecker = null;
+      }
+    } finally {
+      lock.unlock();
+    }
+    // socket I/O is done outside lock
+    for (StandardClient client : clients) client.close();
+  }
+
+  private void drainIdleClients(long lastUsedLimit, List<StandardClient> clients) {
+    IdleClient idleClient;
+    // most recently used connections are first
+    while ((idleClient = idleClients.peekLast()) != null
+        && idleClient.lastUsed - lastUsedLimit < 0) {
+      if (idleClients.removeLastOccurrence(idleClient)) {
+        clients.add(idleClient.client);
+      }
+    }
+  }
+
+  private void release(StandardClient client) {
+    idleClients.offerFirst(new IdleClient(client));
+    // pools may have been closed meanwhile
+    if (closed) {
+      IdleClient idleClient;
+      while ((idleClient = idleClients.pollFirst()) != null) idleClient.client.close();
+    }
+  }
+
+  private StandardClient createClient() throws SQLException {
+    StandardClient client = new StandardClient(conf, hostAddress, new ReentrantLock(), true);
+    createdConnections.incrementAndGet();
+    // half-open connection must not block control command, and its permit, indefinitely
+    int timeout = conf.connectTimeout() > 0 ? conf.connectTimeout() : DEFAULT_SOCKET_TIMEOUT;
+    if (conf.socketTimeout() == 0 || conf.socketTimeout() > timeout) {
+      try {
+        client.setSocketTimeout(timeout);
+      } catch (SQLException e) {
+        client.close();
+        throw e;
+      }
+    }
+    return client;
+  }
+
+  /**
+   * Execute a control command.
+   *
+   * @param sql command
+   * @throws SQLException if command fails, or no control connection is available within
+   *     connectTimeout
+   */
+  public void execute(String sql) throws SQLException {
+    if (conf.controlConnectionPoolSize() <= 0) {
+      // no pooling
+      try (StandardClient client = createClient()) {
+        commands.incrementAndGet();
+        client.execute(new QueryPacket(sql), false);
+      }
+      return;
+    }
+
+    try {
+      if (!permits.tryAcquire(conf.connectTimeout(), TimeUnit.MILLISECONDS)) {
+        failures.incrementAndGet();
+        throw new SQLException(
+            String.format(
+                "No control connection available to execute '%s' (option 'controlConnectionPoolSize': %s)",
+                sql, conf.controlConnectionPoolSize()));
+      }
+    } catch (InterruptedException interrupted) {
+      throw new SQLException("Thread was interrupted", "70100", interrupted);
+    }
+
+    if (closed) {
+      // pool has been removed after being retrieved
+      permits.release();
+      get(conf, hostAddress).execute(sql);
+      return;
+    }
+
+    try {
+      commands.incrementAndGet();
+      IdleClient idleClient;
+      while ((idleClient = idleClients.pollFirst()) != null) {
+        try {
+          idleClient.client.execute(new QueryPacket(sql), false);
+          release(idleClient.client);
+          return;
+        } catch (SQLException e) {
+          if (e.getSQLState() == null || !e.getSQLState().startsWith("08")) {
+            // command error (like ER_NO_SUCH_THREAD): connection is still valid
+            release(idleClient.client);
+            throw e;
+          }
+          // idle connection may have been closed by server (wait_timeout)
+          logger.debug("control connection failure, retrying with another one: {}", e.getMessage());
+          idleClient.client.close();
+        }
+      }
+
+      StandardClient client = createClient();
+      try {
+        client.execute(new QueryPacket(sql), false);
+      } catch (SQLException e) {
+        client.close();
+        throw e;
+      }
+      release(client);
+    } catch (SQLException e) {
+      failures.incrementAndGet();
+      throw e;
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * Number of commands executed
+   *
+   * @return command number
+   */
+  public long getCommands() {
+    return commands.get();
+  }
+
+  /**
+   * Number of control connections created
+   *
+   * @return created connection number
+   */
+  public long getCreatedConnections() {
+    return createdConnections.get();
+  }
+
+  /**
+   * Number of failed commands
+   *
+   * @return failure number
+   */
+  public long getFailures() {
+    return failures.get();
+  }
+
+  /**
+   * Number of idle control connections
+   *
+   * @return idle connection number
+   */
+  public int getIdleConnections() {
+    return idleClients.size();
+  }
+
+  private static final class IdleClient {
+    private final StandardClient client;
+    private final long lastUsed = System.nanoTime();
+
+    private IdleClient(StandardClient client) {
+      this.client = client;
+    }
+  }
+
+  private static final class Key {
+    private final Configuration conf;
+    private final HostAddress hostAddress;
+
+    private Key(Configuration conf, HostAddress hostAddress) {
+      this.conf = conf;
+      this.hostAddress = hostAddress;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Key key = (Key) o;
+      return conf.equals(key.conf) && Objects.equals(hostAddress, key.hostAddress);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(conf, hostAddress);
+    }
+  }
+}
@@ -537,6 +537,10 @@ public class MultiPrimaryClient implements Client {
     return currentClient.getHostAddress();
   }
 
+  public Configuration getUserConfiguration() {
+    return currentClient.getUserConfiguration();
+  }
+
   public boolean isPrimary() {
     return true;
   }
@@ -546,4 +550,15 @@ public class MultiPrimaryClient implements Client {
     currentClient.getContext().resetStateFlag();
     currentClient.getContext().resetPrepareCache();
   }
+
+  @Override
+  public void resetOnNextCommand() {
+    currentClient.resetOnNextCommand();
+  }
+
+  @Override
+  public void changeUser(String user, String password) throws SQLException {
+    // failover would reconnect using configuration credentials
+    throw new SQLFeatureNotSupportedException("changing user is not supported with failover");
+  }
 }
@@ -0,0 +1,163 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.client.impl;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.client.Client;
+import org.mariadb.jdbc.client.Completion;
+import org.mariadb.jdbc.client.util.PipelineCommand;
+import org.mariadb.jdbc.pool.PoolThreadFactory;
+
+/**
+ * Asynchronous command executor of a connection. Submitted commands are queued, then a worker
+ * thread sends all queued commands at once using {@link Client#executePipeline(List)}, before
+ * reading their responses. Futures of commands sent together are completed in submission order,
+ * once connection lock is released and worker is no longer draining, so future callbacks can use
+ * connection, including submitting and waiting for new asynchronous commands. Commands submitted
+ * from a callback are executed by the callback thread, not waiting for another worker.
+ *
+ * <p>Only one worker thread per connection is active at a time. Workers are provided by an
+ * executor, by default a bounded executor shared by connections (option `asyncExecutorSize`).
+ */
+public final class PipelineDispatcher {
+
+  private static final ConcurrentHashMap<Integer, ExecutorService> sharedExecutors =
+      new ConcurrentHashMap<>();
+
+  /** set when current thread is completing command futures */
+  private static final ThreadLocal<Boolean> completing = new ThreadLocal<>();
+
+  private final Executor executor;
+  private final Client client;
+  private final ReentrantLock lock;
+  private final ConcurrentLinkedQueue<PendingCommand> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean draining = new AtomicBoolean();
+
+  /**
+   * Constructor
+   *
+   * @param client connection client
+   * @param lock connection lock
+   * @param executor executor running workers
+   */
+  public PipelineDispatcher(Client client, ReentrantLock lock, Executor executor) {
+    this.client = client;
+    this.lock = lock;
+    this.executor = executor;
+  }
+
+  /**
+   * Get executor shared by connections, with a maximum number of threads. Idle threads are released
+   * after 60 seconds.
+   *
+   * @param size maximum number of threads
+   * @return shared executor
+   */
+  public static Executor sharedExecutor(int size) {
+    return sharedExecutors.computeIfAbsent(
+        Math.max(1, size),
+        threads -> {
+          ThreadPoolExecutor executor =
+              new ThreadPoolExecutor(
+                  threads,
+                  threads,
+                  60L,
+                  TimeUnit.SECONDS,
+                  new LinkedBlockingQueue<>(),
+                  new PoolThreadFactory("MariaDb-async"));
+          executor.allowCoreThreadTimeOut(true);
+          return executor;
+        });
+  }
+
+  /**
+   * Queue command for execution.
+   *
+   * @param command command to execute
+   * @return future completed with command results, or exceptionally with {@link SQLException}
+   */
+  public CompletableFuture<List<Completion>> submit(PipelineCommand command) {
+    PendingCommand pending = new PendingCommand(command);
+    queue.add(pending);
+    if (draining.compareAndSet(false, true)) {
+      if (completing.get() != null) {
+        // submitted from a callback that may wait for result: worker pool may be exhausted
+        drain();
+        return pending.future;
+      }
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        draining.set(false);
+        PendingCommand p;
+        while ((p = queue.poll()) != null) p.future.completeExceptionally(e);
+      }
+    }
+    return pending.future;
+  }
+
+  private void drain() {
+    do {
+      List<PendingCommand> pendings = new ArrayList<>();
+      PendingCommand p;
+      while ((p = queue.poll()) != null) pendings.add(p);
+      RuntimeException unexpected = pendings.isEmpty() ? null : execute(pendings);
+      draining.set(false);
+      // callbacks may submit new commands, so futures are completed once no more draining
+      complete(pendings, unexpected);
+      // commands queued after poll, but before flag reset, must not be left unprocessed
+    } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+  }
+
+  private RuntimeException execute(List<PendingCommand> pendings) {
+    List<PipelineCommand> commands = new ArrayList<>(pendings.size());
+    for (PendingCommand pending : pendings) commands.add(pending.command);
+
+    RuntimeException unexpected = null;
+    lock.lock();
+    try {
+      client.executePipeline(commands);
+    } catch (RuntimeException e) {
+      unexpected = e;
+    } finally {
+      lock.unlock();
+    }
+    return unexpected;
+  }
+
+  private static void complete(List<PendingCommand> pendings, RuntimeException unexpected) {
+    Boolean previous = completing.get();
+    completing.set(Boolean.TRUE);
+    try {
+      for (PendingCommand pending : pendings) {
+        PipelineCommand command = pending.command;
+        if (command.getError() != null) {
+          pending.future.completeExceptionally(command.getError());
+        } else if (command.getResults() != null) {
+          pending.future.complete(command.getResults());
+        } else {
+          pending.future.completeExceptionally(
+              unexpected != null ? unexpected : new SQLException("Command was not executed"));
+        }
+      }
+    } finally {
+      if (previous == null) completing.remove();
+    }
+  }
+
+  private static final class PendingCommand {
+    private final PipelineCommand command;
+    private final CompletableFuture<List<Completion>> future = new CompletableFuture<>();
+
+    private PendingCommand(PipelineCommand command) {
+      this.command = command;
+    }
+  }
+}
@@ -6,12 +6,16 @@ package org.mariadb.jdbc.client.impl;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 import org.mariadb.jdbc.ServerPreparedStatement;
 import org.mariadb.jdbc.export.Prepare;
 import org.mariadb.jdbc.message.server.CachedPrepareResultPacket;
 import org.mariadb.jdbc.message.server.PrepareResultPacket;
 
-/** LRU prepare cache */
+/**
+ * LRU prepare cache. Cache is guarded by a lock rather than a monitor, and evicted prepares are
+ * closed once lock is released, since closing sends a command to server.
+ */
 public final class PrepareCache extends LinkedHashMap<String, CachedPrepareResultPacket>
     implements org.mariadb.jdbc.client.PrepareCache {
 
@@ -20,6 +24,10 @@ public final class PrepareCache extends LinkedHashMap<String, CachedPrepareResul
   private final int maxSize;
   /** client */
   private final StandardClient con;
+  /** cache lock */
+  private final transient ReentrantLock lock = new ReentrantLock();
+  /** prepare evicted by last put, to be closed once lock is released */
+  private transient CachedPrepareResultPacket evicted;
 
   /**
    * LRU prepare cache constructor
@@ -36,36 +44,49 @@ public final class PrepareCache extends LinkedHashMap<String, CachedPrepareResul
   @Override
   public boolean removeEldestEntry(Map.Entry<String, CachedPrepareResultPacket> eldest) {
     if (this.size() > maxSize) {
-      eldest.getValue().unCache(con);
+      evicted = eldest.getValue();
       return true;
     }
     return false;
   }
 
-  public synchronized Prepare get(String key, ServerPreparedStatement preparedStatement) {
-    CachedPrepareResultPacket prepare = super.get(key);
-    if (prepare != null && preparedStatement != null) {
-      prepare.incrementUse(preparedStatement);
+  public Prepare get(String key, ServerPreparedStatement preparedStatement) {
+    lock.lock();
+    try {
+      CachedPrepareResultPacket prepare = super.get(key);
+      if (prepare != null && preparedStatement != null) {
+        prepare.incrementUse(preparedStatement);
+      }
+      return prepare;
+    } finally {
+      lock.unlock();
     }
-    return prepare;
   }
 
-  public synchronized Prepare put(
-      String key, Prepare result, ServerPreparedStatement preparedStatement) {
-    CachedPrepareResultPacket cached = super.get(key);
+  public Prepare put(String key, Prepare result, ServerPreparedStatement preparedStatement) {
+    CachedPrepareResultPacket toClose = null;
+    lock.lock();
+    try {
+      CachedPrepareResultPacket cached = super.get(key);
 
-    // if there is already some cached data, return existing cached data
-    if (cached != null) {
-      cached.incrementUse(preparedStatement);
-      ((CachedPrepareResultPacket) result).unCache(con);
-      return cached;
-    }
+      // if there is already some cached data, return existing cached data
+      if (cached != null) {
+        cached.incrementUse(preparedStatement);
+        toClose = (CachedPrepareResultPacket) result;
+        return cached;
+      }
 
-    if (((CachedPrepareResultPacket) result).cache()) {
-      ((CachedPrepareResultPacket) result).incrementUse(preparedStatement);
-      super.put(key, (CachedPrepareResultPacket) result);
+      if (((CachedPrepareResultPacket) result).cache()) {
+        ((CachedPrepareResultPacket) result).incrementUse(preparedStatement);
+        super.put(key, (CachedPrepareResultPacket) result);
+        toClose = evicted;
+        evicted = null;
+      }
+      return null;
+    } finally {
+      lock.unlock();
+      if (toClose != null) toClose.unCache(con);
     }
-    return null;
   }
 
   public CachedPrepareResultPacket get(Object key) {
@@ -85,9 +106,14 @@ public final class PrepareCache extends LinkedHashMap<String, CachedPrepareResul
   }
 
   public void reset() {
-    for (CachedPrepareResultPacket prep : values()) {
-      prep.reset();
+    lock.lock();
+    try {
+      for (CachedPrepareResultPacket prep : values()) {
+        prep.reset();
+      }
+      this.clear();
+    } finally {
+      lock.unlock();
     }
-    this.clear();
   }
 }
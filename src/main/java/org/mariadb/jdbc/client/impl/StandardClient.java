@@ -34,9 +34,11 @@ import org.mariadb.jdbc.client.socket.Reader;
 import org.mariadb.jdbc.client.socket.Writer;
 import org.mariadb.jdbc.client.socket.impl.*;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.PipelineCommand;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.export.MaxAllowedPacketException;
 import org.mariadb.jdbc.export.Prepare;
+import org.mariadb.jdbc.export.SslMode;
 import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.message.client.*;
 import org.mariadb.jdbc.message.server.ErrorPacket;
@@ -58,12 +60,18 @@ public class StandardClient implements Client, AutoCloseable {
   private final MutableByte compressionSequence = new MutableByte();
   private final ReentrantLock lock;
   private final Configuration conf;
+  private Configuration userConf;
   private final HostAddress hostAddress;
   private boolean closed = false;
   private Reader reader;
   private org.mariadb.jdbc.Statement streamStmt = null;
   private ClientMessage streamMsg = null;
   private int socketTimeout;
+  private byte exchangeCharset;
+  private boolean pendingReset;
+  private String sessionTrackQuery;
+  private boolean resetResponsePending;
+  private List<ClientMessage> sentSessionChanges;
   private final boolean disablePipeline;
 
   /** connection context */
@@ -89,6 +97,7 @@ public class StandardClient implements Client, AutoCloseable {
       throws SQLException {
 
     this.conf = conf;
+    this.userConf = conf;
     this.lock = lock;
     this.hostAddress = hostAddress;
     this.exceptionFactory = new ExceptionFactory(conf, hostAddress);
@@ -102,11 +111,21 @@ public class StandardClient implements Client, AutoCloseable {
       // **********************************************************************
       // creating socket
       // **********************************************************************
-      OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 16384);
-      InputStream in =
-          conf.useReadAheadInput()
-              ? new ReadAheadBufferedStream(socket.getInputStream())
-              : new BufferedInputStream(socket.getInputStream(), 16384);
+      OutputStream out;
+      InputStream in;
+      if (conf.useNioChannel()
+          && socket.getChannel() != null
+          && conf.sslMode() == SslMode.DISABLE) {
+        // NIO transport, SSL socket cannot be layered over a non-blocking channel
+        in = new ChannelInputStream(socket.getChannel());
+        out = new ChannelOutputStream(socket.getChannel());
+      } else {
+        out = new BufferedOutputStream(socket.getOutputStream(), 16384);
+        in =
+            conf.useReadAheadInput()
+                ? new ReadAheadBufferedStream(socket.getInputStream())
+                : new BufferedInputStream(socket.getInputStream(), 16384);
+      }
 
       assignStream(out, in, conf, null);
 
@@ -143,7 +162,7 @@ public class StandardClient implements Client, AutoCloseable {
       this.reader.setServerThreadId(handshake.getThreadId(), hostAddress);
       this.writer.setServerThreadId(handshake.getThreadId(), hostAddress);
 
-      byte exchangeCharset = ConnectionHelper.decideLanguage(handshake);
+      exchangeCharset = ConnectionHelper.decideLanguage(handshake);
 
       // **********************************************************************
       // changing to SSL socket if needed
@@ -384,6 +403,12 @@ public class StandardClient implements Client, AutoCloseable {
         throw exceptionFactory.create("Initialization command fail", "08000", sqlException);
       }
     }
+
+    // session variable query has enabled transaction isolation tracking
+    context.setTransactionIsolationTracked(
+        context.hasClientCapability(Capabilities.CLIENT_SESSION_TRACK));
+    context.setTransactionIsolationLevel(
+        conf.transactionIsolation() != null ? conf.transactionIsolation().getLevel() : 0);
   }
 
   /**
@@ -446,16 +471,26 @@ public class StandardClient implements Client, AutoCloseable {
       }
     }
 
+    int major = context.getVersion().getMajorVersion();
+    String isolationVariable =
+        !context.getVersion().isMariaDBServer()
+                && ((major >= 8 && context.getVersion().versionGreaterOrEqual(8, 0, 3))
+                    || (major < 8 && context.getVersion().versionGreaterOrEqual(5, 7, 20)))
+            ? "transaction_isolation"
+            : "tx_isolation";
     if (conf.transactionIsolation() != null) {
-      int major = context.getVersion().getMajorVersion();
-      if (!context.getVersion().isMariaDBServer()
-          && ((major >= 8 && context.getVersion().versionGreaterOrEqual(8, 0, 3))
-              || (major < 8 && context.getVersion().versionGreaterOrEqual(5, 7, 20)))) {
-        sessionCommands.add(
-            "transaction_isolation='" + conf.transactionIsolation().getValue() + "'");
-      } else {
-        sessionCommands.add("tx_isolation='" + conf.transactionIsolation().getValue() + "'");
-      }
+      sessionCommands.add(isolationVariable + "='" + conf.transactionIsolation().getValue() + "'");
+    }
+
+    // ask server to notify transaction isolation and auto_increment_increment changes, so they can
+    // be known without query
+    if (context.hasClientCapability(Capabilities.CLIENT_SESSION_TRACK)) {
+      String sessionTrack =
+          "session_track_system_variables=CONCAT_WS(',',NULLIF(@@session_track_system_variables,''),'"
+              + isolationVariable
+              + ",auto_increment_increment')";
+      sessionCommands.add(sessionTrack);
+      sessionTrackQuery = "set " + sessionTrack;
     }
 
     if (!sessionCommands.isEmpty()) {
@@ -483,7 +518,27 @@ public class StandardClient implements Client, AutoCloseable {
       if (logger.isDebugEnabled() && message.description() != null) {
         logger.debug("execute query: {}", message.description());
       }
-      return message.encode(writer, context);
+      if (pendingReset) {
+        // deferred COM_RESET_CONNECTION, pipelined with command
+        pendingReset = false;
+        writer.initPacket();
+        writer.writeByte(0x1f);
+        writer.flushPipeline();
+        resetResponsePending = true;
+      }
+      List<ClientMessage> sessionChanges = context.drainSessionChanges();
+      if (sessionChanges != null) {
+        // deferred session changes, pipelined with command
+        for (ClientMessage change : sessionChanges) change.encode(writer, context);
+        if (sentSessionChanges == null) {
+          sentSessionChanges = sessionChanges;
+        } else {
+          sentSessionChanges.addAll(sessionChanges);
+        }
+      }
+      int nbResp = message.encode(writer, context);
+      if (message == ResetPacket.INSTANCE) sessionReset();
+      return nbResp;
     } catch (IOException ioException) {
       if (ioException instanceof MaxAllowedPacketException) {
         if (((MaxAllowedPacketException) ioException).isMustReconnect()) {
@@ -639,6 +694,48 @@ public class StandardClient implements Client, AutoCloseable {
     }
   }
 
+  @Override
+  public void executePipeline(List<PipelineCommand> commands) {
+    if (disablePipeline) {
+      Client.super.executePipeline(commands);
+      return;
+    }
+    int[] responseMsg = new int[commands.size()];
+    int sent = 0;
+    try {
+      for (; sent < commands.size(); sent++) {
+        responseMsg[sent] = sendQuery(commands.get(sent).getMessage());
+      }
+    } catch (SQLException sqlException) {
+      // commands not sent will never have results
+      for (int i = sent; i < commands.size(); i++) {
+        commands.get(i).setResults(null, sqlException);
+      }
+    }
+
+    for (int i = 0; i < sent; i++) {
+      PipelineCommand command = commands.get(i);
+      List<Completion> results = new ArrayList<>();
+      SQLException error = null;
+      for (int j = 0; j < responseMsg[i]; j++) {
+        try {
+          results.addAll(
+              readResponse(
+                  command.getStmt(),
+                  command.getMessage(),
+                  0,
+                  command.getMaxRows(),
+                  command.getResultSetConcurrency(),
+                  command.getResultSetType(),
+                  false));
+        } catch (SQLException e) {
+          if (error == null) error = e;
+        }
+      }
+      command.setResults(error == null ? results : null, error);
+    }
+  }
+
   public List<Completion> execute(
       ClientMessage message,
       org.mariadb.jdbc.Statement stmt,
@@ -664,6 +761,7 @@ public class StandardClient implements Client, AutoCloseable {
         streamStmt.fetchRemaining();
         streamStmt = null;
       }
+      readPendingResponses();
       List<Completion> completions = new ArrayList<>();
       try {
         while (nbResp-- > 0) {
@@ -726,6 +824,7 @@ public class StandardClient implements Client, AutoCloseable {
       streamStmt.fetchRemaining();
       streamStmt = null;
     }
+    readPendingResponses();
     List<Completion> completions = new ArrayList<>();
     readResults(
         stmt,
@@ -751,6 +850,7 @@ public class StandardClient implements Client, AutoCloseable {
       streamStmt.fetchRemaining();
       streamStmt = null;
     }
+    readPendingResponses();
     List<Completion> completions = new ArrayList<>();
     readResults(
         null,
@@ -763,6 +863,37 @@ public class StandardClient implements Client, AutoCloseable {
         false);
   }
 
+  /**
+   * Read responses of deferred connection reset and session changes sent with last command.
+   *
+   * @throws SQLException if reset or a session change fails
+   */
+  private void readPendingResponses() throws SQLException {
+    if (resetResponsePending) {
+      resetResponsePending = false;
+      try {
+        readPacket(ResetPacket.INSTANCE);
+      } catch (SQLException sqle) {
+        // responses to commands sent with reset cannot be read reliably anymore
+        destroySocket();
+        throw exceptionFactory.create("Connection reset failed", "08000", sqle);
+      }
+    }
+    if (sentSessionChanges != null) {
+      List<ClientMessage> changes = sentSessionChanges;
+      sentSessionChanges = null;
+      for (ClientMessage change : changes) {
+        try {
+          readPacket(change);
+        } catch (SQLException sqle) {
+          // command sent with change has been executed with an unexpected session state
+          destroySocket();
+          throw exceptionFactory.create("Deferred session change failed", "08000", sqle);
+        }
+      }
+    }
+  }
+
   public void closePrepare(Prepare prepare) throws SQLException {
     checkNotClosed();
     try {
@@ -896,6 +1027,40 @@ public class StandardClient implements Client, AutoCloseable {
     }
   }
 
+  @Override
+  public void changeUser(String user, String password) throws SQLException {
+    checkNotClosed();
+    // change user reset session anyway
+    pendingReset = false;
+    context.drainSessionChanges();
+    Credential credential = new Credential(user, password);
+    try {
+      new ChangeUserPacket(
+              credential, conf, hostAddress != null ? hostAddress.host : null, exchangeCharset)
+          .encode(writer, context);
+      ConnectionHelper.authenticationHandler(credential, writer, reader, context);
+    } catch (IOException ioException) {
+      destroySocket();
+      throw exceptionFactory
+          .withSql("COM_CHANGE_USER")
+          .create("Socket error", "08000", ioException);
+    }
+
+    // control commands must use current user, that owns server thread
+    userConf =
+        Objects.equals(user, conf.user()) && Objects.equals(password, conf.password())
+            ? conf
+            : conf.clone(user, password);
+
+    // server has reset session: server prepared statements and session variables are lost
+    context.resetPrepareCache();
+    context.resetStateFlag();
+    context.setDatabase(conf.database());
+    context.setAutoIncrementIncrement(null);
+    context.setTransactionIsolationTracked(false);
+    postConnectionQueries();
+  }
+
   /**
    * Throw an exception if client is closed
    *
@@ -957,9 +1122,8 @@ public class StandardClient implements Client, AutoCloseable {
       if (!lockStatus) {
         // lock not available : query is running
         // force end by executing an KILL connection
-        try (StandardClient cli =
-            new StandardClient(conf, hostAddress, new ReentrantLock(), true)) {
-          cli.execute(new QueryPacket("KILL " + context.getThreadId()), false);
+        try {
+          ControlClientPool.get(userConf, hostAddress).execute("KILL " + context.getThreadId());
         } catch (SQLException e) {
           // eat
         }
@@ -1024,8 +1188,36 @@ public class StandardClient implements Client, AutoCloseable {
     return hostAddress;
   }
 
+  public Configuration getUserConfiguration() {
+    return userConf;
+  }
+
   public void reset() {
     context.resetStateFlag();
     context.resetPrepareCache();
   }
+
+  @Override
+  public void resetOnNextCommand() {
+    pendingReset = true;
+    // session changes not sent yet would be applied after reset, leaking to next session
+    context.drainSessionChanges();
+    sessionReset();
+    // transaction will be rolled back by reset
+    context.setServerStatus(context.getServerStatus() & ~ServerStatus.IN_TRANSACTION);
+  }
+
+  /**
+   * Server session is reset (COM_RESET_CONNECTION), restoring session variables: transaction
+   * isolation is not known anymore, and session tracking configuration is sent again with next
+   * command.
+   */
+  private void sessionReset() {
+    context.setTransactionIsolationLevel(0);
+    context.setTransactionIsolationTracked(sessionTrackQuery != null);
+    if (sessionTrackQuery != null) {
+      context.addSessionChange(
+          "session_track", Boolean.TRUE, Boolean.FALSE, new QueryPacket(sessionTrackQuery));
+    }
+  }
 }
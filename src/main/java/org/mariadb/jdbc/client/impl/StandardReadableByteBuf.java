@@ -19,6 +19,9 @@ public final class StandardReadableByteBuf implements ReadableByteBuf {
   /** current position reading buffer */
   public int pos;
 
+  /** data start position */
+  private int offset;
+
   /**
    * Packet buffer constructor
    *
@@ -58,6 +61,30 @@ public final class StandardReadableByteBuf implements ReadableByteBuf {
     this.buf = buf;
     this.limit = limit;
     this.pos = pos;
+    this.offset = 0;
+  }
+
+  /**
+   * Set buffer to a row stored in part of a bigger array.
+   *
+   * @param buf array containing row
+   * @param offset row start position
+   * @param length row length
+   */
+  public void row(byte[] buf, int offset, int length) {
+    this.buf = buf;
+    this.limit = offset + length;
+    this.pos = offset;
+    this.offset = offset;
+  }
+
+  /**
+   * Row start position
+   *
+   * @return row start position
+   */
+  public int offset() {
+    return offset;
   }
 
   public void pos(int pos) {
@@ -93,8 +120,11 @@ public final class StandardReadableByteBuf implements ReadableByteBuf {
   }
 
   public MariaDbBlob readBlob(int length) {
+    // copy data, since row buffer may be reused once result-set is closed
+    byte[] arr = new byte[length];
+    System.arraycopy(buf, pos, arr, 0, length);
     pos += length;
-    return MariaDbBlob.safeMariaDbBlob(buf, pos - length, length);
+    return MariaDbBlob.safeMariaDbBlob(arr, 0, length);
   }
 
   public long atoll(int length) {
@@ -16,6 +16,7 @@ import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.DataType;
 import org.mariadb.jdbc.client.socket.Reader;
+import org.mariadb.jdbc.client.util.RowStore;
 
 /** Result-set that will retrieve all rows immediately before returning the result-set. */
 public class CompleteResult extends Result {
@@ -60,9 +61,9 @@ public class CompleteResult extends Result {
         resultSetType,
         closeOnCompletion,
         traceEnable);
-    this.data = new byte[10][];
+    this.rows = new RowStore(context.getSlabPool(), 10);
     if (maxRows > 0) {
-      while (readNext() && dataSize < maxRows) {}
+      while (readNext() && rows.size() < maxRows) {}
       if (!loaded) skipRemaining();
     } else {
       while (readNext()) {}
@@ -151,13 +152,13 @@ public class CompleteResult extends Result {
 
   @Override
   public boolean next() throws SQLException {
-    if (rowPointer < dataSize - 1) {
-      setRow(data[++rowPointer]);
+    if (rowPointer < rows.size() - 1) {
+      setRow(++rowPointer);
       return true;
     } else {
       // all data are reads and pointer is after last
       setNullRowBuf();
-      rowPointer = dataSize;
+      rowPointer = rows.size();
       return false;
     }
   }
@@ -173,12 +174,13 @@ public class CompleteResult extends Result {
   @Override
   public void closeFromStmtClose(ReentrantLock lock) {
     this.closed = true;
+    releaseRows();
   }
 
   @Override
   public boolean isAfterLast() throws SQLException {
     checkClose();
-    if (rowPointer < dataSize) {
+    if (rowPointer < rows.size()) {
       // has remaining results
       return false;
     } else {
@@ -186,20 +188,20 @@ public class CompleteResult extends Result {
       // has read all data and pointer is after last result
       // so result would have to always be true,
       // but when result contain no row at all jdbc say that must return false
-      return dataSize > 0;
+      return rows.size() > 0;
     }
   }
 
   @Override
   public boolean isFirst() throws SQLException {
     checkClose();
-    return rowPointer == 0 && dataSize > 0;
+    return rowPointer == 0 && rows.size() > 0;
   }
 
   @Override
   public boolean isLast() throws SQLException {
     checkClose();
-    return rowPointer == dataSize - 1 && dataSize > 0;
+    return rowPointer == rows.size() - 1 && rows.size() > 0;
   }
 
   @Override
@@ -213,57 +215,57 @@ public class CompleteResult extends Result {
   public void afterLast() throws SQLException {
     checkClose();
     setNullRowBuf();
-    rowPointer = dataSize;
+    rowPointer = rows.size();
   }
 
   @Override
   public boolean first() throws SQLException {
     checkClose();
     rowPointer = 0;
-    if (dataSize == 0) {
+    if (rows.size() == 0) {
       setNullRowBuf();
       return false;
     }
-    setRow(data[rowPointer]);
+    setRow(rowPointer);
     return true;
   }
 
   @Override
   public boolean last() throws SQLException {
     checkClose();
-    rowPointer = dataSize - 1;
+    rowPointer = rows.size() - 1;
     if (rowPointer == BEFORE_FIRST_POS) {
       setNullRowBuf();
       return false;
     }
-    setRow(data[rowPointer]);
+    setRow(rowPointer);
     return true;
   }
 
   @Override
   public int getRow() throws SQLException {
     checkClose();
-    return rowPointer == dataSize ? 0 : rowPointer + 1;
+    return rowPointer == rows.size() ? 0 : rowPointer + 1;
   }
 
   @Override
   public boolean absolute(int idx) throws SQLException {
     checkClose();
-    if (idx == 0 || idx > dataSize) {
-      rowPointer = idx == 0 ? BEFORE_FIRST_POS : dataSize;
+    if (idx == 0 || idx > rows.size()) {
+      rowPointer = idx == 0 ? BEFORE_FIRST_POS : rows.size();
       setNullRowBuf();
       return false;
     }
 
     if (idx > 0) {
       rowPointer = idx - 1;
-      setRow(data[rowPointer]);
+      setRow(rowPointer);
       return true;
     } else {
-      if (dataSize + idx >= 0) {
+      if (rows.size() + idx >= 0) {
         // absolute position reverse from ending resultSet
-        rowPointer = dataSize + idx;
-        setRow(data[rowPointer]);
+        rowPointer = rows.size() + idx;
+        setRow(rowPointer);
         return true;
       }
       rowPointer = BEFORE_FIRST_POS;
@@ -280,13 +282,13 @@ public class CompleteResult extends Result {
       rowPointer = BEFORE_FIRST_POS;
       setNullRowBuf();
       return false;
-    } else if (newPos >= dataSize) {
-      rowPointer = dataSize;
+    } else if (newPos >= this.rows.size()) {
+      rowPointer = this.rows.size();
       setNullRowBuf();
       return false;
     } else {
       rowPointer = newPos;
-      setRow(data[rowPointer]);
+      setRow(rowPointer);
       return true;
     }
   }
@@ -297,7 +299,7 @@ public class CompleteResult extends Result {
     if (rowPointer > BEFORE_FIRST_POS) {
       rowPointer--;
       if (rowPointer != BEFORE_FIRST_POS) {
-        setRow(data[rowPointer]);
+        setRow(rowPointer);
         return true;
       }
     }
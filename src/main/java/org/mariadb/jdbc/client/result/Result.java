@@ -22,7 +22,9 @@ import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
 import org.mariadb.jdbc.client.result.rowdecoder.BinaryRowDecoder;
 import org.mariadb.jdbc.client.result.rowdecoder.RowDecoder;
 import org.mariadb.jdbc.client.result.rowdecoder.TextRowDecoder;
+import org.mariadb.jdbc.client.util.ColumnLabelIndex;
 import org.mariadb.jdbc.client.util.MutableInt;
+import org.mariadb.jdbc.client.util.RowStore;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.message.server.ErrorPacket;
 import org.mariadb.jdbc.plugin.Codec;
@@ -59,11 +61,8 @@ public abstract class Result implements ResultSet, Completion {
   /** binary/text row decoder */
   protected final RowDecoder rowDecoder;
 
-  /** data size */
-  protected int dataSize = 0;
-
   /** rows */
-  protected byte[][] data;
+  protected RowStore rows;
 
   private byte[] nullBitmap;
 
@@ -75,7 +74,8 @@ public abstract class Result implements ResultSet, Completion {
   /** mutable field index */
   protected MutableInt fieldIndex = new MutableInt();
 
-  private Map<String, Integer> mapper = null;
+  /** column label index, shared by results having the same metadata */
+  private ColumnLabelIndex labelIndex;
 
   /** is fully loaded */
   protected boolean loaded;
@@ -150,8 +150,7 @@ public abstract class Result implements ResultSet, Completion {
     this.loaded = true;
     this.exceptionFactory = context.getExceptionFactory();
     this.context = context;
-    this.data = data;
-    this.dataSize = data.length;
+    this.rows = new RowStore(data);
     this.statement = null;
     this.resultSetType = TYPE_FORWARD_ONLY;
     this.closeOnCompletion = false;
@@ -168,18 +167,23 @@ public abstract class Result implements ResultSet, Completion {
    */
   @SuppressWarnings("fallthrough")
   protected boolean readNext() throws IOException, SQLException {
-    byte[] buf = reader.readPacket(traceEnable);
-    switch (buf[0]) {
+    int row = reader.readPacket(rows, traceEnable);
+    byte[] buf = rows.buf(row);
+    int offset = rows.offset(row);
+    int length = rows.length(row);
+    switch (buf[offset]) {
       case (byte) 0xFF:
         loaded = true;
-        ErrorPacket errorPacket = new ErrorPacket(reader.readableBufFromArray(buf), context);
+        ErrorPacket errorPacket =
+            new ErrorPacket(reader.readableBufFromArray(buf, offset, length), context);
+        rows.removeLast();
         throw exceptionFactory.create(
             errorPacket.getMessage(), errorPacket.getSqlState(), errorPacket.getErrorCode());
 
       case (byte) 0xFE:
-        if ((context.isEofDeprecated() && buf.length < 16777215)
-            || (!context.isEofDeprecated() && buf.length < 8)) {
-          ReadableByteBuf readBuf = reader.readableBufFromArray(buf);
+        if ((context.isEofDeprecated() && length < 16777215)
+            || (!context.isEofDeprecated() && length < 8)) {
+          ReadableByteBuf readBuf = reader.readableBufFromArray(buf, offset, length);
           readBuf.skip(); // skip header
           int serverStatus;
           int warnings;
@@ -195,6 +199,7 @@ public abstract class Result implements ResultSet, Completion {
             serverStatus = readBuf.readUnsignedShort();
             warnings = readBuf.readUnsignedShort();
           }
+          rows.removeLast();
           outputParameter = (serverStatus & ServerStatus.PS_OUT_PARAMETERS) != 0;
           context.setServerStatus(serverStatus);
           context.setWarning(warnings);
@@ -205,10 +210,7 @@ public abstract class Result implements ResultSet, Completion {
         // continue reading rows
 
       default:
-        if (dataSize + 1 > data.length) {
-          growDataArray();
-        }
-        data[dataSize++] = buf;
+        // row is already appended to row storage
     }
     return true;
   }
@@ -259,14 +261,6 @@ public abstract class Result implements ResultSet, Completion {
     }
   }
 
-  /** Grow data array. */
-  private void growDataArray() {
-    int newCapacity = data.length + (data.length >> 1);
-    byte[][] newData = new byte[newCapacity][];
-    System.arraycopy(data, 0, newData, 0, data.length);
-    data = newData;
-  }
-
   /**
    * Position resultset to next row
    *
@@ -299,6 +293,15 @@ public abstract class Result implements ResultSet, Completion {
     return loaded;
   }
 
+  /**
+   * Indicate that all rows have been read from socket, and cursor is on last row or after.
+   *
+   * @return true if no more row can be returned by next()
+   */
+  boolean exhausted() {
+    return loaded && rowPointer >= rows.size() - 1;
+  }
+
   /**
    * Does result-set contain output parameters
    *
@@ -323,6 +326,7 @@ public abstract class Result implements ResultSet, Completion {
       }
     }
     this.closed = true;
+    releaseRows();
     if (closeOnCompletion) {
       statement.close();
     }
@@ -339,11 +343,21 @@ public abstract class Result implements ResultSet, Completion {
     try {
       this.fetchRemaining();
       this.closed = true;
+      releaseRows();
     } finally {
       lock.unlock();
     }
   }
 
+  /**
+   * Give back row storage to connection once result-set is closed. Row buffer is reset, since
+   * storage will be reused by next result-sets.
+   */
+  protected void releaseRows() {
+    setNullRowBuf();
+    rows.release();
+  }
+
   /** Aborting result-set, without any consideration for connection state. */
   public void abort() {
     this.closed = true;
@@ -355,7 +369,7 @@ public abstract class Result implements ResultSet, Completion {
    * @return current row RAW data
    */
   protected byte[] getCurrentRowData() {
-    return data[0];
+    return rows.copy(0);
   }
 
   /**
@@ -364,10 +378,7 @@ public abstract class Result implements ResultSet, Completion {
    * @param buf add row
    */
   protected void addRowData(byte[] buf) {
-    if (dataSize + 1 > data.length) {
-      growDataArray();
-    }
-    data[dataSize++] = buf;
+    rows.add(buf);
   }
 
   /**
@@ -376,12 +387,11 @@ public abstract class Result implements ResultSet, Completion {
    * @param rawData new row
    */
   protected void updateRowData(byte[] rawData) {
-    data[rowPointer] = rawData;
+    rows.set(rowPointer, rawData);
     if (rawData == null) {
       setNullRowBuf();
     } else {
-      setRow(rawData);
-      fieldIndex.set(-1);
+      setRow(rowPointer);
     }
   }
 
@@ -391,6 +401,7 @@ public abstract class Result implements ResultSet, Completion {
           String.format("Wrong index position. Is %s but must be in 1-%s range", index, maxIndex));
     }
     if (rowBuf.buf == null) {
+      checkClose();
       throw new SQLDataException("wrong row position", "22023");
     }
   }
@@ -825,7 +836,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public boolean isBeforeFirst() throws SQLException {
     checkClose();
-    return rowPointer == -1 && dataSize > 0;
+    return rowPointer == -1 && rows.size() > 0;
   }
 
   @Override
@@ -1140,11 +1151,11 @@ public abstract class Result implements ResultSet, Completion {
     statement = stmt;
   }
 
-  /** Force using alias as name */
+  /**
+   * Force using alias as name. Columns may be shared with other results (column metadata cache), so
+   * alias is only applied to this result metadata.
+   */
   public void useAliasAsName() {
-    for (Column packet : metadataList) {
-      packet.useAliasAsName();
-    }
     forceAlias = true;
   }
 
@@ -1623,11 +1634,9 @@ public abstract class Result implements ResultSet, Completion {
       return (T) rowDecoder.defaultDecode(conf, metadataList, fieldIndex, rowBuf, fieldLength);
     }
 
-    for (Codec<?> codec : conf.codecs()) {
-      if (codec.canDecode(column, type)) {
-        return rowDecoder.decode(
-            (Codec<T>) codec, calendar, rowBuf, fieldLength, metadataList, fieldIndex);
-      }
+    Codec<T> codec = conf.decoder(column, type);
+    if (codec != null) {
+      return rowDecoder.decode(codec, calendar, rowBuf, fieldLength, metadataList, fieldIndex);
     }
     rowBuf.skip(fieldLength.get());
     throw new SQLException(
@@ -1681,34 +1690,23 @@ public abstract class Result implements ResultSet, Completion {
   }
 
   /**
-   * set row decoder to current row data
+   * set row decoder to row data
    *
-   * @param row row
+   * @param index row index
    */
-  public void setRow(byte[] row) {
-    rowBuf.buf(row, row.length, 0);
+  protected void setRow(int index) {
+    rowBuf.row(rows.buf(index), rows.offset(index), rows.length(index));
     fieldIndex.set(-1);
   }
 
   public int findColumn(String label) throws SQLException {
     if (label == null) throw new SQLException("null is not a valid label value");
-    if (mapper == null) {
-      mapper = new HashMap<>();
-      for (int i = 0; i < maxIndex; i++) {
-        Column ci = metadataList[i];
-        String columnAlias = ci.getColumnAlias();
-        if (columnAlias != null) {
-          columnAlias = columnAlias.toLowerCase(Locale.ROOT);
-          mapper.putIfAbsent(columnAlias, i + 1);
-          String tableAlias = ci.getTableAlias();
-          String tableLabel = tableAlias != null ? tableAlias : ci.getTable();
-          mapper.putIfAbsent(tableLabel.toLowerCase(Locale.ROOT) + "." + columnAlias, i + 1);
-        }
-      }
+    if (labelIndex == null) {
+      labelIndex = context.getColumnLabelIndex(metadataList);
     }
-    Integer ind = mapper.get(label.toLowerCase(Locale.ROOT));
-    if (ind == null) {
-      String keys = Arrays.toString(mapper.keySet().toArray(new String[0]));
+    int ind = labelIndex.get(label);
+    if (ind < 0) {
+      String keys = Arrays.toString(labelIndex.labels().toArray(new String[0]));
       throw new SQLException(String.format("Unknown label '%s'. Possible value %s", label, keys));
     }
     return ind;
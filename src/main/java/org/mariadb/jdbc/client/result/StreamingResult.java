@@ -11,6 +11,7 @@ import org.mariadb.jdbc.Statement;
 import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.socket.Reader;
+import org.mariadb.jdbc.client.util.RowStore;
 
 /**
  * Streaming result-set implementation. Implementation rely on reading as many rows than fetch size
@@ -42,6 +43,7 @@ public class StreamingResult extends Result {
 
   private final ReentrantLock lock;
   private int dataFetchTime;
+  private long fetchedRows;
   private int fetchSize;
 
   /**
@@ -87,7 +89,7 @@ public class StreamingResult extends Result {
     this.lock = lock;
     this.dataFetchTime = 0;
     this.fetchSize = fetchSize;
-    this.data = new byte[Math.max(fetchSize, 10)][];
+    this.rows = new RowStore(context.getSlabPool(), Math.max(fetchSize, 10));
 
     addStreamingValue();
   }
@@ -107,7 +109,8 @@ public class StreamingResult extends Result {
     // if resultSet can be back to some previous value
     if (resultSetType == TYPE_FORWARD_ONLY) {
       rowPointer = 0;
-      dataSize = 0;
+      // next rows are read in place of previous ones, reusing same slabs
+      rows.clear();
     }
 
     addStreamingValue();
@@ -117,15 +120,17 @@ public class StreamingResult extends Result {
     lock.lock();
     try {
       // read only fetchSize values
+      // fetch size may change between fetches, so maximum rows rely on number of rows read
       int fetchSizeTmp =
           (maxRows <= 0)
               ? fetchSize
-              : Math.min(fetchSize, Math.max(0, (int) (maxRows - dataFetchTime * fetchSize)));
+              : (int) Math.min(fetchSize, Math.max(0, maxRows - fetchedRows));
       while (fetchSizeTmp > 0 && readNext()) {
         fetchSizeTmp--;
+        fetchedRows++;
       }
       dataFetchTime++;
-      if (maxRows > 0 && (long) dataFetchTime * fetchSize >= maxRows && !loaded) skipRemaining();
+      if (maxRows > 0 && fetchedRows >= maxRows && !loaded) skipRemaining();
     } catch (IOException ioe) {
       throw exceptionFactory.create("Error while streaming resultSet data", "08000", ioe);
     } finally {
@@ -151,9 +156,9 @@ public class StreamingResult extends Result {
   @Override
   public boolean next() throws SQLException {
     checkClose();
-    if (rowPointer < dataSize - 1) {
+    if (rowPointer < rows.size() - 1) {
       rowPointer++;
-      setRow(data[rowPointer]);
+      setRow(rowPointer);
       return true;
     } else {
       if (!loaded) {
@@ -169,16 +174,16 @@ public class StreamingResult extends Result {
         if (resultSetType == TYPE_FORWARD_ONLY) {
           // resultSet has been cleared. next value is pointer 0.
           rowPointer = 0;
-          if (dataSize > 0) {
-            setRow(data[rowPointer]);
+          if (rows.size() > 0) {
+            setRow(rowPointer);
             return true;
           }
         } else {
           // cursor can move backward, so driver must keep the results.
           // results have been added to current resultSet
           rowPointer++;
-          if (dataSize > rowPointer) {
-            setRow(data[rowPointer]);
+          if (rows.size() > rowPointer) {
+            setRow(rowPointer);
             return true;
           }
         }
@@ -187,7 +192,7 @@ public class StreamingResult extends Result {
       }
 
       // all data are reads and pointer is after last
-      rowPointer = dataSize;
+      rowPointer = rows.size();
       setNullRowBuf();
       return false;
     }
@@ -196,14 +201,14 @@ public class StreamingResult extends Result {
   @Override
   public boolean isAfterLast() throws SQLException {
     checkClose();
-    if (rowPointer < dataSize) {
+    if (rowPointer < rows.size()) {
       // has remaining results
       return false;
     } else {
       // has read all data and pointer is after last result
       // so result would have to always be true,
       // but when result contain no row at all jdbc say that must return false
-      return dataSize > 0 || dataFetchTime > 1;
+      return rows.size() > 0 || dataFetchTime > 1;
     }
   }
 
@@ -211,19 +216,19 @@ public class StreamingResult extends Result {
   public boolean isFirst() throws SQLException {
     checkClose();
     if (resultSetType == TYPE_FORWARD_ONLY) {
-      return rowPointer == 0 && dataSize > 0 && dataFetchTime == 1;
+      return rowPointer == 0 && rows.size() > 0 && dataFetchTime == 1;
     } else {
-      return rowPointer == 0 && dataSize > 0;
+      return rowPointer == 0 && rows.size() > 0;
     }
   }
 
   @Override
   public boolean isLast() throws SQLException {
     checkClose();
-    if (rowPointer < dataSize - 1) {
+    if (rowPointer < rows.size() - 1) {
       return false;
     } else if (loaded) {
-      return rowPointer == dataSize - 1 && dataSize > 0;
+      return rowPointer == rows.size() - 1 && rows.size() > 0;
     } else {
       // when streaming and not having read all results,
       // must read next packet to know if next packet is an EOF packet or some additional data
@@ -231,7 +236,7 @@ public class StreamingResult extends Result {
 
       if (loaded) {
         // now driver is sure when data ends.
-        return rowPointer == dataSize - 1;
+        return rowPointer == rows.size() - 1;
       }
 
       // There is data remaining
@@ -253,7 +258,7 @@ public class StreamingResult extends Result {
     checkNotForwardOnly();
     fetchRemaining();
     setNullRowBuf();
-    rowPointer = dataSize;
+    rowPointer = rows.size();
   }
 
   @Override
@@ -262,8 +267,8 @@ public class StreamingResult extends Result {
     checkNotForwardOnly();
 
     rowPointer = 0;
-    if (dataSize > 0) {
-      setRow(data[rowPointer]);
+    if (rows.size() > 0) {
+      setRow(rowPointer);
       return true;
     }
     setNullRowBuf();
@@ -274,9 +279,9 @@ public class StreamingResult extends Result {
   public boolean last() throws SQLException {
     checkClose();
     fetchRemaining();
-    rowPointer = dataSize - 1;
-    if (dataSize > 0) {
-      setRow(data[rowPointer]);
+    rowPointer = rows.size() - 1;
+    if (rows.size() > 0) {
+      setRow(rowPointer);
       return true;
     }
     setNullRowBuf();
@@ -303,9 +308,9 @@ public class StreamingResult extends Result {
       return false;
     }
 
-    if (idx > 0 && idx <= dataSize) {
+    if (idx > 0 && idx <= rows.size()) {
       rowPointer = idx - 1;
-      setRow(data[rowPointer]);
+      setRow(rowPointer);
       return true;
     }
 
@@ -313,21 +318,21 @@ public class StreamingResult extends Result {
     fetchRemaining();
 
     if (idx > 0) {
-      if (idx <= dataSize) {
+      if (idx <= rows.size()) {
         rowPointer = idx - 1;
-        setRow(data[rowPointer]);
+        setRow(rowPointer);
         return true;
       }
 
-      rowPointer = dataSize; // go to afterLast() position
+      rowPointer = rows.size(); // go to afterLast() position
       setNullRowBuf();
 
     } else {
 
-      if (dataSize + idx >= 0) {
+      if (rows.size() + idx >= 0) {
         // absolute position reverse from ending resultSet
-        rowPointer = dataSize + idx;
-        setRow(data[rowPointer]);
+        rowPointer = rows.size() + idx;
+        setRow(rowPointer);
         return true;
       }
       setNullRowBuf();
@@ -347,9 +352,9 @@ public class StreamingResult extends Result {
       return false;
     }
 
-    while (newPos >= dataSize) {
+    while (newPos >= this.rows.size()) {
       if (loaded) {
-        rowPointer = dataSize;
+        rowPointer = this.rows.size();
         setNullRowBuf();
         return false;
       }
@@ -357,7 +362,7 @@ public class StreamingResult extends Result {
     }
 
     rowPointer = newPos;
-    setRow(data[rowPointer]);
+    setRow(rowPointer);
     return true;
   }
 
@@ -368,7 +373,7 @@ public class StreamingResult extends Result {
     if (rowPointer > -1) {
       rowPointer--;
       if (rowPointer != -1) {
-        setRow(data[rowPointer]);
+        setRow(rowPointer);
         return true;
       }
     }
@@ -189,7 +189,7 @@ public class UpdatableResult extends CompleteResult {
       if (rowPointer <= BEFORE_FIRST_POS) {
         throw new SQLDataException("Current position is before the first row", "22023");
       }
-      if (rowPointer >= dataSize) {
+      if (rowPointer >= rows.size()) {
         throw new SQLDataException("Current position is after the last row", "22023");
       }
       if (!canUpdate) {
@@ -664,7 +664,7 @@ public class UpdatableResult extends CompleteResult {
       throw exceptionFactory.create("Current position is before the first row", "22023");
     }
 
-    if (rowPointer >= dataSize) {
+    if (rowPointer >= rows.size()) {
       throw exceptionFactory.create("Current position is after the last row", "22023");
     }
 
@@ -722,7 +722,7 @@ public class UpdatableResult extends CompleteResult {
     if (rowPointer < 0) {
       throw new SQLDataException("Current position is before the first row", "22023");
     }
-    if (rowPointer >= dataSize) {
+    if (rowPointer >= rows.size()) {
       throw new SQLDataException("Current position is after the last row", "22023");
     }
 
@@ -760,9 +760,7 @@ public class UpdatableResult extends CompleteResult {
       deletePreparedStatement.executeUpdate();
 
       // remove data
-      System.arraycopy(data, rowPointer + 1, data, rowPointer, dataSize - 1 - rowPointer);
-      data[dataSize - 1] = null;
-      dataSize--;
+      rows.remove(rowPointer);
       previous();
     }
   }
@@ -775,7 +773,7 @@ public class UpdatableResult extends CompleteResult {
     if (rowPointer < 0) {
       throw exceptionFactory.create("Current position is before the first row", "22023");
     }
-    if (rowPointer >= data.length) {
+    if (rowPointer >= rows.size()) {
       throw exceptionFactory.create("Current position is after the last row", "22023");
     }
     if (canUpdate) {
@@ -1017,12 +1015,11 @@ public class UpdatableResult extends CompleteResult {
       return;
     }
 
-    for (Codec<?> codec : context.getConf().codecs()) {
-      if (codec.canEncode(x)) {
-        Parameter p = new Parameter(codec, x, scaleOrLength);
-        parameters.set(columnIndex - 1, p);
-        return;
-      }
+    Codec<?> codec = context.getConf().encoder(x);
+    if (codec != null) {
+      Parameter p = new Parameter(codec, x, scaleOrLength);
+      parameters.set(columnIndex - 1, p);
+      return;
     }
 
     throw new SQLException(String.format("Type %s not supported type", x.getClass().getName()));
@@ -1052,8 +1049,8 @@ public class UpdatableResult extends CompleteResult {
 
   private void resetToRowPointer() {
     rowPointer = savedRowPointer;
-    if (rowPointer != BEFORE_FIRST_POS && rowPointer < dataSize - 1) {
-      setRow(data[rowPointer]);
+    if (rowPointer != BEFORE_FIRST_POS && rowPointer < rows.size() - 1) {
+      setRow(rowPointer);
     } else {
       // all data are reads and pointer is after last
       setNullRowBuf();
@@ -174,13 +174,13 @@ public class BinaryRowDecoder implements RowDecoder {
 
     if (fieldIndex.get() >= newIndex) {
       fieldIndex.set(0);
-      rowBuf.pos(1);
+      rowBuf.pos(rowBuf.offset() + 1);
       rowBuf.readBytes(nullBitmap);
     } else {
       fieldIndex.incrementAndGet();
       if (fieldIndex.get() == 0) {
         // skip header + null-bitmap
-        rowBuf.pos(1);
+        rowBuf.pos(rowBuf.offset() + 1);
         rowBuf.readBytes(nullBitmap);
       }
     }
@@ -8,6 +8,7 @@ import java.io.IOException;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.client.ReadableByteBuf;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.RowStore;
 
 /** Packet Reader */
 public interface Reader {
@@ -41,6 +42,28 @@ public interface Reader {
    */
   byte[] readPacket(boolean traceEnable) throws IOException;
 
+  /**
+   * Get next MySQL packet, appending it as a new row of row storage, without allocating a dedicated
+   * array. If packet is more than 16M, read as many packet needed to finish reading MySQL packet.
+   *
+   * @param rows row storage
+   * @param traceEnable must trace packet.
+   * @return new row index
+   * @throws IOException if socket exception occur.
+   */
+  int readPacket(RowStore rows, boolean traceEnable) throws IOException;
+
+  /**
+   * Get a readable byte array from part of a byte array. This packet is expected to be read
+   * immediately, since no lock is set on this packet.
+   *
+   * @param buf byte array to be parsed
+   * @param offset packet start position
+   * @param length packet length
+   * @return array packet.
+   */
+  ReadableByteBuf readableBufFromArray(byte[] buf, int offset, int length);
+
   /**
    * Get a readable byte array from byte array. This packet is expected to be read immediately,
    * since no lock is set on this packet.
@@ -0,0 +1,167 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.client.socket.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Input stream reading a non-blocking socket channel through a pooled direct buffer. Socket data is
+ * read by the channel directly in the direct buffer, then copied once in packet arrays.
+ *
+ * <p>Socket timeout set on channel socket is respected, waiting for data using a selector.
+ */
+public class ChannelInputStream extends InputStream {
+
+  private final SocketChannel channel;
+  private final ReentrantLock lock = new ReentrantLock();
+  private ByteBuffer buffer;
+  private volatile Selector selector;
+
+  /**
+   * Constructor. Channel must be connected, and is set to non-blocking mode.
+   *
+   * @param channel socket channel
+   * @throws IOException if channel cannot be set to non-blocking mode
+   */
+  public ChannelInputStream(SocketChannel channel) throws IOException {
+    this.channel = channel;
+    channel.configureBlocking(false);
+    this.buffer = DirectBufferPool.acquire();
+    ((Buffer) buffer).flip();
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) return 0;
+    lock.lock();
+    try {
+      if (!fillIfEmpty()) return -1;
+      int count = Math.min(len, buffer.remaining());
+      buffer.get(b, off, count);
+      return count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    lock.lock();
+    try {
+      if (!fillIfEmpty()) return -1;
+      return buffer.get() & 0xff;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    if (n <= 0) return 0;
+    lock.lock();
+    try {
+      if (!fillIfEmpty()) return 0;
+      int count = (int) Math.min(n, buffer.remaining());
+      ((Buffer) buffer).position(buffer.position() + count);
+      return count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int available() throws IOException {
+    ByteBuffer buf = buffer;
+    return buf == null ? 0 : buf.remaining();
+  }
+
+  /**
+   * Read socket data in buffer if all buffered data has been consumed.
+   *
+   * @return false if end of stream is reached
+   * @throws IOException if socket error occurs, or socket timeout is reached
+   */
+  private boolean fillIfEmpty() throws IOException {
+    if (buffer == null) throw new IOException("Stream is closed");
+    if (buffer.hasRemaining()) return true;
+    ((Buffer) buffer).clear();
+    try {
+      int count;
+      while ((count = channel.read(buffer)) == 0) {
+        awaitData();
+      }
+      return count > 0;
+    } finally {
+      ((Buffer) buffer).flip();
+    }
+  }
+
+  private void awaitData() throws IOException {
+    int timeout = channel.socket().getSoTimeout();
+    try {
+      Selector sel = selector;
+      if (sel == null) {
+        sel = Selector.open();
+        selector = sel;
+        // channel may have been closed concurrently, before selector was visible
+        if (!channel.isOpen()) throw new ClosedChannelException();
+        channel.register(sel, SelectionKey.OP_READ);
+      }
+      if (timeout == 0) {
+        // woken up by close() on abort
+        sel.select();
+      } else {
+        long deadline = System.nanoTime() + timeout * 1_000_000L;
+        long remaining = timeout;
+        while (sel.select(remaining) == 0) {
+          if (!channel.isOpen()) throw new ClosedChannelException();
+          remaining = (deadline - System.nanoTime()) / 1_000_000L;
+          if (remaining <= 0) throw new SocketTimeoutException("Read timed out");
+        }
+      }
+      sel.selectedKeys().clear();
+    } catch (ClosedSelectorException e) {
+      // stream closed by another thread (connection abort)
+      throw new ClosedChannelException();
+    }
+  }
+
+  /**
+   * Closes channel and selector, waking up a thread waiting for data (connection abort). Buffer is
+   * given back to pool, except if another thread is currently reading, buffer then being left to
+   * garbage collection.
+   *
+   * @throws IOException if any error occurs
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      channel.close();
+    } finally {
+      Selector sel = selector;
+      if (sel != null) sel.close();
+      if (lock.tryLock()) {
+        try {
+          if (buffer != null) {
+            DirectBufferPool.release(buffer);
+            buffer = null;
+          }
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,164 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.client.socket.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Output stream writing a non-blocking socket channel. Small writes are accumulated in a pooled
+ * direct buffer until flush, permitting pipelined packets to be sent with one system call. Writes
+ * bigger than buffer are sent with a gathering write of pending buffered data and written array.
+ */
+public class ChannelOutputStream extends OutputStream {
+
+  /** maximum wait before checking channel state when socket has no timeout, in milliseconds */
+  private static final int WAIT_SLICE = 1000;
+
+  private final SocketChannel channel;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final ByteBuffer[] gather = new ByteBuffer[2];
+  private ByteBuffer buffer;
+  private volatile Selector selector;
+
+  /**
+   * Constructor. Channel must be connected and in non-blocking mode.
+   *
+   * @param channel socket channel
+   */
+  public ChannelOutputStream(SocketChannel channel) {
+    this.channel = channel;
+    this.buffer = DirectBufferPool.acquire();
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    lock.lock();
+    try {
+      if (buffer == null) throw new IOException("Stream is closed");
+      if (len <= buffer.remaining()) {
+        buffer.put(b, off, len);
+        return;
+      }
+      if (len < buffer.capacity()) {
+        writeBuffer();
+        buffer.put(b, off, len);
+        return;
+      }
+      // big data: send buffered data and array together
+      ((Buffer) buffer).flip();
+      gather[0] = buffer;
+      gather[1] = ByteBuffer.wrap(b, off, len);
+      try {
+        while (gather[1].hasRemaining()) {
+          if (channel.write(gather) == 0) awaitWritable();
+        }
+      } finally {
+        gather[1] = null;
+        ((Buffer) buffer).clear();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    lock.lock();
+    try {
+      if (buffer == null) throw new IOException("Stream is closed");
+      if (!buffer.hasRemaining()) writeBuffer();
+      buffer.put((byte) b);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    lock.lock();
+    try {
+      if (buffer == null) throw new IOException("Stream is closed");
+      writeBuffer();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void writeBuffer() throws IOException {
+    ((Buffer) buffer).flip();
+    try {
+      while (buffer.hasRemaining()) {
+        if (channel.write(buffer) == 0) awaitWritable();
+      }
+    } finally {
+      ((Buffer) buffer).clear();
+    }
+  }
+
+  private void awaitWritable() throws IOException {
+    // socket timeout bounds write wait if set, else wait by slices, checking channel is still open
+    int timeout = channel.socket().getSoTimeout();
+    long deadline = System.nanoTime() + timeout * 1_000_000L;
+    try {
+      Selector sel = selector;
+      if (sel == null) {
+        sel = Selector.open();
+        selector = sel;
+        // channel may have been closed concurrently, before selector was visible
+        if (!channel.isOpen()) throw new ClosedChannelException();
+        channel.register(sel, SelectionKey.OP_WRITE);
+      }
+      long wait = timeout == 0 ? WAIT_SLICE : timeout;
+      while (sel.select(wait) == 0) {
+        if (!channel.isOpen()) throw new ClosedChannelException();
+        if (timeout > 0) {
+          wait = (deadline - System.nanoTime()) / 1_000_000L;
+          if (wait <= 0) throw new SocketTimeoutException("Write timed out");
+        }
+      }
+      sel.selectedKeys().clear();
+    } catch (ClosedSelectorException e) {
+      // stream closed by another thread (connection abort)
+      throw new ClosedChannelException();
+    }
+  }
+
+  /**
+   * Closes channel and selector, waking up a thread waiting to write (connection abort). Buffer is
+   * given back to pool, except if another thread is currently writing, buffer then being left to
+   * garbage collection.
+   *
+   * @throws IOException if any error occurs
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      channel.close();
+    } finally {
+      Selector sel = selector;
+      if (sel != null) sel.close();
+      if (lock.tryLock()) {
+        try {
+          if (buffer != null) {
+            DirectBufferPool.release(buffer);
+            buffer = null;
+          }
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+  }
+}
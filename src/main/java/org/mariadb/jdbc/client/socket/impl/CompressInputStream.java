@@ -7,6 +7,7 @@ package org.mariadb.jdbc.client.socket.impl;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
 import org.mariadb.jdbc.client.util.MutableByte;
@@ -14,12 +15,22 @@ import org.mariadb.jdbc.client.util.MutableByte;
 /**
  * Compression handler, permitting decompression of mysql packet if needed. When compression is set,
  * using a 7 byte header to identify is packet is compressed or not.
+ *
+ * <p>Inflater and packet buffers are reused for all packets of the connection, buffers only growing
+ * up to {@link #MAX_RETAINED_BUFFER_SIZE}. Stream may be closed by another thread (abort) while
+ * reading: inflater is then released only when not in use, reading failing with an IOException.
  */
 public class CompressInputStream extends InputStream {
+  private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
   private final InputStream in;
   private final MutableByte sequence;
 
   private final byte[] header = new byte[7];
+  private final Inflater inflater = new Inflater();
+  private final ReentrantLock inflaterLock = new ReentrantLock();
+  private boolean closed;
+  private byte[] compressedBuffer = new byte[8192];
+  private byte[] inflateBuffer = new byte[8192];
 
   private int end;
   private int pos;
@@ -127,7 +138,11 @@ public class CompressInputStream extends InputStream {
     int packetLength = (header[4] & 0xff) + ((header[5] & 0xff) << 8) + ((header[6] & 0xff) << 16);
     boolean compressed = (packetLength != 0);
     remaining = compressedPacketLength;
-    byte[] intermediaryBuf = new byte[remaining];
+    byte[] intermediaryBuf = compressedBuffer;
+    if (intermediaryBuf.length < remaining) {
+      intermediaryBuf = new byte[remaining];
+      if (remaining <= MAX_RETAINED_BUFFER_SIZE) compressedBuffer = intermediaryBuf;
+    }
 
     // ***************************************************
     // Read content
@@ -149,11 +164,17 @@ public class CompressInputStream extends InputStream {
     } while (remaining > 0);
 
     if (compressed) {
-      buf = new byte[packetLength];
-      Inflater inflater = new Inflater();
-      inflater.setInput(intermediaryBuf);
+      buf = inflateBuffer;
+      if (buf.length < packetLength) {
+        buf = new byte[packetLength];
+        if (packetLength <= MAX_RETAINED_BUFFER_SIZE) inflateBuffer = buf;
+      }
+      inflaterLock.lock();
       try {
-        int actualUncompressBytes = inflater.inflate(buf);
+        if (closed) throw new IOException("Stream closed");
+        inflater.reset();
+        inflater.setInput(intermediaryBuf, 0, compressedPacketLength);
+        int actualUncompressBytes = inflater.inflate(buf, 0, packetLength);
         if (actualUncompressBytes != packetLength) {
           throw new IOException(
               "Invalid exception length after decompression "
@@ -163,8 +184,9 @@ public class CompressInputStream extends InputStream {
         }
       } catch (DataFormatException dfe) {
         throw new IOException(dfe);
+      } finally {
+        inflaterLock.unlock();
       }
-      inflater.end();
       end = packetLength;
     } else {
       buf = intermediaryBuf;
@@ -231,7 +253,19 @@ public class CompressInputStream extends InputStream {
    */
   @Override
   public void close() throws IOException {
-    in.close();
+    try {
+      in.close();
+    } finally {
+      inflaterLock.lock();
+      try {
+        if (!closed) {
+          closed = true;
+          inflater.end();
+        }
+      } finally {
+        inflaterLock.unlock();
+      }
+    }
   }
 
   /**
@@ -258,7 +292,7 @@ public class CompressInputStream extends InputStream {
    * @see InputStream#reset()
    */
   @Override
-  public synchronized void mark(int readlimit) {
+  public void mark(int readlimit) {
     in.mark(readlimit);
   }
 
@@ -300,7 +334,7 @@ public class CompressInputStream extends InputStream {
    * @see IOException
    */
   @Override
-  public synchronized void reset() throws IOException {
+  public void reset() throws IOException {
     in.reset();
   }
 
@@ -4,23 +4,35 @@
 
 package org.mariadb.jdbc.client.socket.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.DeflaterOutputStream;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.Deflater;
 import org.mariadb.jdbc.client.util.MutableByte;
 
 /**
  * Compression writer handler Permit to wrap standard packet to compressed packet ( 7 byte header).
  * Driver will compress packet only if packet size is meaningful (1536 bytes) &gt; to one TCP
  * packet.
+ *
+ * <p>Deflater and compression buffers are reused for all packets of the connection, buffers only
+ * growing up to {@link #MAX_RETAINED_BUFFER_SIZE}. Stream may be closed by another thread (abort)
+ * while writing: deflater is then released only when not in use, writing failing with an
+ * IOException.
  */
 public class CompressOutputStream extends OutputStream {
   private static final int MIN_COMPRESSION_SIZE = 1536; // TCP-IP single packet
+  private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
   private final OutputStream out;
   private final MutableByte sequence;
   private final byte[] header = new byte[7];
-  private byte[] longPacketBuffer = null;
+  private final Deflater deflater = new Deflater();
+  private final ReentrantLock deflaterLock = new ReentrantLock();
+  private boolean closed;
+  private byte[] compressBuffer = new byte[8192];
+  private byte[] longPacketBuffer = new byte[0];
+  private int longPacketLength = 0;
 
   /**
    * Constructor.
@@ -58,23 +70,23 @@ public class CompressOutputStream extends OutputStream {
    */
   @Override
   public void write(byte[] b, int off, int len) throws IOException {
-    if (len + ((longPacketBuffer != null) ? longPacketBuffer.length : 0) < MIN_COMPRESSION_SIZE) {
+    if (len + longPacketLength < MIN_COMPRESSION_SIZE) {
       // *******************************************************************************
       // small packet, no compression
       // *******************************************************************************
 
-      if (longPacketBuffer != null) {
-        header[0] = (byte) (len + longPacketBuffer.length);
-        header[1] = (byte) ((len + longPacketBuffer.length) >>> 8);
+      if (longPacketLength > 0) {
+        header[0] = (byte) (len + longPacketLength);
+        header[1] = (byte) ((len + longPacketLength) >>> 8);
         header[2] = 0;
         header[3] = sequence.incrementAndGet();
         header[4] = 0;
         header[5] = 0;
         header[6] = 0;
         out.write(header, 0, 7);
-        out.write(longPacketBuffer, 0, longPacketBuffer.length);
+        out.write(longPacketBuffer, 0, longPacketLength);
         out.write(b, off, len);
-        longPacketBuffer = null;
+        longPacketLength = 0;
         return;
       }
 
@@ -93,50 +105,78 @@ public class CompressOutputStream extends OutputStream {
       // compressing packet
       // *******************************************************************************
       int sent = 0;
-      try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-        try (DeflaterOutputStream deflater = new DeflaterOutputStream(baos)) {
-
-          /**
-           * For multi packet, len will be 0x00ffffff + 4 bytes for header. but compression can only
-           * compress up to 0x00ffffff bytes (header initial length size cannot be > 3 bytes) so,
-           * for this specific case, a buffer will save remaining data
-           */
-          if (longPacketBuffer != null) {
-            deflater.write(longPacketBuffer, 0, longPacketBuffer.length);
-            sent = longPacketBuffer.length;
-            longPacketBuffer = null;
+      int compressLen = 0;
+      deflaterLock.lock();
+      try {
+        if (closed) throw new IOException("Stream closed");
+        deflater.reset();
+
+        /*
+         * For multi packet, len will be 0x00ffffff + 4 bytes for header. but compression can only
+         * compress up to 0x00ffffff bytes (header initial length size cannot be > 3 bytes) so,
+         * for this specific case, a buffer will save remaining data
+         */
+        if (longPacketLength > 0) {
+          deflater.setInput(longPacketBuffer, 0, longPacketLength);
+          while (!deflater.needsInput()) {
+            compressLen = deflate(compressLen);
           }
-          if (len + sent > 0x00ffffff) {
-            int remaining = len + sent - 0x00ffffff;
-            longPacketBuffer = new byte[remaining];
-            System.arraycopy(b, off + 0x00ffffff - sent, longPacketBuffer, 0, remaining);
-          }
-
-          int bufLenSent = Math.min(0x00ffffff - sent, len);
-          deflater.write(b, off, bufLenSent);
-          sent += bufLenSent;
-          deflater.finish();
+          sent = longPacketLength;
+          longPacketLength = 0;
+        }
+        if (len + sent > 0x00ffffff) {
+          int remaining = len + sent - 0x00ffffff;
+          if (longPacketBuffer.length < remaining) longPacketBuffer = new byte[remaining];
+          System.arraycopy(b, off + 0x00ffffff - sent, longPacketBuffer, 0, remaining);
+          longPacketLength = remaining;
         }
 
-        byte[] compressedBytes = baos.toByteArray();
+        int bufLenSent = Math.min(0x00ffffff - sent, len);
+        deflater.setInput(b, off, bufLenSent);
+        deflater.finish();
+        while (!deflater.finished()) {
+          compressLen = deflate(compressLen);
+        }
+        sent += bufLenSent;
+      } finally {
+        deflaterLock.unlock();
+      }
 
-        int compressLen = compressedBytes.length;
+      header[0] = (byte) compressLen;
+      header[1] = (byte) (compressLen >>> 8);
+      header[2] = (byte) (compressLen >>> 16);
+      header[3] = sequence.incrementAndGet();
+      header[4] = (byte) sent;
+      header[5] = (byte) (sent >>> 8);
+      header[6] = (byte) (sent >>> 16);
 
-        header[0] = (byte) compressLen;
-        header[1] = (byte) (compressLen >>> 8);
-        header[2] = (byte) (compressLen >>> 16);
-        header[3] = sequence.incrementAndGet();
-        header[4] = (byte) sent;
-        header[5] = (byte) (sent >>> 8);
-        header[6] = (byte) (sent >>> 16);
+      out.write(header, 0, 7);
+      out.write(compressBuffer, 0, compressLen);
+      out.flush();
 
-        out.write(header, 0, 7);
-        out.write(compressedBytes, 0, compressLen);
-        out.flush();
+      if (compressBuffer.length > MAX_RETAINED_BUFFER_SIZE) {
+        compressBuffer = new byte[MAX_RETAINED_BUFFER_SIZE];
+      }
+      if (longPacketLength == 0 && longPacketBuffer.length > MAX_RETAINED_BUFFER_SIZE) {
+        longPacketBuffer = new byte[0];
       }
     }
   }
 
+  /**
+   * Compress pending deflater input in compression buffer, growing buffer if full.
+   *
+   * @param compressLen current compressed data length
+   * @return new compressed data length
+   */
+  private int deflate(int compressLen) {
+    if (compressLen == compressBuffer.length) {
+      compressBuffer = Arrays.copyOf(compressBuffer, compressBuffer.length * 2);
+    }
+    return compressLen
+        + deflater.deflate(compressBuffer, compressLen, compressBuffer.length - compressLen);
+  }
+
   /**
    * Flushes this output stream and forces any buffered output bytes to be written out. The general
    * contract of <code>flush</code> is that calling it is an indication that, if any bytes
@@ -154,10 +194,10 @@ public class CompressOutputStream extends OutputStream {
    */
   @Override
   public void flush() throws IOException {
-    if (longPacketBuffer != null) {
-      byte[] b = longPacketBuffer;
-      longPacketBuffer = null;
-      write(b, 0, b.length);
+    if (longPacketLength > 0) {
+      int len = longPacketLength;
+      longPacketLength = 0;
+      write(longPacketBuffer, 0, len);
     }
     out.flush();
     sequence.set((byte) -1);
@@ -174,7 +214,19 @@ public class CompressOutputStream extends OutputStream {
    */
   @Override
   public void close() throws IOException {
-    out.close();
+    try {
+      out.close();
+    } finally {
+      deflaterLock.lock();
+      try {
+        if (!closed) {
+          closed = true;
+          deflater.end();
+        }
+      } finally {
+        deflaterLock.unlock();
+      }
+    }
   }
 
   /**
@@ -0,0 +1,53 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.client.socket.impl;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of direct buffers used by NIO channel streams, shared by all connections. Direct buffer
+ * allocation being costly, buffers of closed connections are kept for new connections, up to {@link
+ * #MAX_POOLED_BUFFERS} buffers.
+ */
+final class DirectBufferPool {
+
+  /** size of pooled buffers */
+  static final int BUFFER_SIZE = 16384;
+
+  private static final int MAX_POOLED_BUFFERS = 256;
+  private static final ConcurrentLinkedQueue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+  private static final AtomicInteger pooled = new AtomicInteger();
+
+  private DirectBufferPool() {}
+
+  /**
+   * Get a cleared buffer from pool, or a new one if pool is empty.
+   *
+   * @return direct buffer
+   */
+  static ByteBuffer acquire() {
+    ByteBuffer buffer = POOL.poll();
+    if (buffer == null) return ByteBuffer.allocateDirect(BUFFER_SIZE);
+    pooled.decrementAndGet();
+    ((Buffer) buffer).clear();
+    return buffer;
+  }
+
+  /**
+   * Give back a buffer to pool. Buffer must not be used anymore by caller.
+   *
+   * @param buffer direct buffer
+   */
+  static void release(ByteBuffer buffer) {
+    if (pooled.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+      POOL.offer(buffer);
+    } else {
+      pooled.decrementAndGet();
+    }
+  }
+}
@@ -13,6 +13,7 @@ import org.mariadb.jdbc.client.ReadableByteBuf;
 import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
 import org.mariadb.jdbc.client.socket.Reader;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.RowStore;
 import org.mariadb.jdbc.util.log.Logger;
 import org.mariadb.jdbc.util.log.LoggerHelper;
 import org.mariadb.jdbc.util.log.Loggers;
@@ -52,6 +53,11 @@ public class PacketReader implements Reader {
     return readBuf;
   }
 
+  public ReadableByteBuf readableBufFromArray(byte[] buf, int offset, int length) {
+    readBuf.buf(buf, offset + length, offset);
+    return readBuf;
+  }
+
   public ReadableByteBuf readReusablePacket() throws IOException {
     return readReusablePacket(logger.isTraceEnabled());
   }
@@ -231,6 +237,115 @@ public class PacketReader implements Reader {
     return rawBytes;
   }
 
+  public int readPacket(RowStore rows, boolean traceEnable) throws IOException {
+    // ***************************************************
+    // Read 4 byte header
+    // ***************************************************
+    int remaining = 4;
+    int off = 0;
+    do {
+      int count = inputStream.read(header, off, remaining);
+      if (count < 0) {
+        throw new EOFException(
+            "unexpected end of stream, read "
+                + off
+                + " bytes from 4 (socket was closed by server)");
+      }
+      remaining -= count;
+      off += count;
+    } while (remaining > 0);
+
+    int lastPacketLength =
+        (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+
+    // reserve row space
+    int row = rows.reserve(lastPacketLength);
+    byte[] rawBytes = rows.buf(row);
+    int rowOffset = rows.offset(row);
+
+    // ***************************************************
+    // Read content
+    // ***************************************************
+    remaining = lastPacketLength;
+    off = rowOffset;
+    do {
+      int count = inputStream.read(rawBytes, off, remaining);
+      if (count < 0) {
+        throw new EOFException(
+            "unexpected end of stream, read "
+                + (lastPacketLength - remaining)
+                + " bytes from "
+                + lastPacketLength
+                + " (socket was closed by server)");
+      }
+      remaining -= count;
+      off += count;
+    } while (remaining > 0);
+
+    if (traceEnable) {
+      logger.trace(
+          "read: {}\n{}",
+          serverThreadLog,
+          LoggerHelper.hex(header, rawBytes, rowOffset, lastPacketLength, maxQuerySizeToLog));
+    }
+
+    // ***************************************************
+    // In case content length is big, content will be separate in many 16Mb packets
+    // ***************************************************
+    if (lastPacketLength == MAX_PACKET_SIZE) {
+      int packetLength;
+      do {
+        remaining = 4;
+        off = 0;
+        do {
+          int count = inputStream.read(header, off, remaining);
+          if (count < 0) {
+            throw new EOFException("unexpected end of stream, read " + off + " bytes from 4");
+          }
+          remaining -= count;
+          off += count;
+        } while (remaining > 0);
+
+        packetLength = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+
+        int currentbufLength = rows.length(row);
+        rows.extend(row, packetLength);
+        rawBytes = rows.buf(row);
+        rowOffset = rows.offset(row);
+
+        // ***************************************************
+        // Read content
+        // ***************************************************
+        remaining = packetLength;
+        off = rowOffset + currentbufLength;
+        do {
+          int count = inputStream.read(rawBytes, off, remaining);
+          if (count < 0) {
+            throw new EOFException(
+                "unexpected end of stream, read "
+                    + (packetLength - remaining)
+                    + " bytes from "
+                    + packetLength);
+          }
+          remaining -= count;
+          off += count;
+        } while (remaining > 0);
+
+        if (traceEnable) {
+          logger.trace(
+              "read: {}\n{}",
+              serverThreadLog,
+              LoggerHelper.hex(
+                  header, rawBytes, rowOffset + currentbufLength, packetLength, maxQuerySizeToLog));
+        }
+
+        lastPacketLength += packetLength;
+      } while (packetLength == MAX_PACKET_SIZE);
+    }
+
+    return row;
+  }
+
   public void skipPacket() throws IOException {
     if (logger.isTraceEnabled()) {
       readReusablePacket(logger.isTraceEnabled());
@@ -7,15 +7,20 @@ package org.mariadb.jdbc.client.socket.impl;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Permit to buf socket data, reading not only asked bytes, but available number of bytes when
  * possible.
+ *
+ * <p>Stream is guarded by a lock rather than a monitor, so that a virtual thread blocked reading
+ * the socket does not pin its carrier thread.
  */
 public class ReadAheadBufferedStream extends FilterInputStream {
 
   private static final int BUF_SIZE = 16384;
   private final byte[] buf;
+  private final ReentrantLock lock = new ReentrantLock();
   private int end;
   private int pos;
 
@@ -40,12 +45,21 @@ public class ReadAheadBufferedStream extends FilterInputStream {
    * @return number of added bytes
    * @throws IOException if exception during socket reading
    */
-  public synchronized int read(byte[] externalBuf, int off, int len) throws IOException {
+  public int read(byte[] externalBuf, int off, int len) throws IOException {
 
     if (len == 0) {
       return 0;
     }
 
+    lock.lock();
+    try {
+      return readLocked(externalBuf, off, len);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int readLocked(byte[] externalBuf, int off, int len) throws IOException {
     int totalReads = 0;
     while (true) {
 
@@ -104,8 +118,13 @@ public class ReadAheadBufferedStream extends FilterInputStream {
     pos = 0;
   }
 
-  public synchronized int available() throws IOException {
-    return end - pos + super.available();
+  public int available() throws IOException {
+    lock.lock();
+    try {
+      return end - pos + super.available();
+    } finally {
+      lock.unlock();
+    }
   }
 
   public int read() throws IOException {
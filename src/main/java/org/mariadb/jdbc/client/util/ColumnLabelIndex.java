@@ -0,0 +1,96 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.client.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import org.mariadb.jdbc.client.Column;
+
+/**
+ * Immutable column label to index map, case-insensitive, accepting column alias and table qualified
+ * column alias ("table.column"). When many columns have the same label, first column wins.
+ *
+ * <p>Map uses open addressing with a case-insensitive hash, so lookup does not allocate a lower
+ * case label.
+ */
+public final class ColumnLabelIndex {
+
+  private final String[] keys;
+  private final int[] indexes;
+  private final int mask;
+  private final List<String> labels;
+
+  /**
+   * Build label index of columns
+   *
+   * @param columns columns metadata
+   */
+  public ColumnLabelIndex(Column[] columns) {
+    int capacity = Integer.highestOneBit(Math.max(4 * columns.length, 2) - 1) << 1;
+    this.keys = new String[capacity];
+    this.indexes = new int[capacity];
+    this.mask = capacity - 1;
+    this.labels = new ArrayList<>(2 * columns.length);
+    for (int i = 0; i < columns.length; i++) {
+      Column ci = columns[i];
+      String columnAlias = ci.getColumnAlias();
+      if (columnAlias != null) {
+        columnAlias = columnAlias.toLowerCase(Locale.ROOT);
+        String tableAlias = ci.getTableAlias();
+        String tableLabel = tableAlias != null ? tableAlias : ci.getTable();
+        String qualifiedAlias = tableLabel.toLowerCase(Locale.ROOT) + "." + columnAlias;
+        boolean aliasAdded = putIfAbsent(columnAlias, i + 1);
+        if (putIfAbsent(qualifiedAlias, i + 1)) labels.add(qualifiedAlias);
+        if (aliasAdded) labels.add(columnAlias);
+      }
+    }
+  }
+
+  private static int hash(String label) {
+    int h = 0;
+    for (int i = 0; i < label.length(); i++) {
+      h = 31 * h + Character.toLowerCase(Character.toUpperCase(label.charAt(i)));
+    }
+    return h ^ (h >>> 16);
+  }
+
+  private boolean putIfAbsent(String label, int index) {
+    int pos = hash(label) & mask;
+    while (keys[pos] != null) {
+      if (keys[pos].equalsIgnoreCase(label)) return false;
+      pos = (pos + 1) & mask;
+    }
+    keys[pos] = label;
+    indexes[pos] = index;
+    return true;
+  }
+
+  /**
+   * Get column index of label
+   *
+   * @param label column label, case-insensitive
+   * @return column index, starting at 1, or -1 if label is unknown
+   */
+  public int get(String label) {
+    int pos = hash(label) & mask;
+    String key;
+    while ((key = keys[pos]) != null) {
+      if (key.equalsIgnoreCase(label)) return indexes[pos];
+      pos = (pos + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Known labels, in column order, table qualified label first
+   *
+   * @return labels
+   */
+  public List<String> labels() {
+    return Collections.unmodifiableList(labels);
+  }
+}
@@ -0,0 +1,140 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.client.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.ReadableByteBuf;
+import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
+import org.mariadb.jdbc.client.socket.Reader;
+
+/**
+ * LRU cache of result-set column definitions, keyed by raw column definition packets.
+ *
+ * <p>Column definition packets are copied in a reusable buffer, so reading metadata identical to a
+ * cached one neither allocates nor decodes columns. Cache is used when reading connection socket,
+ * so always by one thread at a time, and is not synchronized.
+ */
+public final class ColumnMetadataCache {
+
+  private final LinkedHashMap<Key, ColumnDecoder[]> cache;
+  private final Key probe = new Key();
+  private byte[] scratch = new byte[1024];
+
+  /**
+   * Constructor
+   *
+   * @param maxSize maximum number of cached column definitions
+   */
+  public ColumnMetadataCache(int maxSize) {
+    this.cache =
+        new LinkedHashMap<Key, ColumnDecoder[]>(16, .75f, true) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, ColumnDecoder[]> eldest) {
+            return size() > maxSize;
+          }
+        };
+  }
+
+  /**
+   * Read column definition packets, returning cached columns if identical definitions have already
+   * been read.
+   *
+   * @param reader packet reader
+   * @param fieldCount number of columns
+   * @param extendedInfo is extended datatype information capability enable
+   * @param traceEnable must trace packets
+   * @return columns
+   * @throws IOException if any socket error occurs
+   */
+  public ColumnDecoder[] read(
+      Reader reader, int fieldCount, boolean extendedInfo, boolean traceEnable) throws IOException {
+    // copy packets, each prefixed with its 3 bytes length
+    int pos = 0;
+    int hash = fieldCount;
+    for (int i = 0; i < fieldCount; i++) {
+      ReadableByteBuf buf = reader.readReusablePacket(traceEnable);
+      int length = buf.readableBytes();
+      if (pos + length + 3 > scratch.length) {
+        scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, pos + length + 3));
+      }
+      scratch[pos++] = (byte) length;
+      scratch[pos++] = (byte) (length >>> 8);
+      scratch[pos++] = (byte) (length >>> 16);
+      System.arraycopy(buf.buf(), buf.pos(), scratch, pos, length);
+      pos += length;
+    }
+    for (int i = 0; i < pos; i++) {
+      hash = 31 * hash + scratch[i];
+    }
+
+    probe.set(scratch, pos, hash);
+    ColumnDecoder[] columns = cache.get(probe);
+    probe.set(null, 0, 0);
+    if (columns != null) return columns;
+
+    // decode columns
+    byte[] data = Arrays.copyOf(scratch, pos);
+    columns = new ColumnDecoder[fieldCount];
+    pos = 0;
+    for (int i = 0; i < fieldCount; i++) {
+      int length =
+          (data[pos] & 0xff) + ((data[pos + 1] & 0xff) << 8) + ((data[pos + 2] & 0xff) << 16);
+      pos += 3;
+      columns[i] =
+          ColumnDecoder.decode(
+              new StandardReadableByteBuf(Arrays.copyOfRange(data, pos, pos + length)),
+              extendedInfo);
+      pos += length;
+    }
+    Key key = new Key();
+    key.set(data, data.length, hash);
+    cache.put(key, columns);
+    return columns;
+  }
+
+  /**
+   * Number of cached column definitions
+   *
+   * @return cache size
+   */
+  public int size() {
+    return cache.size();
+  }
+
+  private static final class Key {
+    private byte[] data;
+    private int length;
+    private int hash;
+
+    private void set(byte[] data, int length, int hash) {
+      this.data = data;
+      this.length = length;
+      this.hash = hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      Key other = (Key) o;
+      if (hash != other.hash || length != other.length) return false;
+      for (int i = 0; i < length; i++) {
+        if (data[i] != other.data[i]) return false;
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -77,4 +77,13 @@ public interface Parameter {
    * @return null if not available.
    */
   String bestEffortStringValue(Context context);
+
+  /**
+   * Approximate memory size of parameter value, used to bound batch memory usage
+   *
+   * @return approximate size in bytes
+   */
+  default long approximateSize() {
+    return 16;
+  }
 }
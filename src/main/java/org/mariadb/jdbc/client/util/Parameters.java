@@ -4,7 +4,19 @@
 
 package org.mariadb.jdbc.client.util;
 
-/** Parameters list */
+import java.io.IOException;
+import java.sql.SQLException;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.socket.Writer;
+import org.mariadb.jdbc.codec.NonNullParameter;
+import org.mariadb.jdbc.plugin.codec.*;
+
+/**
+ * Parameters list.
+ *
+ * <p>Primitive setters and index based encoding methods permit implementations to store primitive
+ * values without wrapping them in a {@link Parameter} object.
+ */
 public interface Parameters {
 
   /**
@@ -31,6 +43,132 @@ public interface Parameters {
    */
   void set(int index, Parameter element);
 
+  /**
+   * Set boolean parameter at index
+   *
+   * @param index index
+   * @param value value
+   */
+  default void setBoolean(int index, boolean value) {
+    set(index, new NonNullParameter<>(BooleanCodec.INSTANCE, value));
+  }
+
+  /**
+   * Set byte parameter at index
+   *
+   * @param index index
+   * @param value value
+   */
+  default void setByte(int index, byte value) {
+    set(index, new NonNullParameter<>(ByteCodec.INSTANCE, value));
+  }
+
+  /**
+   * Set short parameter at index
+   *
+   * @param index index
+   * @param value value
+   */
+  default void setShort(int index, short value) {
+    set(index, new NonNullParameter<>(ShortCodec.INSTANCE, value));
+  }
+
+  /**
+   * Set int parameter at index
+   *
+   * @param index index
+   * @param value value
+   */
+  default void setInt(int index, int value) {
+    set(index, new NonNullParameter<>(IntCodec.INSTANCE, value));
+  }
+
+  /**
+   * Set long parameter at index
+   *
+   * @param index index
+   * @param value value
+   */
+  default void setLong(int index, long value) {
+    set(index, new NonNullParameter<>(LongCodec.INSTANCE, value));
+  }
+
+  /**
+   * Set float parameter at index
+   *
+   * @param index index
+   * @param value value
+   */
+  default void setFloat(int index, float value) {
+    set(index, new NonNullParameter<>(FloatCodec.INSTANCE, value));
+  }
+
+  /**
+   * Set double parameter at index
+   *
+   * @param index index
+   * @param value value
+   */
+  default void setDouble(int index, double value) {
+    set(index, new NonNullParameter<>(DoubleCodec.INSTANCE, value));
+  }
+
+  /**
+   * is parameter at index null
+   *
+   * @param index index
+   * @return is null
+   */
+  default boolean isNull(int index) {
+    return get(index).isNull();
+  }
+
+  /**
+   * Can parameter at index be encoded in binary long format
+   *
+   * @param index index
+   * @return can parameter be encoded in binary long format
+   */
+  default boolean canEncodeLongData(int index) {
+    return get(index).canEncodeLongData();
+  }
+
+  /**
+   * binary encoding type of parameter at index
+   *
+   * @param index index
+   * @return binary encoding type
+   */
+  default int getBinaryEncodeType(int index) {
+    return get(index).getBinaryEncodeType();
+  }
+
+  /**
+   * Encode parameter at index in text format
+   *
+   * @param index index
+   * @param encoder packet writer
+   * @param context connection context
+   * @throws IOException if socket error occurs
+   * @throws SQLException if other kind of error occurs
+   */
+  default void encodeText(int index, Writer encoder, Context context)
+      throws IOException, SQLException {
+    get(index).encodeText(encoder, context);
+  }
+
+  /**
+   * Encode parameter at index in binary format
+   *
+   * @param index index
+   * @param encoder packet writer
+   * @throws IOException if socket error occurs
+   * @throws SQLException if other kind of error occurs
+   */
+  default void encodeBinary(int index, Writer encoder) throws IOException, SQLException {
+    get(index).encodeBinary(encoder);
+  }
+
   /**
    * list size
    *
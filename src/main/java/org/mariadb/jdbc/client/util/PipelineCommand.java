@@ -0,0 +1,87 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.client.util;
+
+import java.sql.SQLException;
+import java.util.List;
+import org.mariadb.jdbc.Statement;
+import org.mariadb.jdbc.client.Completion;
+import org.mariadb.jdbc.message.ClientMessage;
+
+/**
+ * Command executed in a pipeline, see {@link org.mariadb.jdbc.client.Client#executePipeline(List)}.
+ * Results are always completely read, and set on command, with the error that occurs, if any.
+ */
+public class PipelineCommand {
+
+  private final ClientMessage message;
+  private final Statement stmt;
+  private final long maxRows;
+  private final int resultSetConcurrency;
+  private final int resultSetType;
+  private List<Completion> results;
+  private SQLException error;
+
+  /**
+   * Constructor
+   *
+   * @param message client message
+   * @param stmt statement issuing command
+   * @param maxRows maximum number of rows
+   * @param resultSetConcurrency result-set concurrency
+   * @param resultSetType result-set type
+   */
+  public PipelineCommand(
+      ClientMessage message,
+      Statement stmt,
+      long maxRows,
+      int resultSetConcurrency,
+      int resultSetType) {
+    this.message = message;
+    this.stmt = stmt;
+    this.maxRows = maxRows;
+    this.resultSetConcurrency = resultSetConcurrency;
+    this.resultSetType = resultSetType;
+  }
+
+  public ClientMessage getMessage() {
+    return message;
+  }
+
+  public Statement getStmt() {
+    return stmt;
+  }
+
+  public long getMaxRows() {
+    return maxRows;
+  }
+
+  public int getResultSetConcurrency() {
+    return resultSetConcurrency;
+  }
+
+  public int getResultSetType() {
+    return resultSetType;
+  }
+
+  public List<Completion> getResults() {
+    return results;
+  }
+
+  public SQLException getError() {
+    return error;
+  }
+
+  /**
+   * Set command results
+   *
+   * @param results command results
+   * @param error error that occurs, if any
+   */
+  public void setResults(List<Completion> results, SQLException error) {
+    this.results = results;
+    this.error = error;
+  }
+}
@@ -0,0 +1,239 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.client.util;
+
+import java.util.Arrays;
+
+/**
+ * Result-set row storage.
+ *
+ * <p>Rows are appended in a few large contiguous slabs, each row being indexed by its array, offset
+ * and length, in order to avoid allocating one array per row. Slabs are taken from the connection
+ * {@link SlabPool} and given back when storage is released.
+ */
+public final class RowStore {
+
+  /** Slab size */
+  public static final int SLAB_SIZE = 64 * 1024;
+
+  /** rows bigger than this threshold get a dedicated array, to limit slab remaining space loss */
+  private static final int DEDICATED_THRESHOLD = SLAB_SIZE / 4;
+
+  private final SlabPool pool;
+
+  /** slabs owned by this storage */
+  private byte[][] slabs = new byte[4][];
+
+  private int slabCount;
+
+  /** current slab index */
+  private int slabIndex = -1;
+
+  /** current slab */
+  private byte[] slab;
+
+  /** current slab write position */
+  private int slabPos;
+
+  private byte[][] rowBufs;
+  private int[] rowOffsets;
+  private int[] rowLengths;
+  private int size;
+
+  /**
+   * Constructor of row storage filled from socket.
+   *
+   * @param pool connection slab pool
+   * @param initialCapacity initial row capacity
+   */
+  public RowStore(SlabPool pool, int initialCapacity) {
+    this.pool = pool;
+    this.rowBufs = new byte[initialCapacity][];
+    this.rowOffsets = new int[initialCapacity];
+    this.rowLengths = new int[initialCapacity];
+  }
+
+  /**
+   * Constructor of row storage for already built rows.
+   *
+   * @param rows rows
+   */
+  public RowStore(byte[][] rows) {
+    this(null, Math.max(rows.length, 1));
+    for (byte[] row : rows) add(row);
+  }
+
+  /**
+   * Number of rows
+   *
+   * @return number of rows
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Array containing row
+   *
+   * @param index row index
+   * @return row array
+   */
+  public byte[] buf(int index) {
+    return rowBufs[index];
+  }
+
+  /**
+   * Row offset in array
+   *
+   * @param index row index
+   * @return row offset
+   */
+  public int offset(int index) {
+    return rowOffsets[index];
+  }
+
+  /**
+   * Row length
+   *
+   * @param index row index
+   * @return row length
+   */
+  public int length(int index) {
+    return rowLengths[index];
+  }
+
+  /**
+   * Reserve space for a new row. Row data must then be written in {@link #buf(int)} array from
+   * {@link #offset(int)} position.
+   *
+   * @param length row length
+   * @return new row index
+   */
+  public int reserve(int length) {
+    ensureCapacity();
+    if (length > DEDICATED_THRESHOLD) {
+      rowBufs[size] = new byte[length];
+      rowOffsets[size] = 0;
+    } else {
+      if (slab == null || slabPos + length > slab.length) nextSlab();
+      rowBufs[size] = slab;
+      rowOffsets[size] = slabPos;
+      slabPos += length;
+    }
+    rowLengths[size] = length;
+    return size++;
+  }
+
+  /**
+   * Extend row length, keeping existing data. Used when a row is sent in many packets.
+   *
+   * @param index row index
+   * @param additional additional length
+   */
+  public void extend(int index, int additional) {
+    int length = rowLengths[index];
+    byte[] newBuf = new byte[length + additional];
+    System.arraycopy(rowBufs[index], rowOffsets[index], newBuf, 0, length);
+    rowBufs[index] = newBuf;
+    rowOffsets[index] = 0;
+    rowLengths[index] = length + additional;
+  }
+
+  /** Remove last row, recovering its slab space when possible. */
+  public void removeLast() {
+    size--;
+    if (rowBufs[size] == slab && rowOffsets[size] + rowLengths[size] == slabPos) {
+      slabPos = rowOffsets[size];
+    }
+    rowBufs[size] = null;
+  }
+
+  /**
+   * Add an already built row.
+   *
+   * @param row row
+   */
+  public void add(byte[] row) {
+    ensureCapacity();
+    set(size++, row);
+  }
+
+  /**
+   * Replace a row.
+   *
+   * @param index row index
+   * @param row new row
+   */
+  public void set(int index, byte[] row) {
+    rowBufs[index] = row;
+    rowOffsets[index] = 0;
+    rowLengths[index] = row == null ? 0 : row.length;
+  }
+
+  /**
+   * Remove a row.
+   *
+   * @param index row index
+   */
+  public void remove(int index) {
+    int moved = size - 1 - index;
+    System.arraycopy(rowBufs, index + 1, rowBufs, index, moved);
+    System.arraycopy(rowOffsets, index + 1, rowOffsets, index, moved);
+    System.arraycopy(rowLengths, index + 1, rowLengths, index, moved);
+    rowBufs[--size] = null;
+  }
+
+  /**
+   * Copy of row data, independent of slab reuse.
+   *
+   * @param index row index
+   * @return row copy
+   */
+  public byte[] copy(int index) {
+    return Arrays.copyOfRange(
+        rowBufs[index], rowOffsets[index], rowOffsets[index] + rowLengths[index]);
+  }
+
+  /**
+   * Remove all rows, keeping owned slabs. Next rows will overwrite slabs in the same order, so a
+   * forward-only streaming result-set reuses its slabs as a ring buffer, without any allocation
+   * once the first fetch is done.
+   */
+  public void clear() {
+    Arrays.fill(rowBufs, 0, size, null);
+    size = 0;
+    slabIndex = -1;
+    slab = null;
+    slabPos = 0;
+  }
+
+  /** Remove all rows, giving back slabs to connection pool. */
+  public void release() {
+    clear();
+    for (int i = 0; i < slabCount; i++) {
+      if (pool != null) pool.release(slabs[i]);
+      slabs[i] = null;
+    }
+    slabCount = 0;
+  }
+
+  private void nextSlab() {
+    if (++slabIndex == slabCount) {
+      if (slabCount == slabs.length) slabs = Arrays.copyOf(slabs, slabCount * 2);
+      slabs[slabCount++] = pool != null ? pool.acquire() : new byte[SLAB_SIZE];
+    }
+    slab = slabs[slabIndex];
+    slabPos = 0;
+  }
+
+  private void ensureCapacity() {
+    if (size == rowBufs.length) {
+      int newCapacity = rowBufs.length + (rowBufs.length >> 1) + 1;
+      rowBufs = Arrays.copyOf(rowBufs, newCapacity);
+      rowOffsets = Arrays.copyOf(rowOffsets, newCapacity);
+      rowLengths = Arrays.copyOf(rowLengths, newCapacity);
+    }
+  }
+}
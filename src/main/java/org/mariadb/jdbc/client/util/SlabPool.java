@@ -0,0 +1,47 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.client.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded pool of row storage slabs, shared by all result-sets of a connection.
+ *
+ * <p>Result-set can be closed from another thread than the one reading the connection, so pool is
+ * lock-free.
+ */
+public final class SlabPool {
+
+  /** Maximum number of idle slabs kept by a connection */
+  private static final int MAX_POOLED_SLABS = 4;
+
+  private final AtomicReferenceArray<byte[]> slabs = new AtomicReferenceArray<>(MAX_POOLED_SLABS);
+
+  /**
+   * Get a slab, reusing an idle one if any.
+   *
+   * @return slab of {@link RowStore#SLAB_SIZE} bytes
+   */
+  public byte[] acquire() {
+    for (int i = 0; i < MAX_POOLED_SLABS; i++) {
+      if (slabs.get(i) != null) {
+        byte[] slab = slabs.getAndSet(i, null);
+        if (slab != null) return slab;
+      }
+    }
+    return new byte[RowStore.SLAB_SIZE];
+  }
+
+  /**
+   * Give back a slab. Slab is discarded if pool is already full.
+   *
+   * @param slab slab no more used
+   */
+  public void release(byte[] slab) {
+    for (int i = 0; i < MAX_POOLED_SLABS; i++) {
+      if (slabs.get(i) == null && slabs.compareAndSet(i, null, slab)) return;
+    }
+  }
+}
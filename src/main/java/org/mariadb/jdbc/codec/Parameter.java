@@ -94,4 +94,11 @@ public class Parameter<T> implements org.mariadb.jdbc.client.util.Parameter {
       return null;
     }
   }
+
+  @Override
+  public long approximateSize() {
+    if (value instanceof byte[]) return 16 + ((byte[]) value).length;
+    if (value instanceof CharSequence) return 40 + ((CharSequence) value).length();
+    return 16;
+  }
 }
@@ -158,7 +158,7 @@ public class ExceptionFactory {
   /**
    * Create a BatchUpdateException, filling successful updates
    *
-   * @param res completion list
+   * @param res completion list, a null completion indicating a failed update
    * @param length expected size
    * @param sqle exception
    * @return BatchUpdateException object
@@ -167,7 +167,7 @@ public class ExceptionFactory {
       List<Completion> res, int length, SQLException sqle) {
     int[] updateCounts = new int[length];
     for (int i = 0; i < length; i++) {
-      if (i < res.size()) {
+      if (i < res.size() && res.get(i) != null) {
         if (res.get(i) instanceof OkPacket) {
           updateCounts[i] = (int) ((OkPacket) res.get(i)).getAffectedRows();
         } else {
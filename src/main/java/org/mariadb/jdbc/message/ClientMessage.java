@@ -209,6 +209,11 @@ public interface ClientMessage {
         boolean skipMeta = canSkipMeta ? buf.readByte() == 0 : false;
         if (canSkipMeta && skipMeta) {
           ci = ((BasePreparedStatement) stmt).getMeta();
+        } else if (context.getColumnMetadataCache() != null) {
+          ci =
+              context
+                  .getColumnMetadataCache()
+                  .read(reader, fieldCount, context.isExtendedInfo(), traceEnable);
         } else {
           // read columns information's
           ci = new ColumnDecoder[fieldCount];
@@ -7,26 +7,33 @@ package org.mariadb.jdbc.message.client;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 import org.mariadb.jdbc.ServerPreparedStatement;
+import org.mariadb.jdbc.Statement;
+import org.mariadb.jdbc.client.Completion;
 import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.socket.Reader;
 import org.mariadb.jdbc.client.socket.Writer;
-import org.mariadb.jdbc.client.util.Parameter;
 import org.mariadb.jdbc.client.util.Parameters;
+import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.export.MaxAllowedPacketException;
 import org.mariadb.jdbc.export.Prepare;
+import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.message.server.PrepareResultPacket;
+import org.mariadb.jdbc.util.ParameterBatch;
 
 /**
  * batch execution. This relies on COM_STMT_BULK_EXECUTE see
  * https://mariadb.com/kb/en/com_stmt_bulk_execute/
  */
 public final class BulkExecutePacket implements RedoableWithPrepareClientMessage {
-  private List<Parameters> batchParameterList;
+  private ParameterBatch batch;
   private final String command;
   private final ServerPreparedStatement prep;
   private Prepare prepareResult;
+  private final List<Integer> rowsPerCommand = new ArrayList<>();
+  private final List<Completion> commandResults = new ArrayList<>();
 
   /**
    * Constructor
@@ -41,18 +48,14 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
       List<Parameters> batchParameterList,
       String command,
       ServerPreparedStatement prep) {
-    this.batchParameterList = batchParameterList;
+    this.batch = ParameterBatch.of(batchParameterList);
     this.prepareResult = prepareResult;
     this.command = command;
     this.prep = prep;
   }
 
   public void saveParameters() {
-    List<Parameters> savedList = new ArrayList<>(batchParameterList.size());
-    for (Parameters parameterList : batchParameterList) {
-      savedList.add(parameterList.clone());
-    }
-    this.batchParameterList = savedList;
+    this.batch = batch.copy();
   }
 
   public int encode(Writer writer, Context context, Prepare newPrepareResult)
@@ -63,15 +66,19 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
             ? newPrepareResult.getStatementId()
             : (this.prepareResult != null ? this.prepareResult.getStatementId() : -1);
 
-    Iterator<Parameters> paramIterator = batchParameterList.iterator();
-    Parameters parameters = paramIterator.next();
-    int parameterCount = parameters.size();
+    rowsPerCommand.clear();
+    commandResults.clear();
+
+    // parameters are encoded directly from batch columns
+    int rowCount = batch.size();
+    int row = 0;
+    int cmdStartRow = 0;
+    int parameterCount = batch.parameterCount(row);
 
-    @SuppressWarnings("rawtypes")
-    Parameter[] parameterHeaderType = new Parameter[parameterCount];
+    int[] parameterHeaderType = new int[parameterCount];
     // set header type
     for (int i = 0; i < parameterCount; i++) {
-      parameterHeaderType[i] = parameters.get(i);
+      parameterHeaderType[i] = batch.getBinaryEncodeType(row, i);
     }
     byte[] lastCmdData = null;
     int bulkPacketNo = 0;
@@ -92,7 +99,7 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
       writer.writeShort((short) 128); // always SEND_TYPES_TO_SERVER
 
       for (int i = 0; i < parameterCount; i++) {
-        writer.writeShort((short) parameterHeaderType[i].getBinaryEncodeType());
+        writer.writeShort((short) parameterHeaderType[i]);
       }
 
       if (lastCmdData != null) {
@@ -103,21 +110,20 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
         writer.writeBytes(lastCmdData);
         writer.mark();
         lastCmdData = null;
-        if (!paramIterator.hasNext()) {
+        if (row + 1 >= rowCount) {
           break;
         }
-        parameters = paramIterator.next();
+        row++;
       }
 
       parameter_loop:
       while (true) {
         for (int i = 0; i < parameterCount; i++) {
-          Parameter param = parameters.get(i);
-          if (param.isNull()) {
+          if (batch.isNull(row, i)) {
             writer.writeByte(0x01); // value is null
           } else {
             writer.writeByte(0x00); // value follow
-            param.encodeBinary(writer);
+            batch.encodeBinary(row, i, writer);
           }
         }
 
@@ -125,13 +131,15 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
           // parameter were too big to fit in a MySQL packet
           // need to finish the packet separately
           writer.flush();
-          if (!paramIterator.hasNext()) {
+          rowsPerCommand.add(row + 1 - cmdStartRow);
+          cmdStartRow = row + 1;
+          if (row + 1 >= rowCount) {
             break main_loop;
           }
-          parameters = paramIterator.next();
+          row++;
           // reset header type
           for (int j = 0; j < parameterCount; j++) {
-            parameterHeaderType[j] = parameters.get(j);
+            parameterHeaderType[j] = batch.getBinaryEncodeType(row, j);
           }
           break;
         }
@@ -142,6 +150,8 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
           writer.flushBufferStopAtMark();
           writer.mark();
           lastCmdData = writer.resetMark();
+          rowsPerCommand.add(row - cmdStartRow);
+          cmdStartRow = row;
           break;
         }
 
@@ -150,24 +160,27 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
         if (writer.bufIsDataAfterMark()) {
           // flush has been done
           lastCmdData = writer.resetMark();
+          rowsPerCommand.add(row - cmdStartRow);
+          cmdStartRow = row;
           break;
         }
 
-        if (!paramIterator.hasNext()) {
+        if (row + 1 >= rowCount) {
           break main_loop;
         }
 
-        parameters = paramIterator.next();
+        row++;
 
         // ensure type has not changed
         for (int i = 0; i < parameterCount; i++) {
-          if (parameterHeaderType[i].getBinaryEncodeType()
-                  != parameters.get(i).getBinaryEncodeType()
-              && !parameters.get(i).isNull()) {
+          if (parameterHeaderType[i] != batch.getBinaryEncodeType(row, i)
+              && !batch.isNull(row, i)) {
             writer.flush();
+            rowsPerCommand.add(row - cmdStartRow);
+            cmdStartRow = row;
             // reset header type
             for (int j = 0; j < parameterCount; j++) {
-              parameterHeaderType[j] = parameters.get(j);
+              parameterHeaderType[j] = batch.getBinaryEncodeType(row, j);
             }
             break parameter_loop;
           }
@@ -176,12 +189,72 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
     }
 
     writer.flush();
+    if (cmdStartRow < rowCount) rowsPerCommand.add(rowCount - cmdStartRow);
 
     return bulkPacketNo;
   }
 
+  /**
+   * Number of rows sent in each command of last encoding.
+   *
+   * @return number of rows by command
+   */
+  public List<Integer> getRowsPerCommand() {
+    return rowsPerCommand;
+  }
+
+  @Override
+  public Completion readPacket(
+      Statement stmt,
+      int fetchSize,
+      long maxRows,
+      int resultSetConcurrency,
+      int resultSetType,
+      boolean closeOnCompletion,
+      Reader reader,
+      Writer writer,
+      Context context,
+      ExceptionFactory exceptionFactory,
+      ReentrantLock lock,
+      boolean traceEnable,
+      ClientMessage message)
+      throws IOException, SQLException {
+    try {
+      Completion completion =
+          RedoableWithPrepareClientMessage.super.readPacket(
+              stmt,
+              fetchSize,
+              maxRows,
+              resultSetConcurrency,
+              resultSetType,
+              closeOnCompletion,
+              reader,
+              writer,
+              context,
+              exceptionFactory,
+              lock,
+              traceEnable,
+              message);
+      commandResults.add(completion);
+      return completion;
+    } catch (SQLException e) {
+      commandResults.add(null);
+      throw e;
+    }
+  }
+
+  /**
+   * Results of commands of last encoding read so far, in command order. A failed command result is
+   * null.
+   *
+   * @return command results
+   */
+  public List<Completion> getCommandResults() {
+    return commandResults;
+  }
+
   public int batchUpdateLength() {
-    return batchParameterList.size();
+    return batch.size();
   }
 
   public String getCommand() {
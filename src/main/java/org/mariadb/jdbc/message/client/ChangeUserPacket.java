@@ -0,0 +1,90 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.message.client;
+
+import static org.mariadb.jdbc.util.constants.Capabilities.*;
+
+import java.io.IOException;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.socket.Writer;
+import org.mariadb.jdbc.message.ClientMessage;
+import org.mariadb.jdbc.plugin.Credential;
+import org.mariadb.jdbc.plugin.authentication.standard.NativePasswordPlugin;
+
+/**
+ * Change user of an authenticated connection. see https://mariadb.com/kb/en/com_change_user/
+ *
+ * <p>Server resets session state, and answers like a handshake response: OK_Packet, ERR_Packet or
+ * authentication switch request.
+ */
+public final class ChangeUserPacket implements ClientMessage {
+
+  private final String username;
+  private final CharSequence password;
+  private final String database;
+  private final String connectionAttributes;
+  private final String host;
+  private final byte exchangeCharset;
+
+  /**
+   * Constructor to encode COM_CHANGE_USER packet
+   *
+   * @param credential new credential
+   * @param conf configuration
+   * @param host current host
+   * @param exchangeCharset connection charset
+   */
+  public ChangeUserPacket(
+      Credential credential, Configuration conf, String host, byte exchangeCharset) {
+    this.username = credential.getUser();
+    this.password = credential.getPassword();
+    this.database = conf.database();
+    this.connectionAttributes = conf.connectionAttributes();
+    this.host = host;
+    this.exchangeCharset = exchangeCharset;
+  }
+
+  @Override
+  public int encode(Writer writer, Context context) throws IOException {
+    // server will ask for an authentication switch if user use another plugin
+    byte[] authData = NativePasswordPlugin.encryptPassword(password, context.getSeed());
+
+    writer.initPacket();
+    writer.writeByte(0x11);
+    writer.writeString(username != null ? username : System.getProperty("user.name"));
+    writer.writeByte(0x00);
+
+    if (context.hasServerCapability(SECURE_CONNECTION)) {
+      writer.writeByte((byte) authData.length);
+      writer.writeBytes(authData);
+    } else {
+      writer.writeBytes(authData);
+      writer.writeByte(0x00);
+    }
+
+    if (database != null) writer.writeString(database);
+    writer.writeByte(0x00);
+
+    writer.writeByte(exchangeCharset);
+    writer.writeByte(0x00);
+
+    if (context.hasServerCapability(PLUGIN_AUTH)) {
+      writer.writeString("mysql_native_password");
+      writer.writeByte(0x00);
+    }
+
+    if (context.hasServerCapability(CONNECT_ATTRS)) {
+      HandshakeResponse.writeConnectAttributes(writer, connectionAttributes, host);
+    }
+    writer.flush();
+    return 1;
+  }
+
+  @Override
+  public String description() {
+    return "COM_CHANGE_USER";
+  }
+}
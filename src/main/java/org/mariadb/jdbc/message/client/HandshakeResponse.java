@@ -84,8 +84,8 @@ public final class HandshakeResponse implements ClientMessage {
     encoder.writeBytes(valBytes);
   }
 
-  private static void writeConnectAttributes(
-      Writer writer, String connectionAttributes, String host) throws IOException {
+  static void writeConnectAttributes(Writer writer, String connectionAttributes, String host)
+      throws IOException {
 
     PacketWriter tmpWriter = new PacketWriter(null, 0, 0, null, null);
     tmpWriter.pos(0);
@@ -0,0 +1,228 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.message.client;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.Statement;
+import org.mariadb.jdbc.client.Completion;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.socket.Reader;
+import org.mariadb.jdbc.client.socket.Writer;
+import org.mariadb.jdbc.client.util.Parameters;
+import org.mariadb.jdbc.export.ExceptionFactory;
+import org.mariadb.jdbc.message.ClientMessage;
+import org.mariadb.jdbc.plugin.codec.ByteArrayCodec;
+import org.mariadb.jdbc.util.ClientParser;
+
+/**
+ * Batch of INSERT ... VALUES (...) commands, rewritten in multi-values INSERT commands using
+ * COM_QUERY see https://mariadb.com/kb/en/com_query/.
+ *
+ * <p>Values tuple is repeated for each parameter set, each command being limited to
+ * max_allowed_packet size (1M when unknown). Number of rows sent in each command is kept in order
+ * to dispatch command results on each row.
+ */
+public final class MultiValuesInsertPacket implements RedoableClientMessage {
+
+  /** command size limit when max_allowed_packet is not known */
+  private static final int DEFAULT_MAX_COMMAND_LENGTH = 1024 * 1024;
+
+  /** maximum command length that can be sent in one packet */
+  private static final int MAX_PACKET_LENGTH = 0x00ffffff;
+
+  private final String preSqlCmd;
+  private final ClientParser parser;
+  private List<Parameters> batchParameterList;
+  private final List<Integer> rowsPerCommand = new ArrayList<>();
+  private final List<Completion> commandResults = new ArrayList<>();
+
+  /**
+   * Constructor
+   *
+   * @param preSqlCmd additional pre command
+   * @param parser command parser result, must be a rewritable INSERT command
+   * @param batchParameterList batch parameter list
+   */
+  public MultiValuesInsertPacket(
+      String preSqlCmd, ClientParser parser, List<Parameters> batchParameterList) {
+    this.preSqlCmd = preSqlCmd;
+    this.parser = parser;
+    this.batchParameterList = batchParameterList;
+  }
+
+  @Override
+  public void ensureReplayable(Context context) throws IOException, SQLException {
+    for (Parameters parameters : batchParameterList) {
+      int parameterCount = parameters.size();
+      for (int i = 0; i < parameterCount; i++) {
+        if (!parameters.isNull(i) && parameters.canEncodeLongData(i)) {
+          byte[] data = parameters.get(i).encodeData();
+          parameters.set(i, new org.mariadb.jdbc.codec.Parameter<>(ByteArrayCodec.INSTANCE, data));
+        }
+      }
+    }
+  }
+
+  public void saveParameters() {
+    List<Parameters> savedList = new ArrayList<>(batchParameterList.size());
+    for (Parameters parameterList : batchParameterList) {
+      savedList.add(parameterList.clone());
+    }
+    this.batchParameterList = savedList;
+  }
+
+  @Override
+  public int encode(Writer writer, Context context) throws IOException, SQLException {
+    rowsPerCommand.clear();
+    commandResults.clear();
+    byte[] query = parser.getQuery();
+    int valuesStart = parser.getValuesStart();
+    int valuesEnd = parser.getValuesEnd();
+    int suffixLength = query.length - valuesEnd;
+    Integer maxAllowedPacket = context.getConf().maxAllowedPacket();
+    int maxCmdLength =
+        Math.min(
+            maxAllowedPacket != null ? maxAllowedPacket : DEFAULT_MAX_COMMAND_LENGTH,
+            MAX_PACKET_LENGTH);
+
+    int rowsInCmd = 0;
+    initCommand(writer);
+    for (Parameters parameters : batchParameterList) {
+      int rowStart = writer.pos();
+      if (rowsInCmd > 0) writer.writeByte(',');
+      writeValues(writer, context, parameters, valuesStart, valuesEnd);
+
+      if (writer.hasFlushed()) {
+        // row was too big to fit in a packet, command ends with this row
+        rowsInCmd++;
+        endCommand(writer, query, valuesEnd, suffixLength, rowsInCmd);
+        rowsInCmd = 0;
+        initCommand(writer);
+        continue;
+      }
+
+      if (rowsInCmd > 0 && writer.pos() - 4 + suffixLength >= maxCmdLength) {
+        // command would exceed max size: send command without current row
+        byte[] row = Arrays.copyOfRange(writer.buf(), rowStart + 1, writer.pos());
+        writer.pos(rowStart);
+        endCommand(writer, query, valuesEnd, suffixLength, rowsInCmd);
+        rowsInCmd = 0;
+        initCommand(writer);
+        writer.writeBytes(row);
+      }
+      rowsInCmd++;
+    }
+
+    if (rowsInCmd > 0) {
+      endCommand(writer, query, valuesEnd, suffixLength, rowsInCmd);
+    } else {
+      writer.initPacket();
+    }
+    return rowsPerCommand.size();
+  }
+
+  private void initCommand(Writer writer) throws IOException {
+    writer.initPacket();
+    writer.writeByte(0x03);
+    if (preSqlCmd != null) writer.writeAscii(preSqlCmd);
+    writer.writeBytes(parser.getQuery(), 0, parser.getValuesStart());
+  }
+
+  private void writeValues(
+      Writer writer, Context context, Parameters parameters, int valuesStart, int valuesEnd)
+      throws IOException, SQLException {
+    byte[] query = parser.getQuery();
+    int pos = valuesStart;
+    int paramCount = parser.getParamPositions().size();
+    for (int i = 0; i < paramCount; i++) {
+      int paramPos = parser.getParamPositions().get(i);
+      writer.writeBytes(query, pos, paramPos - pos);
+      pos = paramPos + 1;
+      parameters.encodeText(i, writer, context);
+    }
+    writer.writeBytes(query, pos, valuesEnd - pos);
+  }
+
+  private void endCommand(
+      Writer writer, byte[] query, int valuesEnd, int suffixLength, int rowsInCmd)
+      throws IOException {
+    writer.writeBytes(query, valuesEnd, suffixLength);
+    writer.flush();
+    rowsPerCommand.add(rowsInCmd);
+  }
+
+  /**
+   * Number of rows sent in each command of last encoding.
+   *
+   * @return number of rows by command
+   */
+  public List<Integer> getRowsPerCommand() {
+    return rowsPerCommand;
+  }
+
+  @Override
+  public Completion readPacket(
+      Statement stmt,
+      int fetchSize,
+      long maxRows,
+      int resultSetConcurrency,
+      int resultSetType,
+      boolean closeOnCompletion,
+      Reader reader,
+      Writer writer,
+      Context context,
+      ExceptionFactory exceptionFactory,
+      ReentrantLock lock,
+      boolean traceEnable,
+      ClientMessage message)
+      throws IOException, SQLException {
+    try {
+      Completion completion =
+          RedoableClientMessage.super.readPacket(
+              stmt,
+              fetchSize,
+              maxRows,
+              resultSetConcurrency,
+              resultSetType,
+              closeOnCompletion,
+              reader,
+              writer,
+              context,
+              exceptionFactory,
+              lock,
+              traceEnable,
+              message);
+      commandResults.add(completion);
+      return completion;
+    } catch (SQLException e) {
+      commandResults.add(null);
+      throw e;
+    }
+  }
+
+  /**
+   * Results of commands of last encoding read so far, in command order. A failed command result is
+   * null.
+   *
+   * @return command results
+   */
+  public List<Completion> getCommandResults() {
+    return commandResults;
+  }
+
+  public int batchUpdateLength() {
+    return batchParameterList.size();
+  }
+
+  @Override
+  public String description() {
+    return parser.getSql();
+  }
+}
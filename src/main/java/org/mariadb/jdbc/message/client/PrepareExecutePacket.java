@@ -16,7 +16,6 @@ import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.ReadableByteBuf;
 import org.mariadb.jdbc.client.socket.Reader;
 import org.mariadb.jdbc.client.socket.Writer;
-import org.mariadb.jdbc.client.util.Parameter;
 import org.mariadb.jdbc.client.util.Parameters;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.export.Prepare;
@@ -73,9 +72,8 @@ public final class PrepareExecutePacket implements RedoableWithPrepareClientMess
 
     // send long data value in separate packet
     for (int i = 0; i < parameterCount; i++) {
-      Parameter p = parameters.get(i);
-      if (!p.isNull() && p.canEncodeLongData()) {
-        new LongDataPacket(statementId, p, i).encode(writer, context);
+      if (!parameters.isNull(i) && parameters.canEncodeLongData(i)) {
+        new LongDataPacket(statementId, parameters.get(i), i).encode(writer, context);
       }
     }
 
@@ -98,10 +96,9 @@ public final class PrepareExecutePacket implements RedoableWithPrepareClientMess
 
       // Store types of parameters in first package that is sent to the server.
       for (int i = 0; i < parameterCount; i++) {
-        Parameter p = parameters.get(i);
-        writer.writeByte(p.getBinaryEncodeType());
+        writer.writeByte(parameters.getBinaryEncodeType(i));
         writer.writeByte(0);
-        if (p.isNull()) {
+        if (parameters.isNull(i)) {
           nullBitsBuffer[i / 8] |= (1 << (i % 8));
         }
       }
@@ -111,9 +108,8 @@ public final class PrepareExecutePacket implements RedoableWithPrepareClientMess
 
       // send not null parameter, not long data
       for (int i = 0; i < parameterCount; i++) {
-        Parameter p = parameters.get(i);
-        if (!p.isNull() && !p.canEncodeLongData()) {
-          p.encodeBinary(writer);
+        if (!parameters.isNull(i) && !parameters.canEncodeLongData(i)) {
+          parameters.encodeBinary(i, writer);
         }
       }
     }
@@ -206,10 +202,10 @@ public final class PrepareExecutePacket implements RedoableWithPrepareClientMess
   public void ensureReplayable(Context context) throws IOException, SQLException {
     int parameterCount = parameters.size();
     for (int i = 0; i < parameterCount; i++) {
-      Parameter p = parameters.get(i);
-      if (!p.isNull() && p.canEncodeLongData()) {
+      if (!parameters.isNull(i) && parameters.canEncodeLongData(i)) {
+        byte[] data = parameters.get(i).encodeData();
         this.parameters.set(
-            i, new org.mariadb.jdbc.codec.Parameter<>(ByteArrayCodec.INSTANCE, p.encodeData()));
+            i, new org.mariadb.jdbc.codec.Parameter<>(ByteArrayCodec.INSTANCE, data));
       }
     }
   }
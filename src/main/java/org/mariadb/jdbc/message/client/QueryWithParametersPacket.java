@@ -9,7 +9,6 @@ import java.io.InputStream;
 import java.sql.SQLException;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.socket.Writer;
-import org.mariadb.jdbc.client.util.Parameter;
 import org.mariadb.jdbc.client.util.Parameters;
 import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.plugin.codec.ByteArrayCodec;
@@ -49,10 +48,10 @@ public final class QueryWithParametersPacket implements RedoableClientMessage {
   public void ensureReplayable(Context context) throws IOException, SQLException {
     int parameterCount = parameters.size();
     for (int i = 0; i < parameterCount; i++) {
-      Parameter p = parameters.get(i);
-      if (!p.isNull() && p.canEncodeLongData()) {
+      if (!parameters.isNull(i) && parameters.canEncodeLongData(i)) {
+        byte[] data = parameters.get(i).encodeData();
         this.parameters.set(
-            i, new org.mariadb.jdbc.codec.Parameter<>(ByteArrayCodec.INSTANCE, p.encodeData()));
+            i, new org.mariadb.jdbc.codec.Parameter<>(ByteArrayCodec.INSTANCE, data));
       }
     }
   }
@@ -75,7 +74,7 @@ public final class QueryWithParametersPacket implements RedoableClientMessage {
         paramPos = parser.getParamPositions().get(i);
         encoder.writeBytes(parser.getQuery(), pos, paramPos - pos);
         pos = paramPos + 1;
-        parameters.get(i).encodeText(encoder, context);
+        parameters.encodeText(i, encoder, context);
       }
       encoder.writeBytes(parser.getQuery(), pos, parser.getQuery().length - pos);
     }
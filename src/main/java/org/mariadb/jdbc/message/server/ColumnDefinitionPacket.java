@@ -4,6 +4,7 @@
 
 package org.mariadb.jdbc.message.server;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import org.mariadb.jdbc.client.Column;
 import org.mariadb.jdbc.client.DataType;
@@ -32,8 +33,6 @@ public class ColumnDefinitionPacket implements Column, ServerMessage {
   protected final String extTypeName;
   /** extended type format */
   protected final String extTypeFormat;
-  /** configuration: use alias as name */
-  private boolean useAliasAsName;
 
   /**
    * Column definition constructor
@@ -70,28 +69,60 @@ public class ColumnDefinitionPacket implements Column, ServerMessage {
   }
 
   public String getSchema() {
-    buf.pos(stringPos[0]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[0]);
   }
 
   public String getTableAlias() {
-    buf.pos(stringPos[1]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[1]);
   }
 
   public String getTable() {
-    buf.pos(stringPos[useAliasAsName ? 1 : 2]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[2]);
   }
 
   public String getColumnAlias() {
-    buf.pos(stringPos[3]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[3]);
   }
 
   public String getColumnName() {
-    buf.pos(stringPos[4]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[4]);
+  }
+
+  /**
+   * Read length encoded string at position, without changing buffer position, since column may be
+   * shared (metadata cache) and read concurrently.
+   *
+   * @param index string position in buffer
+   * @return string value
+   */
+  private String readString(int index) {
+    byte[] bytes = buf.buf();
+    int len = bytes[index++] & 0xff;
+    switch (len) {
+      case 252:
+        len = (bytes[index] & 0xff) + ((bytes[index + 1] & 0xff) << 8);
+        index += 2;
+        break;
+      case 253:
+        len =
+            (bytes[index] & 0xff)
+                + ((bytes[index + 1] & 0xff) << 8)
+                + ((bytes[index + 2] & 0xff) << 16);
+        index += 3;
+        break;
+      case 254:
+        // 8 bytes length, only low 4 bytes can be used for a buffer
+        len =
+            (bytes[index] & 0xff)
+                + ((bytes[index + 1] & 0xff) << 8)
+                + ((bytes[index + 2] & 0xff) << 16)
+                + ((bytes[index + 3] & 0xff) << 24);
+        index += 8;
+        break;
+      default:
+        break;
+    }
+    return new String(bytes, index, len, StandardCharsets.UTF_8);
   }
 
   public long getColumnLength() {
@@ -170,8 +201,4 @@ public class ColumnDefinitionPacket implements Column, ServerMessage {
   public int hashCode() {
     return Objects.hash(charset, columnLength, dataType, decimals, flags);
   }
-
-  public void useAliasAsName() {
-    useAliasAsName = true;
-  }
 }
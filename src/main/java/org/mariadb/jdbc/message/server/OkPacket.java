@@ -4,6 +4,7 @@
 
 package org.mariadb.jdbc.message.server;
 
+import org.mariadb.jdbc.TransactionIsolation;
 import org.mariadb.jdbc.client.Completion;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.ReadableByteBuf;
@@ -43,6 +44,12 @@ public class OkPacket implements Completion {
               Integer len = buf.readLength();
               String value = len == null ? null : buf.readString(len);
               logger.debug("System variable change:  {} = {}", variable, value);
+              if ("auto_increment_increment".equals(variable)) {
+                context.setAutoIncrementIncrement(value == null ? null : Integer.valueOf(value));
+              } else if ("tx_isolation".equals(variable)
+                  || "transaction_isolation".equals(variable)) {
+                context.setTransactionIsolationLevel(isolationLevel(value));
+              }
               break;
 
             case StateChange.SESSION_TRACK_SCHEMA:
@@ -61,6 +68,25 @@ public class OkPacket implements Completion {
     }
   }
 
+  private static int isolationLevel(String value) {
+    try {
+      return value == null ? 0 : TransactionIsolation.from(value).getLevel();
+    } catch (IllegalArgumentException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * Constructor of an already parsed result, for results of one command that are split by rows.
+   *
+   * @param affectedRows affected rows
+   * @param lastInsertId last insert id
+   */
+  public OkPacket(long affectedRows, long lastInsertId) {
+    this.affectedRows = affectedRows;
+    this.lastInsertId = lastInsertId;
+  }
+
   /**
    * get affected rows
    *
@@ -29,7 +29,8 @@ public interface Codec<T> {
   String className();
 
   /**
-   * If codec can decode this a server datatype to a java class type
+   * If codec can decode this a server datatype to a java class type. Result must only depend on
+   * column data type and java class, since it is resolved once for each pair.
    *
    * @param column server datatype
    * @param type java return class
@@ -38,7 +39,8 @@ public interface Codec<T> {
   boolean canDecode(ColumnDecoder column, Class<?> type);
 
   /**
-   * Can Codec encode the java object type
+   * Can Codec encode the java object type. Result must only depend on object class, since it is
+   * resolved once for each class.
    *
    * @param value java object type
    * @return true if codec can encode java type
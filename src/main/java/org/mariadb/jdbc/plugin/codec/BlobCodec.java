@@ -13,7 +13,6 @@ import java.sql.SQLDataException;
 import java.sql.SQLException;
 import java.util.Calendar;
 import java.util.EnumSet;
-import org.mariadb.jdbc.MariaDbBlob;
 import org.mariadb.jdbc.client.*;
 import org.mariadb.jdbc.client.socket.Writer;
 import org.mariadb.jdbc.client.util.MutableInt;
@@ -87,8 +86,7 @@ public class BlobCodec implements Codec<Blob> {
       case LONGBLOB:
       case BLOB:
       case GEOMETRY:
-        buf.skip(length.get());
-        return new MariaDbBlob(buf.buf(), buf.pos() - length.get(), length.get());
+        return buf.readBlob(length.get());
 
       default:
         buf.skip(length.get());
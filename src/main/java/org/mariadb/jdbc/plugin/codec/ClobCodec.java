@@ -72,9 +72,10 @@ public class ClobCodec implements Codec<Clob> {
       case STRING:
       case VARCHAR:
       case VARSTRING:
-        Clob clob = new MariaDbClob(buf.buf(), buf.pos(), length.get());
-        buf.skip(length.get());
-        return clob;
+        // copy data, since row buffer may be reused once result-set is closed
+        byte[] arr = new byte[length.get()];
+        buf.readBytes(arr);
+        return new MariaDbClob(arr);
 
       default:
         buf.skip(length.get());
@@ -50,9 +50,10 @@ public class StreamCodec implements Codec<InputStream> {
       case TINYBLOB:
       case MEDIUMBLOB:
       case LONGBLOB:
-        ByteArrayInputStream is = new ByteArrayInputStream(buf.buf(), buf.pos(), length.get());
-        buf.skip(length.get());
-        return is;
+        // copy data, since row buffer is reused by next fetch or once result-set is closed
+        byte[] arr = new byte[length.get()];
+        buf.readBytes(arr);
+        return new ByteArrayInputStream(arr);
       default:
         buf.skip(length.get());
         throw new SQLDataException(
@@ -72,9 +73,10 @@ public class StreamCodec implements Codec<InputStream> {
       case TINYBLOB:
       case MEDIUMBLOB:
       case LONGBLOB:
-        ByteArrayInputStream is = new ByteArrayInputStream(buf.buf(), buf.pos(), length.get());
-        buf.skip(length.get());
-        return is;
+        // copy data, since row buffer is reused by next fetch or once result-set is closed
+        byte[] arr = new byte[length.get()];
+        buf.readBytes(arr);
+        return new ByteArrayInputStream(arr);
       default:
         buf.skip(length.get());
         throw new SQLDataException(
@@ -0,0 +1,260 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.pool;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent container of pool connections, avoiding a single lock shared by all borrowers.
+ *
+ * <p>Borrowing a connection first tries the last connection the current thread has released, then
+ * any idle connection of the shared list (lock-free), and finally waits for a connection handed off
+ * by a releasing thread. Connection ownership is decided by a compare-and-set on connection state.
+ *
+ * @param <T> entry type
+ */
+public final class ConnectionBag<T extends ConnectionBag.Entry> {
+
+  /** Entry is idle */
+  public static final int STATE_NOT_IN_USE = 0;
+
+  /** Entry is borrowed */
+  public static final int STATE_IN_USE = 1;
+
+  /** Entry is removed from bag */
+  public static final int STATE_REMOVED = -1;
+
+  /** Idle entry is reserved by housekeeping, and cannot be borrowed */
+  public static final int STATE_RESERVED = 2;
+
+  /** Bag entry, with an atomic state. */
+  public interface Entry {
+
+    /**
+     * Get current state
+     *
+     * @return state
+     */
+    int getState();
+
+    /**
+     * Set state
+     *
+     * @param state new state
+     */
+    void setState(int state);
+
+    /**
+     * Atomically set state if current state is the expected one
+     *
+     * @param expect expected state
+     * @param update new state
+     * @return true if successful
+     */
+    boolean compareAndSetState(int expect, int update);
+  }
+
+  private final CopyOnWriteArrayList<T> shared = new CopyOnWriteArrayList<>();
+  private final ThreadLocal<WeakReference<T>> lastReleased = new ThreadLocal<>();
+  private final SynchronousQueue<T> handoffQueue = new SynchronousQueue<>(true);
+  private final AtomicInteger waiters = new AtomicInteger();
+
+  /**
+   * Borrow an idle entry, waiting up to timeout.
+   *
+   * @param timeout timeout. 0 = no wait
+   * @param timeUnit timeout unit
+   * @return entry, in state {@link #STATE_IN_USE}, or null if none is available within timeout
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public T borrow(long timeout, TimeUnit timeUnit) throws InterruptedException {
+    // thread-affine: last entry released by this thread
+    WeakReference<T> ref = lastReleased.get();
+    if (ref != null) {
+      T entry = ref.get();
+      lastReleased.remove();
+      if (entry != null && entry.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) {
+        return entry;
+      }
+    }
+
+    waiters.incrementAndGet();
+    try {
+      for (T entry : shared) {
+        if (entry.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) {
+          return entry;
+        }
+      }
+
+      // wait for a released or added entry
+      long remaining = timeUnit.toNanos(timeout);
+      while (remaining > 0) {
+        long start = System.nanoTime();
+        T entry = handoffQueue.poll(remaining, TimeUnit.NANOSECONDS);
+        if (entry == null) return null;
+        if (entry.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) return entry;
+        remaining -= System.nanoTime() - start;
+      }
+      return null;
+    } finally {
+      waiters.decrementAndGet();
+    }
+  }
+
+  /**
+   * Borrow an idle entry matching predicate, without waiting.
+   *
+   * @param predicate entry predicate
+   * @return entry, in state {@link #STATE_IN_USE}, or null if no idle entry matches
+   */
+  public T borrowMatching(Predicate<T> predicate) {
+    for (T entry : shared) {
+      if (entry.getState() == STATE_NOT_IN_USE
+          && predicate.test(entry)
+          && entry.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Give back a borrowed entry. Entry is handed off to a waiting thread if any, or kept for next
+   * borrow of current thread.
+   *
+   * @param entry borrowed entry
+   */
+  public void requite(T entry) {
+    entry.setState(STATE_NOT_IN_USE);
+    for (int i = 0; waiters.get() > 0; i++) {
+      if (entry.getState() != STATE_NOT_IN_USE || handoffQueue.offer(entry)) {
+        return;
+      }
+      if ((i & 0xff) == 0xff) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+      } else {
+        Thread.yield();
+      }
+    }
+    lastReleased.set(new WeakReference<>(entry));
+  }
+
+  /**
+   * Add a new idle entry, handed off to a waiting thread if any.
+   *
+   * @param entry new entry
+   */
+  public void add(T entry) {
+    entry.setState(STATE_NOT_IN_USE);
+    shared.add(entry);
+    while (waiters.get() > 0
+        && entry.getState() == STATE_NOT_IN_USE
+        && !handoffQueue.offer(entry)) {
+      Thread.yield();
+    }
+  }
+
+  /**
+   * Reserve an idle entry, so it cannot be borrowed.
+   *
+   * @param entry entry
+   * @return true if entry was idle and is now reserved
+   */
+  public boolean reserve(T entry) {
+    return entry.compareAndSetState(STATE_NOT_IN_USE, STATE_RESERVED);
+  }
+
+  /**
+   * Make a reserved entry idle again, handed off to a waiting thread if any.
+   *
+   * @param entry reserved entry
+   */
+  public void unreserve(T entry) {
+    if (entry.compareAndSetState(STATE_RESERVED, STATE_NOT_IN_USE)) {
+      while (waiters.get() > 0
+          && entry.getState() == STATE_NOT_IN_USE
+          && !handoffQueue.offer(entry)) {
+        Thread.yield();
+      }
+    }
+  }
+
+  /**
+   * Remove an entry, whatever its state.
+   *
+   * @param entry entry
+   * @return true if entry was in bag
+   */
+  public boolean remove(T entry) {
+    entry.setState(STATE_REMOVED);
+    return shared.remove(entry);
+  }
+
+  /**
+   * Remove an entry only if idle.
+   *
+   * @param entry entry
+   * @return true if entry was idle and has been removed
+   */
+  public boolean removeIfIdle(T entry) {
+    if (entry.compareAndSetState(STATE_NOT_IN_USE, STATE_REMOVED)) {
+      return shared.remove(entry);
+    }
+    return false;
+  }
+
+  /**
+   * Snapshot of all entries
+   *
+   * @return entries
+   */
+  public List<T> values() {
+    return new ArrayList<>(shared);
+  }
+
+  /**
+   * Snapshot of idle entries
+   *
+   * @return idle entries
+   */
+  public List<T> idleValues() {
+    List<T> idle = new ArrayList<>();
+    for (T entry : shared) {
+      if (entry.getState() == STATE_NOT_IN_USE) idle.add(entry);
+    }
+    return idle;
+  }
+
+  /**
+   * Idle entry number, including reserved entries
+   *
+   * @return idle entry number
+   */
+  public int idleSize() {
+    int count = 0;
+    for (T entry : shared) {
+      int state = entry.getState();
+      if (state == STATE_NOT_IN_USE || state == STATE_RESERVED) count++;
+    }
+    return count;
+  }
+
+  /**
+   * Number of threads waiting for an entry
+   *
+   * @return waiting thread number
+   */
+  public int getWaiters() {
+    return waiters.get();
+  }
+}
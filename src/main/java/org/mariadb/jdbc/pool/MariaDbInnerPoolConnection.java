@@ -4,6 +4,8 @@
 
 package org.mariadb.jdbc.pool;
 
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.sql.*;
 import org.mariadb.jdbc.Connection;
@@ -13,8 +15,13 @@ import org.mariadb.jdbc.MariaDbPoolConnection;
  * MariaDB pool connection for internal pool permit to add a last used information, to remove
  * connection after staying in pool for long time.
  */
-public class MariaDbInnerPoolConnection extends MariaDbPoolConnection {
+public class MariaDbInnerPoolConnection extends MariaDbPoolConnection
+    implements ConnectionBag.Entry {
   private final AtomicLong lastUsed;
+  private final AtomicLong lastValidated = new AtomicLong();
+  private final AtomicInteger state = new AtomicInteger(ConnectionBag.STATE_NOT_IN_USE);
+  private volatile String user;
+  private volatile String password;
 
   /**
    * Constructor.
@@ -40,8 +47,61 @@ public class MariaDbInnerPoolConnection extends MariaDbPoolConnection {
     lastUsed.set(System.nanoTime());
   }
 
+  /**
+   * Indicate last time this pool connection has been known valid, either being used or validated.
+   *
+   * @return last validation time (nano).
+   */
+  public long getLastValidated() {
+    return Math.max(lastUsed.get(), lastValidated.get());
+  }
+
+  /** Set last successful validation to now, without changing last used time. */
+  public void lastValidatedToNow() {
+    lastValidated.set(System.nanoTime());
+  }
+
   /** Reset last used time, to ensure next retrieval will validate connection before borrowing */
   public void ensureValidation() {
     lastUsed.set(0L);
+    lastValidated.set(0L);
+  }
+
+  /**
+   * Indicate if connection is authenticated with these credentials. null user correspond to pool
+   * credentials.
+   *
+   * @param user user
+   * @param password password
+   * @return true if connection is authenticated with these credentials
+   */
+  public boolean hasCredential(String user, String password) {
+    return Objects.equals(this.user, user) && Objects.equals(this.password, password);
+  }
+
+  /**
+   * Set credentials connection is authenticated with, null user corresponding to pool credentials.
+   *
+   * @param user user
+   * @param password password
+   */
+  public void setCredential(String user, String password) {
+    this.user = user;
+    this.password = password;
+  }
+
+  @Override
+  public int getState() {
+    return state.get();
+  }
+
+  @Override
+  public void setState(int state) {
+    this.state.set(state);
+  }
+
+  @Override
+  public boolean compareAndSetState(int expect, int update) {
+    return state.compareAndSet(expect, update);
   }
 }
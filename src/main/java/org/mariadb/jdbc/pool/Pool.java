@@ -9,11 +9,12 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 import javax.sql.ConnectionEvent;
@@ -22,6 +23,8 @@ import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.Driver;
 import org.mariadb.jdbc.Statement;
+import org.mariadb.jdbc.export.HaMode;
+import org.mariadb.jdbc.util.ClientParser;
 import org.mariadb.jdbc.util.log.Logger;
 import org.mariadb.jdbc.util.log.Loggers;
 
@@ -34,22 +37,41 @@ public class Pool implements AutoCloseable, PoolMBean {
   private static final int POOL_STATE_OK = 0;
   private static final int POOL_STATE_CLOSING = 1;
 
+  /** upper bounds (in microseconds) of borrow validation histogram buckets, last being unbounded */
+  private static final long[] VALIDATION_HISTOGRAM_BOUNDS =
+      new long[] {100, 500, 1_000, 5_000, 10_000, 50_000, 100_000};
+
   private final AtomicInteger poolState = new AtomicInteger();
 
   private final Configuration conf;
   private final AtomicInteger pendingRequestNumber = new AtomicInteger();
   private final AtomicInteger totalConnection = new AtomicInteger();
-
-  private final LinkedBlockingDeque<MariaDbInnerPoolConnection> idleConnections;
+  private final AtomicInteger connectionsInCreation = new AtomicInteger();
+  private final AtomicLong connectionCreationFailures = new AtomicLong();
+  private final AtomicLong backgroundValidations = new AtomicLong();
+  private final AtomicInteger waitingRequests = new AtomicInteger();
+  private final AtomicLong rejectedConnectionRequests = new AtomicLong();
+  private final AtomicLong timedOutConnectionRequests = new AtomicLong();
+  private final AtomicLongArray borrowValidationHistogram =
+      new AtomicLongArray(VALIDATION_HISTOGRAM_BOUNDS.length + 1);
+
+  private final ConnectionBag<MariaDbInnerPoolConnection> connectionBag;
   private final ThreadPoolExecutor connectionAppender;
   private final BlockingQueue<Runnable> connectionAppenderQueue;
 
   private final String poolTag;
   private final ScheduledThreadPoolExecutor poolExecutor;
   private final ScheduledFuture<?> scheduledFuture;
+  private final ThreadPoolExecutor validator;
+  private final ScheduledFuture<?> validationFuture;
+  private final long validationPeriodNanos;
 
   private int waitTimeout;
 
+  // reconnection would use configuration credentials
+  private final boolean canChangeUser;
+  private volatile boolean multipleCredentials;
+
   /**
    * Create pool from configuration.
    *
@@ -61,22 +83,27 @@ public class Pool implements AutoCloseable, PoolMBean {
 
     this.conf = conf;
     poolTag = generatePoolTag(poolIndex);
+    canChangeUser =
+        conf.haMode() == HaMode.NONE
+            && !conf.transactionReplay()
+            && conf.credentialPlugin() == null;
 
-    // one thread to add new connection to pool.
+    // threads to add new connection to pool, one by default.
+    int parallelism = Math.max(1, Math.min(conf.poolCreationParallelism(), conf.maxPoolSize()));
     connectionAppenderQueue = new ArrayBlockingQueue<>(conf.maxPoolSize());
     connectionAppender =
         new ThreadPoolExecutor(
-            1,
-            1,
+            parallelism,
+            parallelism,
             10,
             TimeUnit.SECONDS,
             connectionAppenderQueue,
             new PoolThreadFactory(poolTag + "-appender"));
     connectionAppender.allowCoreThreadTimeOut(true);
     // create workers, since driver only interact with queue after that (i.e. not using .execute() )
-    connectionAppender.prestartCoreThread();
+    connectionAppender.prestartAllCoreThreads();
 
-    idleConnections = new LinkedBlockingDeque<>();
+    connectionBag = new ConnectionBag<>();
     int minDelay =
         Integer.parseInt(conf.nonMappedOptions().getProperty("testMinRemovalDelay", "30"));
     int scheduleDelay = Math.min(minDelay, conf.maxIdleTime() / 2);
@@ -85,6 +112,31 @@ public class Pool implements AutoCloseable, PoolMBean {
         poolExecutor.scheduleAtFixedRate(
             this::removeIdleTimeoutConnection, scheduleDelay, scheduleDelay, TimeUnit.SECONDS);
 
+    // idle connections are validated in background by a pool thread, not by the shared scheduler.
+    // a validation still running when the next one is due skips it.
+    validationPeriodNanos = TimeUnit.MILLISECONDS.toNanos(conf.poolValidationInterval());
+    if (validationPeriodNanos > 0) {
+      validator =
+          new ThreadPoolExecutor(
+              1,
+              1,
+              10,
+              TimeUnit.SECONDS,
+              new ArrayBlockingQueue<>(1),
+              new PoolThreadFactory(poolTag + "-validator"),
+              new ThreadPoolExecutor.DiscardPolicy());
+      validator.allowCoreThreadTimeOut(true);
+      validationFuture =
+          poolExecutor.scheduleAtFixedRate(
+              () -> validator.execute(this::validateIdleConnections),
+              validationPeriodNanos,
+              validationPeriodNanos,
+              TimeUnit.NANOSECONDS);
+    } else {
+      validator = null;
+      validationFuture = null;
+    }
+
     if (conf.registerJmxPool()) {
       try {
         registerJmx();
@@ -95,12 +147,18 @@ public class Pool implements AutoCloseable, PoolMBean {
 
     // create minimal connection in pool
     try {
-      for (int i = 0; i < Math.max(1, conf.minPoolSize()); i++) {
+      if (parallelism == 1) {
+        for (int i = 0; i < Math.max(1, conf.minPoolSize()); i++) {
+          addConnection();
+        }
+      } else {
         addConnection();
+        createInParallel(conf.minPoolSize() - 1);
       }
       waitTimeout = 28800;
-      if (!idleConnections.isEmpty()) {
-        Statement stmt = idleConnections.getFirst().getConnection().createStatement();
+      List<MariaDbInnerPoolConnection> connections = connectionBag.values();
+      if (!connections.isEmpty()) {
+        Statement stmt = connections.get(0).getConnection().createStatement();
         ResultSet rs = stmt.executeQuery("SELECT @@wait_timeout");
         if (rs.next()) waitTimeout = rs.getInt(1);
       }
@@ -116,36 +174,121 @@ public class Pool implements AutoCloseable, PoolMBean {
   private void addConnectionRequest() {
     if (totalConnection.get() < conf.maxPoolSize() && poolState.get() == POOL_STATE_OK) {
 
-      // ensure to have one worker if was timeout
-      connectionAppender.prestartCoreThread();
+      // ensure to have workers if was timeout
+      connectionAppender.prestartAllCoreThreads();
       boolean unused =
           connectionAppenderQueue.offer(
               () -> {
-                if ((totalConnection.get() < conf.minPoolSize() || pendingRequestNumber.get() > 0)
-                    && totalConnection.get() < conf.maxPoolSize()) {
-                  try {
+                int creating = connectionsInCreation.incrementAndGet();
+                try {
+                  // connections already in creation by other workers count as available
+                  if ((totalConnection.get() + creating - 1 < conf.minPoolSize()
+                          || pendingRequestNumber.get() >= creating)
+                      && totalConnection.get() + creating <= conf.maxPoolSize()) {
                     addConnection();
-                  } catch (SQLException sqle) {
-                    logger.error("error adding connection to pool", sqle);
                   }
+                } catch (SQLException sqle) {
+                  connectionCreationFailures.incrementAndGet();
+                  logger.error("error adding connection to pool", sqle);
+                } finally {
+                  connectionsInCreation.decrementAndGet();
                 }
               });
     }
   }
 
+  /**
+   * Create connections using all appender workers, waiting for their creation.
+   *
+   * @param number number of connections to create
+   * @throws SQLException if a connection creation failed
+   */
+  private void createInParallel(int number) throws SQLException {
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < number; i++) {
+      futures.add(
+          connectionAppender.submit(
+              () -> {
+                connectionsInCreation.incrementAndGet();
+                try {
+                  addConnection();
+                } catch (SQLException sqle) {
+                  connectionCreationFailures.incrementAndGet();
+                  throw sqle;
+                } finally {
+                  connectionsInCreation.decrementAndGet();
+                }
+                return null;
+              }));
+    }
+    SQLException error = null;
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        if (error == null && e.getCause() instanceof SQLException) {
+          error = (SQLException) e.getCause();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SQLException("Thread was interrupted", "70100", e);
+      }
+    }
+    if (error != null) throw error;
+  }
+
+  /**
+   * Validate idle connections that have not been used or validated recently. Connections are
+   * reserved during validation, so cannot be borrowed, and removed if validation fails.
+   */
+  private void validateIdleConnections() {
+    // ping timeout is bounded by validation interval
+    int timeout =
+        (int) Math.max(1, Math.min(10, TimeUnit.NANOSECONDS.toSeconds(validationPeriodNanos)));
+    for (MariaDbInnerPoolConnection item : connectionBag.idleValues()) {
+      if (poolState.get() != POOL_STATE_OK) return;
+      if (System.nanoTime() - item.getLastValidated() < validationPeriodNanos
+          || !connectionBag.reserve(item)) {
+        continue;
+      }
+
+      boolean valid = false;
+      try {
+        valid = item.getConnection().isValid(timeout);
+      } catch (SQLException sqle) {
+        // eat
+      }
+
+      if (valid) {
+        item.lastValidatedToNow();
+        backgroundValidations.incrementAndGet();
+        connectionBag.unreserve(item);
+        continue;
+      }
+
+      // connection error event may already have removed connection
+      if (connectionBag.remove(item)) totalConnection.decrementAndGet();
+      silentAbortConnection(item.getConnection());
+      addConnectionRequest();
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "pool {} connection {} removed from pool due to failed background validation (total:{}, active:{}, pending:{})",
+            poolTag,
+            item.getConnection().getThreadId(),
+            totalConnection.get(),
+            getActiveConnections(),
+            pendingRequestNumber.get());
+      }
+    }
+  }
+
   /**
    * Removing idle connection. Close them and recreate connection to reach minimal number of
    * connection.
    */
   private void removeIdleTimeoutConnection() {
 
-    // descending iterator since first from queue are the first to be used
-    Iterator<MariaDbInnerPoolConnection> iterator = idleConnections.descendingIterator();
-
-    MariaDbInnerPoolConnection item;
-
-    while (iterator.hasNext()) {
-      item = iterator.next();
+    for (MariaDbInnerPoolConnection item : connectionBag.idleValues()) {
 
       long idleTime = System.nanoTime() - item.getLastUsed().get();
       boolean timedOut = idleTime > TimeUnit.SECONDS.toNanos(conf.maxIdleTime());
@@ -168,7 +311,7 @@ public class Pool implements AutoCloseable, PoolMBean {
         shouldBeReleased = true;
       }
 
-      if (shouldBeReleased && idleConnections.remove(item)) {
+      if (shouldBeReleased && connectionBag.removeIfIdle(item)) {
 
         totalConnection.decrementAndGet();
         silentCloseConnection(con);
@@ -204,15 +347,16 @@ public class Pool implements AutoCloseable, PoolMBean {
             MariaDbInnerPoolConnection item = (MariaDbInnerPoolConnection) event.getSource();
             if (poolState.get() == POOL_STATE_OK) {
               try {
-                if (!idleConnections.contains(item)) {
+                if (item.getState() == ConnectionBag.STATE_IN_USE) {
                   item.getConnection().setPoolConnection(null);
                   item.getConnection().reset();
-                  idleConnections.addFirst(item);
                   item.getConnection().setPoolConnection(item);
+                  connectionBag.requite(item);
                 }
               } catch (SQLException sqle) {
 
                 // sql exception during reset, removing connection from pool
+                connectionBag.remove(item);
                 totalConnection.decrementAndGet();
                 silentCloseConnection(item.getConnection());
                 logger.debug(
@@ -225,6 +369,7 @@ public class Pool implements AutoCloseable, PoolMBean {
               }
             } else {
               // pool is closed, should then not be rendered to pool, but closed.
+              connectionBag.remove(item);
               try {
                 item.getConnection().close();
               } catch (SQLException sqle) {
@@ -239,11 +384,11 @@ public class Pool implements AutoCloseable, PoolMBean {
 
             MariaDbInnerPoolConnection item = ((MariaDbInnerPoolConnection) event.getSource());
             totalConnection.decrementAndGet();
-            boolean unused = idleConnections.remove(item);
+            boolean unused = connectionBag.remove(item);
 
             // ensure that other connection will be validated before being use
             // since one connection failed, better to assume the other might as well
-            idleConnections.forEach(MariaDbInnerPoolConnection::ensureValidation);
+            connectionBag.values().forEach(MariaDbInnerPoolConnection::ensureValidation);
 
             silentCloseConnection(item.getConnection());
             addConnectionRequest();
@@ -256,20 +401,23 @@ public class Pool implements AutoCloseable, PoolMBean {
                 pendingRequestNumber.get());
           }
         });
-    if (poolState.get() == POOL_STATE_OK
-        && totalConnection.incrementAndGet() <= conf.maxPoolSize()) {
-      idleConnections.addFirst(item);
+    if (poolState.get() == POOL_STATE_OK) {
+      if (totalConnection.incrementAndGet() <= conf.maxPoolSize()) {
+        connectionBag.add(item);
 
-      if (logger.isDebugEnabled()) {
-        logger.debug(
-            "pool {} new physical connection {} created (total:{}, active:{}, pending:{})",
-            poolTag,
-            connection.getThreadId(),
-            totalConnection.get(),
-            getActiveConnections(),
-            pendingRequestNumber.get());
+        if (logger.isDebugEnabled()) {
+          logger.debug(
+              "pool {} new physical connection {} created (total:{}, active:{}, pending:{})",
+              poolTag,
+              connection.getThreadId(),
+              totalConnection.get(),
+              getActiveConnections(),
+              pendingRequestNumber.get());
+        }
+        return;
       }
-      return;
+      // maximum size reached by concurrent creations
+      totalConnection.decrementAndGet();
     }
 
     silentCloseConnection(connection);
@@ -278,24 +426,36 @@ public class Pool implements AutoCloseable, PoolMBean {
   /**
    * Get an existing idle connection in pool.
    *
+   * <p>Timeout is a deadline: connections failing validation do not extend the wait.
+   *
+   * @param timeout timeout
+   * @param timeUnit timeout unit
+   * @param preferred if not null, idle connections matching this predicate are borrowed first
    * @return an IDLE connection.
    */
-  private MariaDbInnerPoolConnection getIdleConnection(long timeout, TimeUnit timeUnit)
+  private MariaDbInnerPoolConnection getIdleConnection(
+      long timeout, TimeUnit timeUnit, Predicate<MariaDbInnerPoolConnection> preferred)
       throws InterruptedException {
 
+    long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
     while (true) {
       MariaDbInnerPoolConnection item =
-          (timeout == 0)
-              ? idleConnections.pollFirst()
-              : idleConnections.pollFirst(timeout, timeUnit);
+          preferred != null ? connectionBag.borrowMatching(preferred) : null;
+      if (item == null) {
+        item =
+            connectionBag.borrow(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      }
 
       if (item != null) {
         try {
-          if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - item.getLastUsed().get())
+          long start = System.nanoTime();
+          if (TimeUnit.NANOSECONDS.toMillis(start - item.getLastValidated())
               > conf.poolValidMinDelay()) {
 
             // validate connection
-            if (item.getConnection().isValid(10)) { // 10 seconds timeout
+            boolean valid = item.getConnection().isValid(10); // 10 seconds timeout
+            recordBorrowValidation(System.nanoTime() - start);
+            if (valid) {
               item.lastUsedToNow();
               return item;
             }
@@ -312,6 +472,8 @@ public class Pool implements AutoCloseable, PoolMBean {
         }
 
         // validation failed
+        // connection error event may already have removed connection
+        if (connectionBag.remove(item)) totalConnection.decrementAndGet();
         silentAbortConnection(item.getConnection());
         addConnectionRequest();
         if (logger.isDebugEnabled()) {
@@ -330,6 +492,16 @@ public class Pool implements AutoCloseable, PoolMBean {
     }
   }
 
+  private void recordBorrowValidation(long durationNanos) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(durationNanos);
+    int bucket = 0;
+    while (bucket < VALIDATION_HISTOGRAM_BOUNDS.length
+        && micros >= VALIDATION_HISTOGRAM_BOUNDS[bucket]) {
+      bucket++;
+    }
+    borrowValidationHistogram.incrementAndGet(bucket);
+  }
+
   private void silentCloseConnection(Connection con) {
     con.setPoolConnection(null);
     try {
@@ -350,34 +522,94 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   /**
    * Retrieve new connection. If possible return idle connection, if not, stack connection query,
-   * ask for a connection creation, and loop until a connection become idle / a new connection is
-   * created.
+   * ask for a connection creation, and wait until a connection become idle / a new connection is
+   * created. Waiting requests are served in FIFO order. When option `poolMaxWaiters` is set and
+   * that number of requests are already waiting, request fails immediately.
    *
    * @return a connection object
-   * @throws SQLException if no connection is created when reaching timeout (connectTimeout option)
+   * @throws SQLException if no connection is created when reaching timeout (connectTimeout option),
+   *     or if too many requests are already waiting (poolMaxWaiters option)
    */
   public MariaDbInnerPoolConnection getPoolConnection() throws SQLException {
+    return getPoolConnectionForUser(null, null);
+  }
+
+  /**
+   * Retrieve pool connection authenticated with credentials, null user corresponding to pool
+   * credentials. Idle connections already authenticated with these credentials are preferred, other
+   * connections changing user.
+   *
+   * @param username user
+   * @param password password
+   * @return a connection object
+   * @throws SQLException if no connection is available, or if authentication fails
+   */
+  private MariaDbInnerPoolConnection getPoolConnectionForUser(String username, String password)
+      throws SQLException {
+    MariaDbInnerPoolConnection poolConnection = borrowConnection(username, password);
+    if (poolConnection.hasCredential(username, password)) return poolConnection;
+
+    try {
+      if (username == null) {
+        poolConnection.getConnection().changeUser(conf.user(), conf.password());
+      } else {
+        poolConnection.getConnection().changeUser(username, password);
+        multipleCredentials = true;
+      }
+      poolConnection.setCredential(username, password);
+      return poolConnection;
+    } catch (SQLException sqle) {
+      // connection state is unknown after a failed authentication
+      if (connectionBag.remove(poolConnection)) totalConnection.decrementAndGet();
+      silentAbortConnection(poolConnection.getConnection());
+      addConnectionRequest();
+      throw sqle;
+    }
+  }
+
+  private MariaDbInnerPoolConnection borrowConnection(String username, String password)
+      throws SQLException {
     pendingRequestNumber.incrementAndGet();
     MariaDbInnerPoolConnection poolConnection;
     try {
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(conf.connectTimeout());
+      Predicate<MariaDbInnerPoolConnection> preferred =
+          multipleCredentials ? item -> item.hasCredential(username, password) : null;
+
       // try to get Idle connection if any (with a very small timeout)
       if ((poolConnection =
-              getIdleConnection(totalConnection.get() > 4 ? 0 : 50, TimeUnit.MICROSECONDS))
+              getIdleConnection(
+                  totalConnection.get() > 4 ? 0 : 50, TimeUnit.MICROSECONDS, preferred))
           != null) {
         return poolConnection;
       }
 
-      // ask for new connection creation if max is not reached
-      addConnectionRequest();
+      // load shedding: fail fast rather than queuing behind too many waiting requests
+      int maxWaiters = conf.poolMaxWaiters();
+      if (waitingRequests.incrementAndGet() > maxWaiters && maxWaiters > 0) {
+        waitingRequests.decrementAndGet();
+        rejectedConnectionRequests.incrementAndGet();
+        throw new SQLException(
+            String.format(
+                "No connection available, too many waiting requests (option 'poolMaxWaiters': %s)",
+                maxWaiters));
+      }
 
-      // try to create new connection if semaphore permit it
-      if ((poolConnection =
-              getIdleConnection(
-                  TimeUnit.MILLISECONDS.toNanos(conf.connectTimeout()), TimeUnit.NANOSECONDS))
-          != null) {
-        return poolConnection;
+      try {
+        // ask for new connection creation if max is not reached
+        addConnectionRequest();
+
+        // wait for an idle / new connection until deadline
+        if ((poolConnection =
+                getIdleConnection(deadline - System.nanoTime(), TimeUnit.NANOSECONDS, preferred))
+            != null) {
+          return poolConnection;
+        }
+      } finally {
+        waitingRequests.decrementAndGet();
       }
 
+      timedOutConnectionRequests.incrementAndGet();
       throw new SQLException(
           String.format(
               "No connection available within the specified time (option 'connectTimeout': %s ms)",
@@ -391,8 +623,9 @@ public class Pool implements AutoCloseable, PoolMBean {
   }
 
   /**
-   * Get new connection from pool if user and password correspond to pool. If username and password
-   * are different from pool, will return a dedicated connection.
+   * Get new connection from pool. If username and password are different from pool, a pool
+   * connection changes user (COM_CHANGE_USER), or a dedicated connection is returned when
+   * connection cannot change user (failover, transaction replay or credential plugin).
    *
    * @param username username
    * @param password password
@@ -409,6 +642,8 @@ public class Pool implements AutoCloseable, PoolMBean {
       return getPoolConnection();
     }
 
+    if (canChangeUser) return getPoolConnectionForUser(username, password);
+
     Configuration tmpConf = conf.clone(username, password);
     return new MariaDbInnerPoolConnection(Driver.connect(tmpConf));
   }
@@ -439,6 +674,10 @@ public class Pool implements AutoCloseable, PoolMBean {
         pendingRequestNumber.set(0);
 
         scheduledFuture.cancel(false);
+        if (validationFuture != null) {
+          validationFuture.cancel(false);
+          validator.shutdown();
+        }
         connectionAppender.shutdown();
 
         try {
@@ -468,7 +707,7 @@ public class Pool implements AutoCloseable, PoolMBean {
         // loop for up to 10 seconds to close not used connection
         long start = System.nanoTime();
         do {
-          closeAll(idleConnections);
+          closeIdle();
           if (totalConnection.get() > 0) {
             Thread.sleep(0, 10_00);
           }
@@ -476,8 +715,8 @@ public class Pool implements AutoCloseable, PoolMBean {
             && TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 10);
 
         // after having wait for 10 seconds, force removal, even if used connections
-        if (totalConnection.get() > 0 || idleConnections.isEmpty()) {
-          closeAll(idleConnections);
+        if (totalConnection.get() > 0 || connectionBag.idleSize() == 0) {
+          closeIdle();
         }
 
         connectionRemover.shutdown();
@@ -493,10 +732,9 @@ public class Pool implements AutoCloseable, PoolMBean {
     }
   }
 
-  private void closeAll(Collection<MariaDbInnerPoolConnection> collection) {
-    synchronized (collection) { // synchronized mandatory to iterate Collections.synchronizedList()
-      for (MariaDbInnerPoolConnection item : collection) {
-        collection.remove(item);
+  private void closeIdle() {
+    for (MariaDbInnerPoolConnection item : connectionBag.idleValues()) {
+      if (connectionBag.removeIfIdle(item)) {
         totalConnection.decrementAndGet();
         silentAbortConnection(item.getConnection());
       }
@@ -514,7 +752,7 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   @Override
   public long getActiveConnections() {
-    return totalConnection.get() - idleConnections.size();
+    return totalConnection.get() - connectionBag.idleSize();
   }
 
   @Override
@@ -524,13 +762,55 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   @Override
   public long getIdleConnections() {
-    return idleConnections.size();
+    return connectionBag.idleSize();
   }
 
   public long getConnectionRequests() {
     return pendingRequestNumber.get();
   }
 
+  @Override
+  public long getConnectionsInCreation() {
+    return connectionsInCreation.get();
+  }
+
+  @Override
+  public long getConnectionCreationFailures() {
+    return connectionCreationFailures.get();
+  }
+
+  @Override
+  public long getBackgroundValidations() {
+    return backgroundValidations.get();
+  }
+
+  @Override
+  public long[] getBorrowValidationHistogram() {
+    long[] histogram = new long[borrowValidationHistogram.length()];
+    for (int i = 0; i < histogram.length; i++) histogram[i] = borrowValidationHistogram.get(i);
+    return histogram;
+  }
+
+  @Override
+  public long getRejectedConnectionRequests() {
+    return rejectedConnectionRequests.get();
+  }
+
+  @Override
+  public long getTimedOutConnectionRequests() {
+    return timedOutConnectionRequests.get();
+  }
+
+  @Override
+  public long getParserCacheHits() {
+    return ClientParser.getCacheHits();
+  }
+
+  @Override
+  public long getParserCacheMisses() {
+    return ClientParser.getCacheMisses();
+  }
+
   private void registerJmx() throws Exception {
     MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
     String jmxName = poolTag.replace(":", "_");
@@ -558,7 +838,7 @@ public class Pool implements AutoCloseable, PoolMBean {
    */
   public List<Long> testGetConnectionIdleThreadIds() {
     List<Long> threadIds = new ArrayList<>();
-    for (MariaDbInnerPoolConnection pooledConnection : idleConnections) {
+    for (MariaDbInnerPoolConnection pooledConnection : connectionBag.idleValues()) {
       threadIds.add(pooledConnection.getConnection().getThreadId());
     }
     return threadIds;
@@ -34,4 +34,65 @@ public interface PoolMBean {
    * @return request number
    */
   long getConnectionRequests();
+
+  /**
+   * get number of connections currently being created
+   *
+   * @return connection in creation number
+   */
+  long getConnectionsInCreation();
+
+  /**
+   * get number of connection creations that failed since pool start
+   *
+   * @return connection creation failure number
+   */
+  long getConnectionCreationFailures();
+
+  /**
+   * get number of idle connection validations done by pool housekeeping since pool start
+   *
+   * @return background validation number
+   */
+  long getBackgroundValidations();
+
+  /**
+   * get histogram of connection validation durations on borrowing path, since pool start. Bucket
+   * upper bounds are 100µs, 500µs, 1ms, 5ms, 10ms, 50ms, 100ms, last bucket being unbounded.
+   *
+   * @return validation count per duration bucket
+   */
+  long[] getBorrowValidationHistogram();
+
+  /**
+   * get number of connection requests rejected immediately since pool start, because too many
+   * requests were already waiting (option poolMaxWaiters).
+   *
+   * @return rejected connection request number
+   */
+  long getRejectedConnectionRequests();
+
+  /**
+   * get number of connection requests that failed since pool start, because no connection was
+   * available before connectTimeout.
+   *
+   * @return timed out connection request number
+   */
+  long getTimedOutConnectionRequests();
+
+  /**
+   * get number of client-side parsing results retrieved from cache. Parsing cache is shared by all
+   * connections of the JVM.
+   *
+   * @return parsing cache hit number
+   */
+  long getParserCacheHits();
+
+  /**
+   * get number of commands that had to be parsed client-side, not being in cache. Parsing cache is
+   * shared by all connections of the JVM.
+   *
+   * @return parsing cache miss number
+   */
+  long getParserCacheMisses();
 }
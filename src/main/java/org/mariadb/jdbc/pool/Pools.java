@@ -10,6 +10,7 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.impl.ControlClientPool;
 
 /** Pools */
 public final class Pools {
@@ -61,7 +62,7 @@ public final class Pools {
     }
   }
 
-  /** Close all pools. */
+  /** Close all pools, and shared control connections. */
   public static void close() {
     synchronized (poolMap) {
       for (Pool pool : poolMap.values()) {
@@ -74,6 +75,7 @@ public final class Pools {
       shutdownExecutor();
       poolMap.clear();
     }
+    ControlClientPool.closeAll();
   }
 
   /**
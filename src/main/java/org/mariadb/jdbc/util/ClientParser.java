@@ -6,20 +6,123 @@ package org.mariadb.jdbc.util;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Client side parsing result. Result is immutable, so it can be shared by all statements of all
+ * connections, see {@link #parse(String, boolean)}.
+ */
 public final class ClientParser implements PrepareResult {
 
+  /** Maximum number of cached parsing results, for each escaping mode */
+  private static final int CACHE_MAX_SIZE = 2048;
+
+  /** Commands longer than this are not cached */
+  private static final int CACHE_MAX_SQL_LENGTH = 16 * 1024;
+
+  private static final LinkedHashMap<String, ClientParser> CACHE = newCache();
+  private static final LinkedHashMap<String, ClientParser> NO_BACKSLASH_CACHE = newCache();
+  private static final ReentrantLock cacheLock = new ReentrantLock();
+  private static final LongAdder cacheHits = new LongAdder();
+  private static final LongAdder cacheMisses = new LongAdder();
+
   private final String sql;
   private final byte[] query;
-  private List<Integer> paramPositions;
-  private int paramCount;
+  private final List<Integer> paramPositions;
+  private final int paramCount;
+  private final int valuesStart;
+  private final int valuesEnd;
 
-  private ClientParser(String sql, byte[] query, List<Integer> paramPositions) {
+  private ClientParser(
+      String sql, byte[] query, List<Integer> paramPositions, int valuesStart, int valuesEnd) {
     this.sql = sql;
     this.query = query;
-    this.paramPositions = paramPositions;
+    this.paramPositions = Collections.unmodifiableList(paramPositions);
     this.paramCount = paramPositions.size();
+    this.valuesStart = valuesStart;
+    this.valuesEnd = valuesEnd;
+  }
+
+  /**
+   * Get parsing result of a command, from JVM-wide cache if already parsed. Cache is bounded: when
+   * full, least recently used command is evicted.
+   *
+   * @param queryString query
+   * @param noBackslashEscapes escape mode
+   * @return ClientPrepareResult
+   */
+  public static ClientParser parse(String queryString, boolean noBackslashEscapes) {
+    if (queryString.length() > CACHE_MAX_SQL_LENGTH) {
+      cacheMisses.increment();
+      return parameterParts(queryString, noBackslashEscapes);
+    }
+    LinkedHashMap<String, ClientParser> cache = noBackslashEscapes ? NO_BACKSLASH_CACHE : CACHE;
+    ClientParser parser;
+    cacheLock.lock();
+    try {
+      parser = cache.get(queryString);
+    } finally {
+      cacheLock.unlock();
+    }
+    if (parser != null) {
+      cacheHits.increment();
+      return parser;
+    }
+    cacheMisses.increment();
+    // parsing is done outside lock
+    parser = parameterParts(queryString, noBackslashEscapes);
+    cacheLock.lock();
+    try {
+      cache.put(queryString, parser);
+    } finally {
+      cacheLock.unlock();
+    }
+    return parser;
+  }
+
+  private static LinkedHashMap<String, ClientParser> newCache() {
+    return new LinkedHashMap<String, ClientParser>(16, .75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, ClientParser> eldest) {
+        return size() > CACHE_MAX_SIZE;
+      }
+    };
+  }
+
+  /**
+   * Number of parsing results retrieved from cache.
+   *
+   * @return cache hit count
+   */
+  public static long getCacheHits() {
+    return cacheHits.sum();
+  }
+
+  /**
+   * Number of commands that had to be parsed.
+   *
+   * @return cache miss count
+   */
+  public static long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  /** Empty parsing result cache. */
+  public static void clearCache() {
+    cacheLock.lock();
+    try {
+      CACHE.clear();
+      NO_BACKSLASH_CACHE.clear();
+    } finally {
+      cacheLock.unlock();
+    }
   }
 
   /**
@@ -42,6 +145,19 @@ public final class ClientParser implements PrepareResult {
     boolean singleQuotes = false;
     byte[] query = queryString.getBytes(StandardCharsets.UTF_8);
     int queryLength = query.length;
+
+    // INSERT ... VALUES (...) detection, for batch rewriting
+    boolean firstWord = true;
+    boolean isInsert = false;
+    boolean afterValues = false;
+    boolean rewritable = true;
+    boolean endOfQuery = false;
+    boolean pendingComma = false;
+    boolean tuplesEnded = false;
+    int depth = 0;
+    int valuesStart = -1;
+    int valuesEnd = -1;
+
     for (int i = 0; i < queryLength; i++) {
 
       byte car = query[i];
@@ -51,6 +167,49 @@ public final class ClientParser implements PrepareResult {
         lastChar = car;
         continue;
       }
+      if (state == LexState.Normal && !isWhitespace(car)) {
+        if (endOfQuery) {
+          // multi-queries
+          rewritable = false;
+        } else if (isIdentifierChar(car)) {
+          if (!isIdentifierChar(lastChar)) {
+            // word start
+            if (firstWord) {
+              isInsert = matchWord(query, i, "INSERT") || matchWord(query, i, "REPLACE");
+              firstWord = false;
+            } else if (depth == 0 && !afterValues && isInsert) {
+              afterValues = matchWord(query, i, "VALUES") || matchWord(query, i, "VALUE");
+            }
+            if (matchWord(query, i, "SELECT") || matchWord(query, i, "RETURNING")) {
+              rewritable = false;
+            }
+          }
+          if (depth == 0 && valuesEnd != -1) tuplesEnded = true;
+        } else if (car == '(') {
+          if (depth == 0 && afterValues && !tuplesEnded) {
+            if (valuesStart == -1) {
+              valuesStart = i;
+            } else if (pendingComma) {
+              // command already has several tuples: rows per command could not be known
+              pendingComma = false;
+              rewritable = false;
+            } else {
+              tuplesEnded = true;
+            }
+          }
+          depth++;
+        } else if (car == ')') {
+          depth--;
+          if (depth == 0 && valuesStart != -1 && !tuplesEnded) valuesEnd = i + 1;
+        } else if (depth == 0 && valuesEnd != -1 && !tuplesEnded) {
+          if (car == ',' && !pendingComma) {
+            pendingComma = true;
+          } else {
+            tuplesEnded = true;
+          }
+        }
+        if (car == ';' && depth == 0) endOfQuery = true;
+      }
       switch (car) {
         case (byte) '*':
           if (state == LexState.Normal && lastChar == (byte) '/') {
@@ -130,7 +289,40 @@ public final class ClientParser implements PrepareResult {
       lastChar = car;
     }
 
-    return new ClientParser(queryString, query, paramPositions);
+    if (valuesEnd == -1 || pendingComma) rewritable = false;
+    if (rewritable) {
+      for (int paramPos : paramPositions) {
+        if (paramPos < valuesStart || paramPos >= valuesEnd) {
+          rewritable = false;
+          break;
+        }
+      }
+    }
+    return rewritable
+        ? new ClientParser(queryString, query, paramPositions, valuesStart, valuesEnd)
+        : new ClientParser(queryString, query, paramPositions, -1, -1);
+  }
+
+  private static boolean isWhitespace(byte car) {
+    return car == ' ' || car == '\t' || car == '\n' || car == '\r' || car == '\f';
+  }
+
+  private static boolean isIdentifierChar(byte car) {
+    return (car >= 'a' && car <= 'z')
+        || (car >= 'A' && car <= 'Z')
+        || (car >= '0' && car <= '9')
+        || car == '_'
+        || car == '$'
+        || car < 0;
+  }
+
+  private static boolean matchWord(byte[] query, int pos, String word) {
+    int len = word.length();
+    if (pos + len > query.length) return false;
+    for (int i = 0; i < len; i++) {
+      if ((query[pos + i] & 0xDF) != word.charAt(i)) return false;
+    }
+    return pos + len == query.length || !isIdentifierChar(query[pos + len]);
   }
 
   public String getSql() {
@@ -149,6 +341,34 @@ public final class ClientParser implements PrepareResult {
     return paramCount;
   }
 
+  /**
+   * Indicate if command is an INSERT ... VALUES (...) command that can be rewritten into a
+   * multi-values INSERT command: values tuple contains all parameters, and no other query follows.
+   *
+   * @return true if command can be rewritten
+   */
+  public boolean isInsertValuesRewritable() {
+    return valuesStart != -1;
+  }
+
+  /**
+   * Position of values tuple start, for rewritable INSERT commands.
+   *
+   * @return values tuple start position
+   */
+  public int getValuesStart() {
+    return valuesStart;
+  }
+
+  /**
+   * Position following values tuple end, for rewritable INSERT commands.
+   *
+   * @return values tuple end position
+   */
+  public int getValuesEnd() {
+    return valuesEnd;
+  }
+
   enum LexState {
     Normal, /* inside  query */
     String, /* inside string */
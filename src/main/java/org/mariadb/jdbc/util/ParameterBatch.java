@@ -0,0 +1,314 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.util;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.socket.Writer;
+import org.mariadb.jdbc.client.util.Parameter;
+import org.mariadb.jdbc.client.util.Parameters;
+
+/**
+ * Batch parameters, stored by column.
+ *
+ * <p>Each added parameter set is copied in per-column growable arrays: primitive values in a long
+ * slot array with a type tag, other values as {@link Parameter} objects. Current statement
+ * parameters can then be reused after each addBatch(), and bulk encoding reads columns directly.
+ * Rows are exposed as {@link Parameters} views for other encoders.
+ */
+public final class ParameterBatch extends AbstractList<Parameters> {
+
+  private int rows;
+  private int columns;
+  private int rowCapacity;
+  private long approximateSize;
+  private int[] rowSizes;
+  private long[][] primitives;
+  private byte[][] types;
+  private Parameter[][] objects;
+
+  /** Constructor */
+  public ParameterBatch() {
+    this.rowCapacity = 16;
+    this.rowSizes = new int[rowCapacity];
+    this.primitives = new long[0][];
+    this.types = new byte[0][];
+    this.objects = new Parameter[0][];
+  }
+
+  /**
+   * Get batch parameters as a columnar batch, copying them if needed.
+   *
+   * @param batchParameterList batch parameter list
+   * @return columnar batch
+   */
+  public static ParameterBatch of(List<Parameters> batchParameterList) {
+    if (batchParameterList instanceof ParameterBatch) return (ParameterBatch) batchParameterList;
+    ParameterBatch batch = new ParameterBatch();
+    batch.addAll(batchParameterList);
+    return batch;
+  }
+
+  @Override
+  public boolean add(Parameters parameters) {
+    int size = parameters.size();
+    ensureCapacity(rows + 1, size);
+    int row = rows;
+    if (parameters instanceof ParameterList) {
+      ParameterList list = (ParameterList) parameters;
+      for (int col = 0; col < size; col++) {
+        types[col][row] = list.types[col];
+        primitives[col][row] = list.primitives[col];
+        objects[col][row] = list.elementData[col];
+        approximateSize +=
+            list.types[col] == ParameterList.OBJECT ? list.elementData[col].approximateSize() : 8;
+      }
+    } else {
+      for (int col = 0; col < size; col++) {
+        types[col][row] = ParameterList.OBJECT;
+        objects[col][row] = parameters.get(col);
+        approximateSize += objects[col][row].approximateSize();
+      }
+    }
+    rowSizes[row] = size;
+    rows++;
+    modCount++;
+    return true;
+  }
+
+  @Override
+  public Parameters get(int row) {
+    if (row >= rows) throw new IndexOutOfBoundsException("wrong index " + row + " size:" + rows);
+    return new Row(row);
+  }
+
+  @Override
+  public int size() {
+    return rows;
+  }
+
+  @Override
+  public void clear() {
+    for (Parameter[] column : objects) Arrays.fill(column, 0, rows, null);
+    rows = 0;
+    approximateSize = 0;
+    modCount++;
+  }
+
+  /**
+   * Approximate memory size of batched parameter values
+   *
+   * @return approximate size in bytes
+   */
+  public long approximateSize() {
+    return approximateSize;
+  }
+
+  /**
+   * Number of parameters of a row
+   *
+   * @param row row index
+   * @return parameter number
+   */
+  public int parameterCount(int row) {
+    return rowSizes[row];
+  }
+
+  /**
+   * is parameter null
+   *
+   * @param row row index
+   * @param col parameter index
+   * @return is null
+   */
+  public boolean isNull(int row, int col) {
+    return types[col][row] == ParameterList.OBJECT && objects[col][row].isNull();
+  }
+
+  /**
+   * Can parameter be encoded in binary long format
+   *
+   * @param row row index
+   * @param col parameter index
+   * @return can parameter be encoded in binary long format
+   */
+  public boolean canEncodeLongData(int row, int col) {
+    return types[col][row] == ParameterList.OBJECT && objects[col][row].canEncodeLongData();
+  }
+
+  /**
+   * binary encoding type of parameter
+   *
+   * @param row row index
+   * @param col parameter index
+   * @return binary encoding type
+   */
+  public int getBinaryEncodeType(int row, int col) {
+    byte type = types[col][row];
+    return type == ParameterList.OBJECT
+        ? objects[col][row].getBinaryEncodeType()
+        : ParameterList.binaryEncodeType(type);
+  }
+
+  /**
+   * Encode parameter in text format
+   *
+   * @param row row index
+   * @param col parameter index
+   * @param encoder packet writer
+   * @param context connection context
+   * @throws IOException if socket error occurs
+   * @throws SQLException if other kind of error occurs
+   */
+  public void encodeText(int row, int col, Writer encoder, Context context)
+      throws IOException, SQLException {
+    byte type = types[col][row];
+    if (type == ParameterList.OBJECT) {
+      objects[col][row].encodeText(encoder, context);
+    } else {
+      ParameterList.encodeText(type, primitives[col][row], encoder);
+    }
+  }
+
+  /**
+   * Encode parameter in binary format
+   *
+   * @param row row index
+   * @param col parameter index
+   * @param encoder packet writer
+   * @throws IOException if socket error occurs
+   * @throws SQLException if other kind of error occurs
+   */
+  public void encodeBinary(int row, int col, Writer encoder) throws IOException, SQLException {
+    byte type = types[col][row];
+    if (type == ParameterList.OBJECT) {
+      objects[col][row].encodeBinary(encoder);
+    } else {
+      ParameterList.encodeBinary(type, primitives[col][row], encoder);
+    }
+  }
+
+  /**
+   * Copy of the batch, independent of further modification of this batch
+   *
+   * @return batch copy
+   */
+  public ParameterBatch copy() {
+    ParameterBatch copy = new ParameterBatch();
+    copy.ensureCapacity(rows, columns);
+    for (int col = 0; col < columns; col++) {
+      System.arraycopy(types[col], 0, copy.types[col], 0, rows);
+      System.arraycopy(primitives[col], 0, copy.primitives[col], 0, rows);
+      System.arraycopy(objects[col], 0, copy.objects[col], 0, rows);
+    }
+    System.arraycopy(rowSizes, 0, copy.rowSizes, 0, rows);
+    copy.rows = rows;
+    copy.approximateSize = approximateSize;
+    return copy;
+  }
+
+  private void ensureCapacity(int rowNumber, int columnNumber) {
+    if (rowNumber > rowCapacity) {
+      rowCapacity = Math.max(rowCapacity + (rowCapacity >> 1), rowNumber);
+      rowSizes = Arrays.copyOf(rowSizes, rowCapacity);
+      for (int col = 0; col < columns; col++) {
+        types[col] = Arrays.copyOf(types[col], rowCapacity);
+        primitives[col] = Arrays.copyOf(primitives[col], rowCapacity);
+        objects[col] = Arrays.copyOf(objects[col], rowCapacity);
+      }
+    }
+    if (columnNumber > columns) {
+      types = Arrays.copyOf(types, columnNumber);
+      primitives = Arrays.copyOf(primitives, columnNumber);
+      objects = Arrays.copyOf(objects, columnNumber);
+      for (int col = columns; col < columnNumber; col++) {
+        types[col] = new byte[rowCapacity];
+        primitives[col] = new long[rowCapacity];
+        objects[col] = new Parameter[rowCapacity];
+      }
+      columns = columnNumber;
+    }
+  }
+
+  /** Row view of batch parameters */
+  private final class Row implements Parameters {
+    private final int row;
+
+    Row(int row) {
+      this.row = row;
+    }
+
+    @Override
+    public Parameter get(int index) {
+      if (index >= rowSizes[row])
+        throw new ArrayIndexOutOfBoundsException(
+            "wrong index " + index + " length:" + rowSizes[row]);
+      byte type = types[index][row];
+      return type == ParameterList.OBJECT
+          ? objects[index][row]
+          : ParameterList.wrap(type, primitives[index][row]);
+    }
+
+    @Override
+    public boolean containsKey(int index) {
+      return index >= 0
+          && index < rowSizes[row]
+          && (types[index][row] != ParameterList.OBJECT || objects[index][row] != null);
+    }
+
+    @Override
+    public void set(int index, Parameter element) {
+      types[index][row] = ParameterList.OBJECT;
+      objects[index][row] = element;
+    }
+
+    @Override
+    public int size() {
+      return rowSizes[row];
+    }
+
+    @Override
+    public boolean isNull(int index) {
+      return ParameterBatch.this.isNull(row, index);
+    }
+
+    @Override
+    public boolean canEncodeLongData(int index) {
+      return ParameterBatch.this.canEncodeLongData(row, index);
+    }
+
+    @Override
+    public int getBinaryEncodeType(int index) {
+      return ParameterBatch.this.getBinaryEncodeType(row, index);
+    }
+
+    @Override
+    public void encodeText(int index, Writer encoder, Context context)
+        throws IOException, SQLException {
+      ParameterBatch.this.encodeText(row, index, encoder, context);
+    }
+
+    @Override
+    public void encodeBinary(int index, Writer encoder) throws IOException, SQLException {
+      ParameterBatch.this.encodeBinary(row, index, encoder);
+    }
+
+    @Override
+    public Parameters clone() {
+      ParameterList list = new ParameterList(rowSizes[row]);
+      for (int col = 0; col < rowSizes[row]; col++) {
+        list.types[col] = types[col][row];
+        list.primitives[col] = primitives[col][row];
+        list.elementData[col] = objects[col][row];
+      }
+      list.length = rowSizes[row];
+      return list;
+    }
+  }
+}
@@ -4,33 +4,57 @@
 
 package org.mariadb.jdbc.util;
 
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.Arrays;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.socket.Writer;
 import org.mariadb.jdbc.client.util.Parameter;
 import org.mariadb.jdbc.client.util.Parameters;
+import org.mariadb.jdbc.codec.NonNullParameter;
+import org.mariadb.jdbc.plugin.codec.*;
 
+/**
+ * Parameter list. Primitive values are stored unboxed in a long slot array, with a type tag for
+ * each index; other values are stored as {@link Parameter} objects. Primitive parameters are only
+ * wrapped when retrieved with {@link #get(int)}, encoders using index based methods.
+ */
 public class ParameterList implements Parameters, Cloneable {
+  static final byte OBJECT = 0;
+  static final byte BOOLEAN = 1;
+  static final byte BYTE = 2;
+  static final byte SHORT = 3;
+  static final byte INT = 4;
+  static final byte LONG = 5;
+  static final byte FLOAT = 6;
+  static final byte DOUBLE = 7;
+
   Parameter[] elementData;
+  long[] primitives;
+  byte[] types;
   int length;
 
   public ParameterList(int defaultSize) {
     elementData = new Parameter[defaultSize];
+    primitives = new long[defaultSize];
+    types = new byte[defaultSize];
     length = 0;
   }
 
   public ParameterList() {
-    elementData = new Parameter[10];
-    length = 0;
+    this(10);
   }
 
   public Parameter get(int index) {
     if (index >= length)
       throw new ArrayIndexOutOfBoundsException("wrong index " + index + " length:" + length);
-    return elementData[index];
+    return types[index] == OBJECT ? elementData[index] : wrap(types[index], primitives[index]);
   }
 
   public boolean containsKey(int index) {
     if (index >= 0 && length > index) {
-      return elementData[index] != null;
+      return types[index] != OBJECT || elementData[index] != null;
     }
     return false;
   }
@@ -38,9 +62,194 @@ public class ParameterList implements Parameters, Cloneable {
   public void set(int index, Parameter element) {
     if (elementData.length <= index) grow(index + 1);
     elementData[index] = element;
+    types[index] = OBJECT;
+    if (index >= length) length = index + 1;
+  }
+
+  private void setPrimitive(int index, byte type, long value) {
+    if (elementData.length <= index) grow(index + 1);
+    elementData[index] = null;
+    primitives[index] = value;
+    types[index] = type;
     if (index >= length) length = index + 1;
   }
 
+  @Override
+  public void setBoolean(int index, boolean value) {
+    setPrimitive(index, BOOLEAN, value ? 1 : 0);
+  }
+
+  @Override
+  public void setByte(int index, byte value) {
+    setPrimitive(index, BYTE, value);
+  }
+
+  @Override
+  public void setShort(int index, short value) {
+    setPrimitive(index, SHORT, value);
+  }
+
+  @Override
+  public void setInt(int index, int value) {
+    setPrimitive(index, INT, value);
+  }
+
+  @Override
+  public void setLong(int index, long value) {
+    setPrimitive(index, LONG, value);
+  }
+
+  @Override
+  public void setFloat(int index, float value) {
+    setPrimitive(index, FLOAT, Float.floatToRawIntBits(value));
+  }
+
+  @Override
+  public void setDouble(int index, double value) {
+    setPrimitive(index, DOUBLE, Double.doubleToRawLongBits(value));
+  }
+
+  @Override
+  public boolean isNull(int index) {
+    return types[index] == OBJECT && get(index).isNull();
+  }
+
+  @Override
+  public boolean canEncodeLongData(int index) {
+    return types[index] == OBJECT && get(index).canEncodeLongData();
+  }
+
+  @Override
+  public int getBinaryEncodeType(int index) {
+    return types[index] == OBJECT
+        ? get(index).getBinaryEncodeType()
+        : binaryEncodeType(types[index]);
+  }
+
+  @Override
+  public void encodeText(int index, Writer encoder, Context context)
+      throws IOException, SQLException {
+    if (types[index] == OBJECT) {
+      get(index).encodeText(encoder, context);
+    } else {
+      encodeText(types[index], primitives[index], encoder);
+    }
+  }
+
+  @Override
+  public void encodeBinary(int index, Writer encoder) throws IOException, SQLException {
+    if (types[index] == OBJECT) {
+      get(index).encodeBinary(encoder);
+    } else {
+      encodeBinary(types[index], primitives[index], encoder);
+    }
+  }
+
+  /**
+   * Wrap a primitive value in a parameter object
+   *
+   * @param type primitive type tag
+   * @param value primitive value slot
+   * @return parameter
+   */
+  static Parameter wrap(byte type, long value) {
+    switch (type) {
+      case BOOLEAN:
+        return new NonNullParameter<>(BooleanCodec.INSTANCE, value != 0);
+      case BYTE:
+        return new NonNullParameter<>(ByteCodec.INSTANCE, (byte) value);
+      case SHORT:
+        return new NonNullParameter<>(ShortCodec.INSTANCE, (short) value);
+      case INT:
+        return new NonNullParameter<>(IntCodec.INSTANCE, (int) value);
+      case LONG:
+        return new NonNullParameter<>(LongCodec.INSTANCE, value);
+      case FLOAT:
+        return new NonNullParameter<>(FloatCodec.INSTANCE, Float.intBitsToFloat((int) value));
+      default:
+        return new NonNullParameter<>(DoubleCodec.INSTANCE, Double.longBitsToDouble(value));
+    }
+  }
+
+  /**
+   * Binary encoding type of a primitive value
+   *
+   * @param type primitive type tag
+   * @return binary encoding type
+   */
+  static int binaryEncodeType(byte type) {
+    switch (type) {
+      case BOOLEAN:
+      case BYTE:
+        return DataType.TINYINT.get();
+      case SHORT:
+        return DataType.SMALLINT.get();
+      case INT:
+        return DataType.INTEGER.get();
+      case LONG:
+        return DataType.BIGINT.get();
+      case FLOAT:
+        return DataType.FLOAT.get();
+      default:
+        return DataType.DOUBLE.get();
+    }
+  }
+
+  /**
+   * Encode a primitive value in text format, same as corresponding codec
+   *
+   * @param type primitive type tag
+   * @param value primitive value slot
+   * @param encoder packet writer
+   * @throws IOException if socket error occurs
+   */
+  static void encodeText(byte type, long value, Writer encoder) throws IOException {
+    switch (type) {
+      case BOOLEAN:
+        encoder.writeAscii(value != 0 ? "1" : "0");
+        break;
+      case FLOAT:
+        encoder.writeAscii(Float.toString(Float.intBitsToFloat((int) value)));
+        break;
+      case DOUBLE:
+        encoder.writeAscii(Double.toString(Double.longBitsToDouble(value)));
+        break;
+      default:
+        encoder.writeAscii(Long.toString(value));
+    }
+  }
+
+  /**
+   * Encode a primitive value in binary format, same as corresponding codec
+   *
+   * @param type primitive type tag
+   * @param value primitive value slot
+   * @param encoder packet writer
+   * @throws IOException if socket error occurs
+   */
+  static void encodeBinary(byte type, long value, Writer encoder) throws IOException {
+    switch (type) {
+      case BOOLEAN:
+      case BYTE:
+        encoder.writeByte((int) value);
+        break;
+      case SHORT:
+        encoder.writeShort((short) value);
+        break;
+      case INT:
+        encoder.writeInt((int) value);
+        break;
+      case LONG:
+        encoder.writeLong(value);
+        break;
+      case FLOAT:
+        encoder.writeFloat(Float.intBitsToFloat((int) value));
+        break;
+      default:
+        encoder.writeDouble(Double.longBitsToDouble(value));
+    }
+  }
+
   public int size() {
     return length;
   }
@@ -49,12 +258,18 @@ public class ParameterList implements Parameters, Cloneable {
     int currLength = elementData.length;
     int newLength = Math.max(currLength + (currLength >> 1), minLength);
     elementData = Arrays.copyOf(elementData, newLength);
+    primitives = Arrays.copyOf(primitives, newLength);
+    types = Arrays.copyOf(types, newLength);
   }
 
   @Override
   public ParameterList clone() {
     ParameterList param = new ParameterList(length);
-    if (length > 0) System.arraycopy(elementData, 0, param.elementData, 0, length);
+    if (length > 0) {
+      System.arraycopy(elementData, 0, param.elementData, 0, length);
+      System.arraycopy(primitives, 0, param.primitives, 0, length);
+      System.arraycopy(types, 0, param.types, 0, length);
+    }
     param.length = length;
     return param;
   }
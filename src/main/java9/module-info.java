@@ -16,6 +16,7 @@ module org.mariadb.jdbc {
 
   exports org.mariadb.jdbc;
   exports org.mariadb.jdbc.client;
+  exports org.mariadb.jdbc.client.result;
   exports org.mariadb.jdbc.client.util;
   exports org.mariadb.jdbc.client.socket;
   exports org.mariadb.jdbc.message;
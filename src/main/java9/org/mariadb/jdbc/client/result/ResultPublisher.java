@@ -0,0 +1,196 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.client.result;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publisher of result-set rows, for java 9+. Each row is converted by a mapper, so published items
+ * do not depend on result-set cursor.
+ *
+ * <p>When result-set is streaming (fetch size set), rows are read from socket only when requested
+ * by subscriber: each fetch reads at most the outstanding demand, limited to initial fetch size.
+ * Result-set is closed on completion, error or cancellation, skipping rows that have not been read.
+ * An exception thrown by subscriber {@code onNext} cancels subscription, without {@code onError}.
+ *
+ * <p>Rows are emitted on the thread calling {@link Flow.Subscription#request(long)}. Publisher
+ * accepts only one subscriber.
+ *
+ * @param <T> published item type
+ */
+public final class ResultPublisher<T> implements Flow.Publisher<T> {
+
+  /**
+   * Row conversion
+   *
+   * @param <T> item type
+   */
+  @FunctionalInterface
+  public interface RowMapper<T> {
+
+    /**
+     * Convert current result-set row.
+     *
+     * @param rs result-set, positioned on row
+     * @return item, must not be null
+     * @throws SQLException if any error occurs
+     */
+    T map(ResultSet rs) throws SQLException;
+  }
+
+  private final ResultSet rs;
+  private final RowMapper<T> mapper;
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+
+  /**
+   * Constructor
+   *
+   * @param rs result-set, without any row read
+   * @param mapper row conversion
+   */
+  public ResultPublisher(ResultSet rs, RowMapper<T> mapper) {
+    this.rs = rs;
+    this.mapper = mapper;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super T> subscriber) {
+    if (subscriber == null) throw new NullPointerException("subscriber");
+    if (!subscribed.compareAndSet(false, true)) {
+      subscriber.onSubscribe(
+          new Flow.Subscription() {
+            @Override
+            public void request(long n) {}
+
+            @Override
+            public void cancel() {}
+          });
+      subscriber.onError(new IllegalStateException("Publisher only permits one subscriber"));
+      return;
+    }
+    RowSubscription subscription = new RowSubscription(subscriber);
+    subscriber.onSubscribe(subscription);
+    subscription.drain();
+  }
+
+  private final class RowSubscription implements Flow.Subscription {
+
+    private final Flow.Subscriber<? super T> subscriber;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile Throwable invalidRequest;
+    private boolean done;
+    private int maxFetchSize = -1;
+
+    private RowSubscription(Flow.Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        invalidRequest =
+            new IllegalArgumentException("Subscription request must be positive, was " + n);
+      } else {
+        long current;
+        long next;
+        do {
+          current = requested.get();
+          if (current == Long.MAX_VALUE) break;
+          next = current + n;
+          if (next < 0) next = Long.MAX_VALUE;
+        } while (!requested.compareAndSet(current, next));
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      drain();
+    }
+
+    /**
+     * Emit requested rows. Only one thread emits at a time, other calls being handled by the
+     * emitting thread, avoiding recursion when subscriber requests rows from onNext.
+     */
+    private void drain() {
+      if (wip.getAndIncrement() != 0) return;
+      int missed = 1;
+      do {
+        if (done) return;
+        if (cancelled) {
+          terminate(null, false);
+          return;
+        }
+        if (invalidRequest != null) {
+          terminate(invalidRequest, true);
+          return;
+        }
+        long demand = requested.get();
+        long emitted = 0;
+        try {
+          if (maxFetchSize == -1) maxFetchSize = rs.getFetchSize();
+          while (emitted != demand) {
+            if (cancelled) {
+              terminate(null, false);
+              return;
+            }
+            if (maxFetchSize > 0) {
+              // streaming: do not read more rows than requested
+              rs.setFetchSize((int) Math.min(maxFetchSize, demand - emitted));
+            }
+            if (!rs.next()) {
+              terminate(null, true);
+              return;
+            }
+            T item = mapper.map(rs);
+            try {
+              subscriber.onNext(item);
+            } catch (Throwable t) {
+              // subscriber failure: subscription is considered cancelled, without signal
+              terminate(null, false);
+              return;
+            }
+            emitted++;
+          }
+          if (rs instanceof Result && ((Result) rs).exhausted()) {
+            // complete without waiting for another request
+            terminate(null, true);
+            return;
+          }
+        } catch (Throwable t) {
+          terminate(t, true);
+          return;
+        }
+        if (emitted != 0 && demand != Long.MAX_VALUE) requested.addAndGet(-emitted);
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void terminate(Throwable error, boolean signal) {
+      done = true;
+      Throwable closeError = null;
+      try {
+        rs.close();
+      } catch (SQLException e) {
+        closeError = e;
+      }
+      if (!signal) return;
+      if (error == null) error = closeError;
+      if (error != null) {
+        subscriber.onError(error);
+      } else {
+        subscriber.onComplete();
+      }
+    }
+  }
+}
@@ -7,7 +7,9 @@ package org.mariadb.jdbc.integration;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.*;
 import org.mariadb.jdbc.Connection;
@@ -420,6 +422,95 @@ public class BatchTest extends Common {
     }
   }
 
+  @Test
+  public void rewriteBatchResults() throws SQLException {
+    Assumptions.assumeTrue(isMariaDBServer());
+    // small max_allowed_packet: rows are split in many multi-values commands
+    try (Connection con =
+        createCon("&useServerPrepStmts=false&rewriteBatchedStatements&maxAllowedPacket=1024")) {
+      Statement stmt = con.createStatement();
+      stmt.execute("DROP TABLE IF EXISTS rewriteBatchResults");
+      stmt.execute(
+          "CREATE TABLE rewriteBatchResults(id int not null primary key auto_increment, val"
+              + " varchar(300))");
+      stmt.execute("INSERT INTO rewriteBatchResults(id, val) values (3, 'existing')");
+      String val = String.join("", java.util.Collections.nCopies(200, "a"));
+
+      // ignored row: insert ids cannot be derived from command insert id
+      try (PreparedStatement prep =
+          con.prepareStatement(
+              "INSERT IGNORE INTO rewriteBatchResults(id, val) VALUES (?,?)",
+              java.sql.Statement.RETURN_GENERATED_KEYS)) {
+        for (int i = 1; i <= 8; i++) {
+          prep.setInt(1, i);
+          prep.setString(2, val);
+          prep.addBatch();
+        }
+        int[] res = prep.executeBatch();
+        assertEquals(8, res.length);
+        ResultSet rs = prep.getGeneratedKeys();
+        while (rs.next()) {
+          long id = rs.getLong(1);
+          // only ids of commands that inserted all their rows, which cannot include 3
+          assertNotEquals(3, id);
+        }
+      }
+
+      // failing command: rows of previous commands are reported as succeeded
+      stmt.execute("TRUNCATE rewriteBatchResults");
+      stmt.execute("INSERT INTO rewriteBatchResults(id, val) values (8, 'existing')");
+      try (PreparedStatement prep =
+          con.prepareStatement("INSERT INTO rewriteBatchResults(id, val) VALUES (?,?)")) {
+        for (int i = 1; i <= 10; i++) {
+          prep.setInt(1, i);
+          prep.setString(2, val);
+          prep.addBatch();
+        }
+        BatchUpdateException e = assertThrows(BatchUpdateException.class, prep::executeBatch);
+        int[] counts = e.getUpdateCounts();
+        assertEquals(10, counts.length);
+        assertEquals(1, counts[0]);
+        assertEquals(java.sql.Statement.EXECUTE_FAILED, counts[7]);
+      }
+    }
+  }
+
+  @Test
+  public void rewriteBatchAutoIncrementChange() throws SQLException {
+    Assumptions.assumeTrue(isMariaDBServer());
+    try (Connection con = createCon("&useServerPrepStmts=false&rewriteBatchedStatements")) {
+      Statement stmt = con.createStatement();
+      stmt.execute("DROP TABLE IF EXISTS rewriteBatchAutoInc");
+      stmt.execute(
+          "CREATE TABLE rewriteBatchAutoInc(id int not null primary key auto_increment, val int)");
+      for (int increment = 1; increment <= 3; increment++) {
+        // generated keys must use current session auto_increment_increment
+        stmt.execute("SET @@auto_increment_increment=" + increment);
+        try (PreparedStatement prep =
+            con.prepareStatement(
+                "INSERT INTO rewriteBatchAutoInc(val) VALUES (?)",
+                java.sql.Statement.RETURN_GENERATED_KEYS)) {
+          for (int i = 0; i < 3; i++) {
+            prep.setInt(1, i);
+            prep.addBatch();
+          }
+          prep.executeBatch();
+          ResultSet rs = prep.getGeneratedKeys();
+          ResultSet real =
+              stmt.executeQuery("SELECT id FROM rewriteBatchAutoInc ORDER BY id DESC LIMIT 3");
+          List<Long> expected = new ArrayList<>();
+          while (real.next()) expected.add(0, real.getLong(1));
+          for (long id : expected) {
+            assertTrue(rs.next());
+            assertEquals(id, rs.getLong(1));
+          }
+          assertFalse(rs.next());
+        }
+      }
+      stmt.execute("SET @@auto_increment_increment=1");
+    }
+  }
+
   private class TimestampCal {
     private Timestamp val;
     private int id;
@@ -443,6 +534,50 @@ public class BatchTest extends Common {
     }
   }
 
+  @Test
+  public void batchAutoFlush() throws SQLException {
+    try (Connection con = createCon("&useServerPrepStmts=false&batchFlushRows=3")) {
+      batchAutoFlush(con);
+    }
+    try (Connection con = createCon("&useServerPrepStmts=false&batchFlushSize=100")) {
+      batchAutoFlush(con);
+    }
+    try (Connection con = createCon("&useServerPrepStmts&batchFlushRows=3")) {
+      batchAutoFlush(con);
+    }
+    try (Connection con = createCon("&useServerPrepStmts&useBulkStmts=false&batchFlushRows=3")) {
+      batchAutoFlush(con);
+    }
+  }
+
+  private void batchAutoFlush(Connection con) throws SQLException {
+    Statement stmt = con.createStatement();
+    stmt.execute("TRUNCATE BatchTest");
+    try (PreparedStatement prep =
+        con.prepareStatement("INSERT INTO BatchTest(t1, t2) VALUES (?,?)")) {
+      for (int i = 1; i <= 10; i++) {
+        prep.setInt(1, i);
+        prep.setString(2, "some value " + i);
+        prep.addBatch();
+      }
+      int[] res = prep.executeBatch();
+      assertEquals(10, res.length);
+      for (int update : res) {
+        assertTrue(update == 1 || update == Statement.SUCCESS_NO_INFO);
+      }
+
+      // flushed batch parts are discarded by clearBatch
+      prep.setInt(1, 20);
+      prep.setString(2, "cleared");
+      for (int i = 0; i < 3; i++) prep.addBatch();
+      prep.clearBatch();
+      assertEquals(0, prep.executeBatch().length);
+    }
+    ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM BatchTest");
+    assertTrue(rs.next());
+    assertEquals(10, rs.getInt(1));
+  }
+
   @Test
   public void ensureCalendarSync() throws SQLException {
     Assumptions.assumeTrue(isMariaDBServer() && !isXpand());
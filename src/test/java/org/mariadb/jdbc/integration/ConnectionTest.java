@@ -18,6 +18,7 @@ import org.junit.jupiter.api.*;
 import org.mariadb.jdbc.*;
 import org.mariadb.jdbc.integration.util.SocketFactoryBasicTest;
 import org.mariadb.jdbc.integration.util.SocketFactoryTest;
+import org.mariadb.jdbc.util.constants.ServerStatus;
 
 @DisplayName("Connection Test")
 public class ConnectionTest extends Common {
@@ -523,6 +524,11 @@ public class ConnectionTest extends Common {
       connection.setTransactionIsolation(level);
       assertEquals(level, connection.getTransactionIsolation());
     }
+
+    // level changed by query must be known
+    connection.createStatement().execute("SET SESSION TRANSACTION ISOLATION LEVEL READ COMMITTED");
+    assertEquals(
+        java.sql.Connection.TRANSACTION_READ_COMMITTED, connection.getTransactionIsolation());
     connection.close();
     assertThrows(
         SQLException.class,
@@ -538,6 +544,76 @@ public class ConnectionTest extends Common {
     }
   }
 
+  @Test
+  public void lazySessionChanges() throws SQLException {
+    try (Connection con = createCon("lazySessionChanges")) {
+      Statement stmt = con.createStatement();
+      stmt.execute("CREATE TEMPORARY TABLE lazySessionChanges(id int)");
+
+      // opposite changes cancel each other
+      con.setAutoCommit(false);
+      con.setAutoCommit(true);
+      assertTrue(con.getAutoCommit());
+      ResultSet rs = stmt.executeQuery("SELECT @@autocommit");
+      assertTrue(rs.next());
+      assertEquals(1, rs.getInt(1));
+
+      // changes are sent with next command
+      con.setTransactionIsolation(java.sql.Connection.TRANSACTION_READ_COMMITTED);
+      con.setAutoCommit(false);
+      assertFalse(con.getAutoCommit());
+      stmt.execute("INSERT INTO lazySessionChanges VALUES (1)");
+      con.rollback();
+      rs = stmt.executeQuery("SELECT count(*) FROM lazySessionChanges");
+      assertTrue(rs.next());
+      assertEquals(0, rs.getInt(1));
+      assertEquals(java.sql.Connection.TRANSACTION_READ_COMMITTED, con.getTransactionIsolation());
+
+      // enabling autocommit in transaction commits immediately
+      stmt.execute("INSERT INTO lazySessionChanges VALUES (2)");
+      con.setAutoCommit(true);
+      assertEquals(
+          0,
+          ((org.mariadb.jdbc.Connection) con).getContext().getServerStatus()
+              & ServerStatus.IN_TRANSACTION);
+    }
+  }
+
+  @Test
+  public void lazySessionChangesReversal() throws SQLException {
+    try (Connection con = createCon("lazySessionChanges")) {
+      Statement stmt = con.createStatement();
+      stmt.execute("CREATE TEMPORARY TABLE lazySessionChangesReversal(id int)");
+
+      // queued change reverted before next command: server keeps autocommit
+      con.setAutoCommit(false);
+      con.setAutoCommit(true);
+      assertTrue(con.getAutoCommit());
+      stmt.execute("INSERT INTO lazySessionChangesReversal VALUES (1)");
+      con.rollback();
+      ResultSet rs = stmt.executeQuery("SELECT @@autocommit");
+      assertTrue(rs.next());
+      assertEquals(1, rs.getInt(1));
+      rs = stmt.executeQuery("SELECT count(*) FROM lazySessionChangesReversal");
+      assertTrue(rs.next());
+      assertEquals(1, rs.getInt(1));
+
+      // queued change reverted then applied again is sent
+      con.setAutoCommit(false);
+      con.setAutoCommit(true);
+      con.setAutoCommit(false);
+      assertFalse(con.getAutoCommit());
+      stmt.execute("INSERT INTO lazySessionChangesReversal VALUES (2)");
+      con.rollback();
+      rs = stmt.executeQuery("SELECT @@autocommit");
+      assertTrue(rs.next());
+      assertEquals(0, rs.getInt(1));
+      rs = stmt.executeQuery("SELECT count(*) FROM lazySessionChangesReversal");
+      assertTrue(rs.next());
+      assertEquals(1, rs.getInt(1));
+    }
+  }
+
   @Test
   public void savepointTest() throws SQLException {
     try (Connection con = createCon()) {
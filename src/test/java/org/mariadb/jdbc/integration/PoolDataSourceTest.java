@@ -11,6 +11,9 @@ import java.sql.*;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -310,6 +313,106 @@ public class PoolDataSourceTest extends Common {
     }
   }
 
+  @Test
+  public void testLazyResetUserVariable() throws SQLException {
+    Assumptions.assumeTrue(isMariaDBServer() && minVersion(10, 3, 13));
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl + "&maxPoolSize=1&useResetConnection&lazyResetConnection")) {
+      long threadId;
+      try (Connection connection = pool.getConnection()) {
+        threadId = ((org.mariadb.jdbc.Connection) connection).getThreadId();
+        Statement statement = connection.createStatement();
+        statement.execute("SET @str = '123'");
+        assertEquals("123", getUserVariableStr(statement));
+      }
+
+      // reset is sent with first command
+      for (int i = 0; i < 2; i++) {
+        try (Connection connection = pool.getConnection()) {
+          assertEquals(threadId, ((org.mariadb.jdbc.Connection) connection).getThreadId());
+          Statement statement = connection.createStatement();
+          assertNull(getUserVariableStr(statement));
+          statement.execute("SET @str = '456'");
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLazyResetDiscardsSessionChanges() throws SQLException {
+    Assumptions.assumeTrue(isMariaDBServer() && minVersion(10, 3, 13));
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl + "&maxPoolSize=1&useResetConnection&lazyResetConnection&lazySessionChanges")) {
+      String defaultIsolation;
+      try (Connection connection = pool.getConnection()) {
+        defaultIsolation = getIsolation(connection.createStatement());
+        // change is only queued, and must not be applied to next borrower session
+        connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+      }
+
+      try (Connection connection = pool.getConnection()) {
+        assertEquals(defaultIsolation, getIsolation(connection.createStatement()));
+      }
+    }
+  }
+
+  @Test
+  public void testLazyResetEndsTransaction() throws SQLException {
+    Assumptions.assumeTrue(isMariaDBServer() && minVersion(10, 3, 13));
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl + "&maxPoolSize=1&useResetConnection&lazyResetConnection")) {
+      try (Connection connection = pool.getConnection()) {
+        connection.setAutoCommit(false);
+        connection
+            .createStatement()
+            .execute("INSERT INTO testResetRollback(id, test) VALUES (1000, 'locked')");
+      }
+
+      // released connection must not keep transaction locks while idle in pool
+      try (Connection other = createCon()) {
+        Statement stmt = other.createStatement();
+        stmt.execute("SET SESSION innodb_lock_wait_timeout=1");
+        stmt.execute("INSERT INTO testResetRollback(id, test) VALUES (1000, 'other')");
+        stmt.execute("DELETE FROM testResetRollback WHERE id = 1000");
+      }
+    }
+  }
+
+  @Test
+  public void testResetKeepsIsolationTracking() throws SQLException {
+    Assumptions.assumeTrue(isMariaDBServer() && minVersion(10, 3, 13));
+    testResetKeepsIsolationTracking("&useResetConnection");
+    testResetKeepsIsolationTracking("&useResetConnection&lazyResetConnection");
+  }
+
+  private void testResetKeepsIsolationTracking(String options) throws SQLException {
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(mDefUrl + "&maxPoolSize=1" + options)) {
+      for (int i = 0; i < 2; i++) {
+        try (Connection connection = pool.getConnection()) {
+          org.mariadb.jdbc.Connection con = (org.mariadb.jdbc.Connection) connection;
+          Statement statement = connection.createStatement();
+          statement.execute("SET SESSION TRANSACTION ISOLATION LEVEL READ COMMITTED");
+          // tracking is restored after reset: isolation change is known without query
+          assertTrue(con.getContext().isTransactionIsolationTracked());
+          assertEquals(
+              Connection.TRANSACTION_READ_COMMITTED,
+              con.getContext().getTransactionIsolationLevel());
+          assertEquals(Connection.TRANSACTION_READ_COMMITTED, con.getTransactionIsolation());
+        }
+      }
+    }
+  }
+
+  private String getIsolation(Statement statement) throws SQLException {
+    ResultSet rs = statement.executeQuery("SELECT @@tx_isolation");
+    assertTrue(rs.next());
+    return rs.getString(1);
+  }
+
   private String getUserVariableStr(Statement statement) throws SQLException {
     ResultSet rs = statement.executeQuery("SELECT @str");
     assertTrue(rs.next());
@@ -407,7 +510,7 @@ public class PoolDataSourceTest extends Common {
         ObjectName name = objectNames.iterator().next();
 
         MBeanInfo info = server.getMBeanInfo(name);
-        assertEquals(4, info.getAttributes().length);
+        assertEquals(10, info.getAttributes().length);
 
         checkJmxInfo(server, name, 1, 1, 0);
 
@@ -420,6 +523,119 @@ public class PoolDataSourceTest extends Common {
     }
   }
 
+  @Test
+  public void testJmxParserCache() throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName filter = new ObjectName("org.mariadb.jdbc.pool:type=testJmxParserCache-*");
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(mDefUrl + "&maxPoolSize=2&poolName=testJmxParserCache")) {
+      ObjectName name = server.queryNames(filter, null).iterator().next();
+      long hits = (Long) server.getAttribute(name, "ParserCacheHits");
+      long misses = (Long) server.getAttribute(name, "ParserCacheMisses");
+      try (Connection connection = pool.getConnection()) {
+        String sql = "SELECT ? /* testJmxParserCache " + System.nanoTime() + " */";
+        connection.prepareStatement(sql).close();
+        connection.prepareStatement(sql).close();
+      }
+      assertTrue((Long) server.getAttribute(name, "ParserCacheMisses") > misses);
+      assertTrue((Long) server.getAttribute(name, "ParserCacheHits") > hits);
+    }
+  }
+
+  @Test
+  public void testParallelCreation() throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName filter = new ObjectName("org.mariadb.jdbc.pool:type=testParallelCreation-*");
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl
+                + "&maxPoolSize=10&minPoolSize=8&poolCreationParallelism=4&poolName=testParallelCreation")) {
+      // minimum connections are created when pool is initialized
+      ObjectName name = server.queryNames(filter, null).iterator().next();
+      checkJmxInfo(server, name, 0, 8, 8);
+      assertEquals(0L, server.getAttribute(name, "ConnectionsInCreation"));
+      assertEquals(0L, server.getAttribute(name, "ConnectionCreationFailures"));
+
+      Connection[] connections = new Connection[10];
+      for (int i = 0; i < 10; i++) connections[i] = pool.getConnection();
+      checkJmxInfo(server, name, 10, 10, 0);
+      for (Connection connection : connections) connection.close();
+      checkJmxInfo(server, name, 0, 10, 10);
+    }
+  }
+
+  @Test
+  public void testBackgroundValidation() throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName filter = new ObjectName("org.mariadb.jdbc.pool:type=testBackgroundValidation-*");
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl
+                + "&maxPoolSize=2&minPoolSize=2&poolValidationInterval=200&poolName=testBackgroundValidation")) {
+      ObjectName name = server.queryNames(filter, null).iterator().next();
+      Thread.sleep(1_000);
+
+      // idle connections have been validated by pool, not when borrowed
+      assertTrue((Long) server.getAttribute(name, "BackgroundValidations") > 0);
+      try (Connection connection = pool.getConnection()) {
+        assertTrue(connection.isValid(1));
+      }
+      long[] histogram = (long[]) server.getAttribute(name, "BorrowValidationHistogram");
+      assertEquals(8, histogram.length);
+      checkJmxInfo(server, name, 0, 2, 2);
+    }
+
+    // background validation is disabled by default
+    filter = new ObjectName("org.mariadb.jdbc.pool:type=testNoBackgroundValidation-*");
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl + "&maxPoolSize=2&minPoolSize=2&poolName=testNoBackgroundValidation")) {
+      ObjectName name = server.queryNames(filter, null).iterator().next();
+      Thread.sleep(1_000);
+      assertEquals(0L, server.getAttribute(name, "BackgroundValidations"));
+    }
+  }
+
+  @Test
+  public void testMaxWaiters() throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName filter = new ObjectName("org.mariadb.jdbc.pool:type=testMaxWaiters-*");
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl
+                + "&maxPoolSize=1&minPoolSize=1&poolMaxWaiters=1&connectTimeout=2000&poolName=testMaxWaiters")) {
+      ObjectName name = server.queryNames(filter, null).iterator().next();
+      ExecutorService exec = Executors.newSingleThreadExecutor();
+      try (Connection connection = pool.getConnection()) {
+        // first waiting request is queued, second one fails immediately
+        Future<?> waiting =
+            exec.submit(
+                () -> {
+                  try (Connection other = pool.getConnection()) {
+                    return other.isValid(1);
+                  }
+                });
+        Thread.sleep(200);
+        long start = System.nanoTime();
+        SQLException e = assertThrows(SQLException.class, pool::getConnection);
+        assertTrue(e.getMessage().contains("poolMaxWaiters"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(1L, server.getAttribute(name, "RejectedConnectionRequests"));
+
+        connection.close();
+        assertEquals(true, waiting.get(2, TimeUnit.SECONDS));
+      } finally {
+        exec.shutdown();
+      }
+
+      // pool exhausted without waiting limit reached: fail at deadline
+      try (Connection connection = pool.getConnection()) {
+        assertThrows(SQLException.class, pool::getConnection);
+        assertEquals(1L, server.getAttribute(name, "TimedOutConnectionRequests"));
+      }
+    }
+  }
+
   @Test
   public void testNoMinConnection() throws Exception {
     MBeanServer server = ManagementFactory.getPlatformMBeanServer();
@@ -433,7 +649,7 @@ public class PoolDataSourceTest extends Common {
         ObjectName name = objectNames.iterator().next();
 
         MBeanInfo info = server.getMBeanInfo(name);
-        assertEquals(4, info.getAttributes().length);
+        assertEquals(10, info.getAttributes().length);
 
         // wait to ensure pool has time to create 5 connections
         try {
@@ -494,7 +710,7 @@ public class PoolDataSourceTest extends Common {
         ObjectName name = objectNames.iterator().next();
 
         MBeanInfo info = server.getMBeanInfo(name);
-        assertEquals(4, info.getAttributes().length);
+        assertEquals(10, info.getAttributes().length);
 
         // to ensure pool has time to create minimal connection number
         Thread.sleep(200);
@@ -702,9 +918,28 @@ public class PoolDataSourceTest extends Common {
         conn.isValid(1);
         assertEquals(threadId, ((org.mariadb.jdbc.Connection) conn).getThreadId());
       }
+      // pool connection change user, no dedicated connection
       try (Connection conn = pool.getConnection("poolUser", "!Passw0rd3Works")) {
-        conn.isValid(1);
-        assertNotEquals(threadId, ((org.mariadb.jdbc.Connection) conn).getThreadId());
+        assertEquals(threadId, ((org.mariadb.jdbc.Connection) conn).getThreadId());
+        ResultSet rs = conn.createStatement().executeQuery("SELECT CURRENT_USER()");
+        assertTrue(rs.next());
+        assertTrue(rs.getString(1).startsWith("poolUser@"));
+
+        // KILL commands are sent with current user, owning server thread
+        org.mariadb.jdbc.Connection con = (org.mariadb.jdbc.Connection) conn;
+        assertEquals("poolUser", con.getClient().getUserConfiguration().user());
+        con.cancelCurrentQuery();
+      }
+
+      // wrong password must not reuse connection authenticated as this user
+      assertThrows(SQLException.class, () -> pool.getConnection("poolUser", "wrongPassword"));
+
+      try (Connection conn = pool.getConnection()) {
+        ResultSet rs = conn.createStatement().executeQuery("SELECT CURRENT_USER()");
+        assertTrue(rs.next());
+        assertTrue(rs.getString(1).startsWith(user + "@"));
+        assertEquals(
+            user, ((org.mariadb.jdbc.Connection) conn).getClient().getUserConfiguration().user());
       }
     }
   }
@@ -11,11 +11,14 @@ import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.junit.jupiter.api.*;
 import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.Statement;
+import org.mariadb.jdbc.client.impl.ControlClientPool;
 import org.mariadb.jdbc.client.result.CompleteResult;
 import org.mariadb.jdbc.plugin.Codec;
 
@@ -641,6 +644,61 @@ public class StatementTest extends Common {
         "Query execution was interrupted");
   }
 
+  @Test
+  public void cancelReuseControlConnection() throws Exception {
+    Assumptions.assumeTrue(
+        isMariaDBServer()
+            && !"maxscale".equals(System.getenv("srv"))
+            && !"skysql".equals(System.getenv("srv"))
+            && !"skysql-ha".equals(System.getenv("srv"))
+            && !isXpand());
+    Statement stmt = sharedConn.createStatement();
+    ControlClientPool pool =
+        ControlClientPool.get(
+            sharedConn.getContext().getConf(), sharedConn.getClient().getHostAddress());
+    stmt.cancel();
+    long created = pool.getCreatedConnections();
+    long commands = pool.getCommands();
+    for (int i = 0; i < 10; i++) {
+      stmt.cancel();
+    }
+    // KILL QUERY commands reuse control connection
+    assertEquals(commands + 10, pool.getCommands());
+    assertEquals(created, pool.getCreatedConnections());
+    assertTrue(pool.getIdleConnections() >= 1);
+
+    // unknown thread error doesn't discard control connection
+    Common.assertThrowsContains(
+        SQLException.class, () -> pool.execute("KILL QUERY 999999999"), "Unknown thread id");
+    assertEquals(created, pool.getCreatedConnections());
+    assertTrue(pool.getIdleConnections() >= 1);
+  }
+
+  @Test
+  public void controlConnectionIdleTimeout() throws Exception {
+    Assumptions.assumeTrue(
+        isMariaDBServer()
+            && !"maxscale".equals(System.getenv("srv"))
+            && !"skysql".equals(System.getenv("srv"))
+            && !"skysql-ha".equals(System.getenv("srv"))
+            && !isXpand());
+    try (org.mariadb.jdbc.Connection con = createCon("controlConnectionIdleTimeout=1")) {
+      Statement stmt = con.createStatement();
+      stmt.cancel();
+      ControlClientPool pool =
+          ControlClientPool.get(con.getContext().getConf(), con.getClient().getHostAddress());
+      assertEquals(1, pool.getIdleConnections());
+
+      // idle control connection is closed, and empty pool removed
+      Thread.sleep(3000);
+      assertEquals(0, pool.getIdleConnections());
+      assertNotSame(
+          pool,
+          ControlClientPool.get(con.getContext().getConf(), con.getClient().getHostAddress()));
+      stmt.cancel();
+    }
+  }
+
   @Test
   public void fetch() throws SQLException {
     Statement stmt = sharedConn.createStatement();
@@ -1029,4 +1087,36 @@ public class StatementTest extends Common {
     Statement stmt = sharedConn.createStatement();
     assertEquals("N'good''one'", stmt.enquoteNCharLiteral("good'one"));
   }
+
+  @Test
+  public void executeAsync() throws Exception {
+    try (Connection con = createCon()) {
+      Statement stmt = con.createStatement();
+      stmt.execute("CREATE TEMPORARY TABLE executeAsync (t1 int)");
+      CompletableFuture<Integer> insert =
+          stmt.executeUpdateAsync("INSERT INTO executeAsync VALUES (1), (2), (3)");
+      CompletableFuture<ResultSet> wrong = stmt.executeQueryAsync("SELECT * FROM wrongTable");
+      CompletableFuture<ResultSet> select =
+          stmt.executeQueryAsync("SELECT * FROM executeAsync ORDER BY t1");
+
+      assertEquals(3, insert.get());
+      ExecutionException e = assertThrows(ExecutionException.class, wrong::get);
+      assertTrue(e.getCause() instanceof SQLException);
+
+      // error on one command does not affect following ones
+      ResultSet rs = select.get();
+      for (int i = 1; i <= 3; i++) {
+        assertTrue(rs.next());
+        assertEquals(i, rs.getInt(1));
+      }
+      assertFalse(rs.next());
+
+      e = assertThrows(ExecutionException.class, () -> stmt.executeUpdateAsync("SELECT 1").get());
+      assertTrue(e.getMessage().contains("unexpected ResultSet"));
+
+      stmt.close();
+      e = assertThrows(ExecutionException.class, () -> stmt.executeQueryAsync("SELECT 1").get());
+      assertTrue(e.getCause() instanceof SQLException);
+    }
+  }
 }
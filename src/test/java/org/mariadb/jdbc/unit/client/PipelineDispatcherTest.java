@@ -0,0 +1,136 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.Client;
+import org.mariadb.jdbc.client.Completion;
+import org.mariadb.jdbc.client.impl.PipelineDispatcher;
+import org.mariadb.jdbc.client.util.PipelineCommand;
+import org.mariadb.jdbc.message.client.PingPacket;
+
+public class PipelineDispatcherTest {
+
+  @Test
+  public void completionOrder() throws Exception {
+    ReentrantLock lock = new ReentrantLock();
+    CountDownLatch blocked = new CountDownLatch(1);
+    List<Integer> pipelineSizes = Collections.synchronizedList(new ArrayList<>());
+    Client client =
+        (Client)
+            Proxy.newProxyInstance(
+                Client.class.getClassLoader(),
+                new Class<?>[] {Client.class},
+                (proxy, method, args) -> {
+                  if (!method.getName().equals("executePipeline")) {
+                    throw new UnsupportedOperationException(method.getName());
+                  }
+                  assertTrue(lock.isHeldByCurrentThread());
+                  blocked.await(5, TimeUnit.SECONDS);
+                  @SuppressWarnings("unchecked")
+                  List<PipelineCommand> commands = (List<PipelineCommand>) args[0];
+                  pipelineSizes.add(commands.size());
+                  for (PipelineCommand command : commands) {
+                    if (command.getMaxRows() == 2) {
+                      command.setResults(null, new SQLException("expected"));
+                    } else {
+                      command.setResults(new ArrayList<>(), null);
+                    }
+                  }
+                  return null;
+                });
+
+    AtomicInteger workers = new AtomicInteger();
+    Executor executor =
+        command -> {
+          workers.incrementAndGet();
+          PipelineDispatcher.sharedExecutor(1).execute(command);
+        };
+    PipelineDispatcher dispatcher = new PipelineDispatcher(client, lock, executor);
+    List<CompletableFuture<List<Completion>>> futures = new ArrayList<>();
+    List<Integer> completed = Collections.synchronizedList(new ArrayList<>());
+    for (int i = 0; i < 5; i++) {
+      final int idx = i;
+      CompletableFuture<List<Completion>> future =
+          dispatcher.submit(new PipelineCommand(PingPacket.INSTANCE, null, i, 0, 0));
+      future.whenComplete(
+          (res, t) -> {
+            // callbacks are executed when connection lock is released
+            assertFalse(lock.isLocked());
+            completed.add(idx);
+          });
+      futures.add(future);
+    }
+    blocked.countDown();
+
+    for (int i = 0; i < 5; i++) {
+      if (i == 2) {
+        ExecutionException e = assertThrows(ExecutionException.class, futures.get(i)::get);
+        assertEquals("expected", e.getCause().getMessage());
+      } else {
+        assertNotNull(futures.get(i).get(5, TimeUnit.SECONDS));
+      }
+    }
+    assertEquals(5, pipelineSizes.stream().mapToInt(Integer::intValue).sum());
+    // commands are executed by supplied executor
+    assertTrue(workers.get() >= 1);
+    assertEquals(5, completed.size());
+    for (int i = 0; i < 5; i++) assertEquals(i, completed.get(i));
+  }
+
+  @Test
+  public void chainedCommands() throws Exception {
+    ReentrantLock lock = new ReentrantLock();
+    Client client =
+        (Client)
+            Proxy.newProxyInstance(
+                Client.class.getClassLoader(),
+                new Class<?>[] {Client.class},
+                (proxy, method, args) -> {
+                  @SuppressWarnings("unchecked")
+                  List<PipelineCommand> commands = (List<PipelineCommand>) args[0];
+                  for (PipelineCommand command : commands) {
+                    command.setResults(new ArrayList<>(), null);
+                  }
+                  return null;
+                });
+
+    // single worker: command submitted and awaited from callback must not wait for a worker
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      PipelineDispatcher dispatcher = new PipelineDispatcher(client, lock, executor);
+      CompletableFuture<List<Completion>> future =
+          dispatcher
+              .submit(new PipelineCommand(PingPacket.INSTANCE, null, 0, 0, 0))
+              .thenCompose(
+                  res -> {
+                    dispatcher
+                        .submit(new PipelineCommand(PingPacket.INSTANCE, null, 1, 0, 0))
+                        .join();
+                    return dispatcher.submit(
+                        new PipelineCommand(PingPacket.INSTANCE, null, 2, 0, 0));
+                  });
+      assertNotNull(future.get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package org.mariadb.jdbc.unit.client.socket;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.SocketChannel;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.socket.impl.ChannelInputStream;
+import org.mariadb.jdbc.client.socket.impl.ChannelOutputStream;
+
+public class ChannelStreamTest {
+
+  @Test
+  public void exchange() throws IOException {
+    try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      SocketChannel channel =
+          SocketChannel.open(
+              new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort()));
+      try (Socket serverSide = server.accept()) {
+        ChannelInputStream in = new ChannelInputStream(channel);
+        ChannelOutputStream out = new ChannelOutputStream(channel);
+
+        byte[] small = new byte[] {1, 2, 3, 4, 5};
+        byte[] big = new byte[100_000];
+        new Random(1).nextBytes(big);
+
+        // client to server: buffered small write, then gathering write of big array
+        out.write(small, 0, small.length);
+        out.write(big, 0, big.length);
+        out.flush();
+        DataInputStream serverIn = new DataInputStream(serverSide.getInputStream());
+        byte[] received = new byte[small.length + big.length];
+        serverIn.readFully(received);
+        for (int i = 0; i < small.length; i++) Assertions.assertEquals(small[i], received[i]);
+        for (int i = 0; i < big.length; i++) {
+          Assertions.assertEquals(big[i], received[small.length + i]);
+        }
+
+        // server to client
+        OutputStream serverOut = serverSide.getOutputStream();
+        serverOut.write(big);
+        serverOut.flush();
+        byte[] read = new byte[big.length];
+        int off = 0;
+        while (off < read.length) {
+          off += in.read(read, off, read.length - off);
+        }
+        Assertions.assertArrayEquals(big, read);
+
+        // socket timeout is respected
+        channel.socket().setSoTimeout(50);
+        Assertions.assertThrows(SocketTimeoutException.class, () -> in.read(read, 0, 1));
+
+        // end of stream
+        serverSide.close();
+        channel.socket().setSoTimeout(1000);
+        Assertions.assertEquals(-1, in.read(read, 0, 1));
+
+        in.close();
+        out.close();
+        Assertions.assertFalse(channel.isOpen());
+      }
+    }
+  }
+
+  @Test
+  public void closeWakesUpReader() throws Exception {
+    try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      SocketChannel channel =
+          SocketChannel.open(
+              new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort()));
+      try (Socket serverSide = server.accept()) {
+        ChannelInputStream in = new ChannelInputStream(channel);
+        ChannelOutputStream out = new ChannelOutputStream(channel);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+          // no socket timeout: reader waits until stream is closed by another thread (abort)
+          Future<Integer> reading = executor.submit(() -> in.read(new byte[1], 0, 1));
+          Thread.sleep(100);
+          Assertions.assertFalse(reading.isDone());
+          in.close();
+          out.close();
+          ExecutionException e =
+              Assertions.assertThrows(
+                  ExecutionException.class, () -> reading.get(5, TimeUnit.SECONDS));
+          Assertions.assertTrue(e.getCause() instanceof IOException);
+        } finally {
+          executor.shutdownNow();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package org.mariadb.jdbc.unit.client.socket;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.socket.impl.CompressInputStream;
+import org.mariadb.jdbc.client.socket.impl.CompressOutputStream;
+import org.mariadb.jdbc.client.util.MutableByte;
+
+public class CompressStreamTest {
+
+  @Test
+  public void roundTrip() throws IOException {
+    Random random = new Random(42);
+    int[] sizes = new int[] {100, 5000, 20000, 3000, 2 * 1024 * 1024, 10, 70000};
+    byte[][] packets = new byte[sizes.length][];
+    for (int i = 0; i < sizes.length; i++) {
+      packets[i] = new byte[sizes[i]];
+      if (i % 2 == 0) {
+        random.nextBytes(packets[i]);
+      } else {
+        for (int j = 0; j < sizes[i]; j++) packets[i][j] = (byte) ('a' + j % 7);
+      }
+    }
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    CompressOutputStream out = new CompressOutputStream(baos, new MutableByte());
+    for (byte[] packet : packets) {
+      out.write(packet, 0, packet.length);
+      out.flush();
+    }
+
+    CompressInputStream in =
+        new CompressInputStream(new ByteArrayInputStream(baos.toByteArray()), new MutableByte());
+    for (byte[] packet : packets) {
+      byte[] read = new byte[packet.length];
+      int off = 0;
+      while (off < read.length) {
+        off += in.read(read, off, read.length - off);
+      }
+      Assertions.assertArrayEquals(packet, read);
+    }
+    in.close();
+    out.close();
+  }
+
+  @Test
+  public void closedByAnotherThread() throws IOException {
+    byte[] packet = new byte[5000];
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    CompressOutputStream out = new CompressOutputStream(baos, new MutableByte());
+    out.write(packet, 0, packet.length);
+    out.flush();
+
+    // abort closes streams while data is still pending: I/O fails with IOException, not zlib NPE
+    CompressInputStream in =
+        new CompressInputStream(new ByteArrayInputStream(baos.toByteArray()), new MutableByte());
+    in.close();
+    Assertions.assertThrows(IOException.class, () -> in.read(new byte[5000], 0, 5000));
+    in.close();
+
+    out.close();
+    Assertions.assertThrows(IOException.class, () -> out.write(packet, 0, packet.length));
+    out.close();
+  }
+}
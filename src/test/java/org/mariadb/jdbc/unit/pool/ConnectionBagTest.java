@@ -0,0 +1,145 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.unit.pool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.pool.ConnectionBag;
+
+public class ConnectionBagTest {
+
+  private static class Item implements ConnectionBag.Entry {
+    private final AtomicInteger state = new AtomicInteger();
+
+    @Override
+    public int getState() {
+      return state.get();
+    }
+
+    @Override
+    public void setState(int state) {
+      this.state.set(state);
+    }
+
+    @Override
+    public boolean compareAndSetState(int expect, int update) {
+      return state.compareAndSet(expect, update);
+    }
+  }
+
+  @Test
+  public void borrowRequite() throws Exception {
+    ConnectionBag<Item> bag = new ConnectionBag<>();
+    assertNull(bag.borrow(0, TimeUnit.MILLISECONDS));
+
+    Item first = new Item();
+    Item second = new Item();
+    bag.add(first);
+    bag.add(second);
+    assertEquals(2, bag.idleSize());
+
+    assertSame(first, bag.borrow(0, TimeUnit.MILLISECONDS));
+    assertEquals(ConnectionBag.STATE_IN_USE, first.getState());
+    assertEquals(1, bag.idleSize());
+    assertFalse(bag.removeIfIdle(first));
+    assertSame(second, bag.borrow(0, TimeUnit.MILLISECONDS));
+    assertNull(bag.borrow(0, TimeUnit.MILLISECONDS));
+
+    // thread-affine: last entry released by thread is borrowed first
+    bag.requite(first);
+    bag.requite(second);
+    assertSame(second, bag.borrow(0, TimeUnit.MILLISECONDS));
+
+    assertTrue(bag.remove(second));
+    assertEquals(ConnectionBag.STATE_REMOVED, second.getState());
+    assertEquals(1, bag.values().size());
+    assertTrue(bag.removeIfIdle(first));
+    assertEquals(0, bag.values().size());
+  }
+
+  @Test
+  public void reserve() throws Exception {
+    ConnectionBag<Item> bag = new ConnectionBag<>();
+    Item item = new Item();
+    bag.add(item);
+
+    // reserved entry cannot be borrowed, but still counts as idle
+    assertTrue(bag.reserve(item));
+    assertFalse(bag.reserve(item));
+    assertNull(bag.borrow(0, TimeUnit.MILLISECONDS));
+    assertEquals(1, bag.idleSize());
+
+    bag.unreserve(item);
+    assertSame(item, bag.borrow(0, TimeUnit.MILLISECONDS));
+    assertFalse(bag.reserve(item));
+  }
+
+  @Test
+  public void borrowMatching() throws Exception {
+    ConnectionBag<Item> bag = new ConnectionBag<>();
+    Item first = new Item();
+    Item second = new Item();
+    bag.add(first);
+    bag.add(second);
+
+    assertSame(second, bag.borrowMatching(item -> item == second));
+    assertNull(bag.borrowMatching(item -> item == second));
+    assertNull(bag.borrowMatching(item -> false));
+    assertSame(first, bag.borrow(0, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void handoff() throws Exception {
+    ConnectionBag<Item> bag = new ConnectionBag<>();
+    Item item = new Item();
+    bag.add(item);
+    Item borrowed = bag.borrow(0, TimeUnit.MILLISECONDS);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Item> waiting = executor.submit(() -> bag.borrow(5, TimeUnit.SECONDS));
+      while (bag.getWaiters() == 0) Thread.yield();
+      bag.requite(borrowed);
+      assertSame(item, waiting.get(5, TimeUnit.SECONDS));
+      assertEquals(ConnectionBag.STATE_IN_USE, item.getState());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void concurrentBorrow() throws Exception {
+    ConnectionBag<Item> bag = new ConnectionBag<>();
+    for (int i = 0; i < 4; i++) bag.add(new Item());
+    Set<Item> inUse = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      Future<?>[] futures = new Future<?>[16];
+      for (int t = 0; t < 16; t++) {
+        futures[t] =
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < 2_000; i++) {
+                    Item item = bag.borrow(5, TimeUnit.SECONDS);
+                    assertNotNull(item);
+                    // an entry is never owned by two threads
+                    assertTrue(inUse.add(item));
+                    assertTrue(inUse.remove(item));
+                    bag.requite(item);
+                  }
+                  return null;
+                });
+      }
+      for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(4, bag.idleSize());
+  }
+}
@@ -73,4 +73,63 @@ public class ClientParserTest {
         new String[] {"DO '\\\"', \"\\'\""},
         new String[] {"DO '\\\"', \"\\'\""});
   }
+
+  private void rewritable(String sql, String expectedValues) {
+    ClientParser parser = ClientParser.parameterParts(sql, false);
+    if (expectedValues == null) {
+      assertFalse(parser.isInsertValuesRewritable(), sql);
+    } else {
+      assertTrue(parser.isInsertValuesRewritable(), sql);
+      assertEquals(
+          expectedValues,
+          new String(
+              parser.getQuery(),
+              parser.getValuesStart(),
+              parser.getValuesEnd() - parser.getValuesStart()));
+    }
+  }
+
+  @Test
+  public void insertValuesRewritable() {
+    rewritable("INSERT INTO t(a, b) VALUES (?, ?)", "(?, ?)");
+    rewritable("insert into t values(?, now(), '?)')", "(?, now(), '?)')");
+    rewritable("REPLACE t VALUE (?) ;", "(?)");
+    // several tuples: rows per command would be unknown
+    rewritable("REPLACE t VALUE (?),(?) ;", null);
+    rewritable("INSERT INTO t(a, b) VALUES (?, ?), (?, ?)", null);
+    rewritable("INSERT INTO t VALUES (?, ?) ON DUPLICATE KEY UPDATE b = VALUES(b)", "(?, ?)");
+    rewritable("INSERT INTO t VALUES (?, ?) ON DUPLICATE KEY UPDATE b = ?", null);
+    rewritable("INSERT INTO t SELECT ?", null);
+    rewritable("INSERT INTO t VALUES ((SELECT max(a) FROM t2), ?)", null);
+    rewritable("INSERT INTO t VALUES (?) RETURNING a", null);
+    rewritable("INSERT INTO t VALUES (?); DO 1", null);
+    rewritable("UPDATE t SET a = ?", null);
+    rewritable("INSERT INTO t SET a = ?", null);
+  }
+
+  @Test
+  public void cache() {
+    ClientParser.clearCache();
+    long hits = ClientParser.getCacheHits();
+    long misses = ClientParser.getCacheMisses();
+    ClientParser parser = ClientParser.parse("INSERT INTO t VALUES (?, ?)", false);
+    assertSame(parser, ClientParser.parse("INSERT INTO t VALUES (?, ?)", false));
+    assertNotSame(parser, ClientParser.parse("INSERT INTO t VALUES (?, ?)", true));
+    assertEquals(2, ClientParser.getCacheMisses() - misses);
+    assertEquals(1, ClientParser.getCacheHits() - hits);
+    assertThrows(UnsupportedOperationException.class, () -> parser.getParamPositions().add(0));
+  }
+
+  @Test
+  public void cacheEviction() {
+    ClientParser.clearCache();
+    ClientParser hot = ClientParser.parse("SELECT ?", false);
+    ClientParser cold = ClientParser.parse("SELECT ?, ?", false);
+    for (int i = 0; i < 5000; i++) {
+      ClientParser.parse("SELECT " + i + ", ?", false);
+      // recently used command is kept when cache is full
+      assertSame(hot, ClientParser.parse("SELECT ?", false));
+    }
+    assertNotSame(cold, ClientParser.parse("SELECT ?, ?", false));
+  }
 }
@@ -0,0 +1,49 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.unit.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.util.ColumnLabelIndex;
+
+public class ColumnLabelIndexTest {
+
+  @Test
+  public void lookup() {
+    ColumnDecoder[] columns = new ColumnDecoder[40];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = ColumnDecoder.create("Col" + i, DataType.INTEGER, 0);
+    }
+    columns[39] = ColumnDecoder.create("col0", DataType.INTEGER, 0);
+    ColumnLabelIndex index = new ColumnLabelIndex(columns);
+
+    for (int i = 0; i < 39; i++) {
+      assertEquals(i + 1, index.get("Col" + i));
+      assertEquals(i + 1, index.get("COL" + i));
+      assertEquals(i + 1, index.get("col" + i));
+    }
+    // first column wins
+    assertEquals(1, index.get("col0"));
+    assertEquals(-1, index.get("col40"));
+    assertEquals(-1, index.get(""));
+
+    // table qualified label (table name is empty for created columns)
+    assertEquals(3, index.get(".COL2"));
+
+    assertEquals(Arrays.asList(".col0", "col0", ".col1", "col1"), index.labels().subList(0, 4));
+    assertEquals(78, index.labels().size());
+  }
+
+  @Test
+  public void empty() {
+    ColumnLabelIndex index = new ColumnLabelIndex(new ColumnDecoder[0]);
+    assertEquals(-1, index.get("a"));
+    assertTrue(index.labels().isEmpty());
+  }
+}
@@ -0,0 +1,184 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.unit.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.result.ResultSetMetaData;
+import org.mariadb.jdbc.client.socket.impl.PacketReader;
+import org.mariadb.jdbc.client.util.ColumnMetadataCache;
+import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.export.ExceptionFactory;
+
+public class ColumnMetadataCacheTest {
+
+  private static void writeString(ByteArrayOutputStream out, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    int len = bytes.length;
+    if (len < 251) {
+      out.write(len);
+    } else if (len < 65536) {
+      out.write(0xfc);
+      out.write(len);
+      out.write(len >>> 8);
+    } else {
+      out.write(0xfd);
+      out.write(len);
+      out.write(len >>> 8);
+      out.write(len >>> 16);
+    }
+    out.write(bytes, 0, len);
+  }
+
+  private static void writePacket(ByteArrayOutputStream out, ByteArrayOutputStream packet) {
+    out.write(packet.size());
+    out.write(packet.size() >>> 8);
+    out.write(packet.size() >>> 16);
+    out.write(0);
+    out.write(packet.toByteArray(), 0, packet.size());
+  }
+
+  private static void writeColumn(ByteArrayOutputStream out, String name, DataType type) {
+    writeColumn(out, "t", "t", name, name, type);
+  }
+
+  private static void writeColumn(
+      ByteArrayOutputStream out,
+      String tableAlias,
+      String table,
+      String alias,
+      String name,
+      DataType type) {
+    ByteArrayOutputStream packet = new ByteArrayOutputStream();
+    writeString(packet, "def");
+    writeString(packet, "db");
+    writeString(packet, tableAlias);
+    writeString(packet, table);
+    writeString(packet, alias);
+    writeString(packet, name);
+    packet.write(0x0c);
+    packet.write(new byte[] {33, 0, 11, 0, 0, 0, (byte) type.get(), 0, 0, 0, 0, 0}, 0, 12);
+    writePacket(out, packet);
+  }
+
+  private static PacketReader reader(String... names) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (String name : names) writeColumn(out, name, DataType.INTEGER);
+    return reader(out);
+  }
+
+  private static PacketReader reader(ByteArrayOutputStream out) throws Exception {
+    return new PacketReader(
+        new ByteArrayInputStream(out.toByteArray()),
+        Configuration.parse("jdbc:mariadb://localhost/"),
+        new MutableByte());
+  }
+
+  @Test
+  public void cacheHit() throws Exception {
+    ColumnMetadataCache cache = new ColumnMetadataCache(2);
+    ColumnDecoder[] columns = cache.read(reader("a", "b"), 2, false, false);
+    assertEquals(2, columns.length);
+    assertEquals("a", columns[0].getColumnAlias());
+    assertEquals("b", columns[1].getColumnAlias());
+    assertEquals(DataType.INTEGER, columns[1].getType());
+
+    // identical definitions reuse cached columns
+    assertSame(columns, cache.read(reader("a", "b"), 2, false, false));
+    assertNotSame(columns, cache.read(reader("a", "c"), 2, false, false));
+    assertNotSame(columns, cache.read(reader("a"), 1, false, false));
+    assertEquals(2, cache.size());
+
+    // LRU eviction
+    assertNotSame(columns, cache.read(reader("a", "b"), 2, false, false));
+  }
+
+  @Test
+  public void lengthEncodedStrings() throws Exception {
+    String shortName = String.join("", Collections.nCopies(300, "a"));
+    String longName = String.join("", Collections.nCopies(70_000, "b"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writeColumn(out, "t", "t", shortName, longName, DataType.VARCHAR);
+
+    // 8 bytes length prefix
+    ByteArrayOutputStream packet = new ByteArrayOutputStream();
+    writeString(packet, "def");
+    writeString(packet, "db");
+    writeString(packet, "t");
+    writeString(packet, "t");
+    packet.write(new byte[] {(byte) 0xfe, 3, 0, 0, 0, 0, 0, 0, 0, 'a', 'b', 'c'}, 0, 12);
+    writeString(packet, "c");
+    packet.write(0x0c);
+    packet.write(
+        new byte[] {33, 0, 11, 0, 0, 0, (byte) DataType.INTEGER.get(), 0, 0, 0, 0, 0}, 0, 12);
+    writePacket(out, packet);
+
+    ColumnDecoder[] columns = new ColumnMetadataCache(2).read(reader(out), 2, false, false);
+    assertEquals(shortName, columns[0].getColumnAlias());
+    assertEquals(longName, columns[0].getColumnName());
+    assertEquals(DataType.VARCHAR, columns[0].getType());
+    assertEquals("abc", columns[1].getColumnAlias());
+    assertEquals("c", columns[1].getColumnName());
+    assertEquals(DataType.INTEGER, columns[1].getType());
+  }
+
+  @Test
+  public void aliasAsNameWithCachedColumns() throws Exception {
+    ColumnMetadataCache cache = new ColumnMetadataCache(2);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writeColumn(out, "ta", "t", "ca", "c", DataType.INTEGER);
+    ColumnDecoder[] columns = cache.read(reader(out), 1, false, false);
+    out = new ByteArrayOutputStream();
+    writeColumn(out, "ta", "t", "ca", "c", DataType.INTEGER);
+    assertSame(columns, cache.read(reader(out), 1, false, false));
+
+    // alias is only applied to metadata of result using it, not to shared columns
+    Configuration conf = Configuration.parse("jdbc:mariadb://localhost/");
+    ExceptionFactory exceptionFactory = new ExceptionFactory(conf, null);
+    ResultSetMetaData aliasMeta = new ResultSetMetaData(exceptionFactory, columns, conf, true);
+    ResultSetMetaData meta = new ResultSetMetaData(exceptionFactory, columns, conf, false);
+    assertEquals("ta", aliasMeta.getTableName(1));
+    assertEquals("ca", aliasMeta.getColumnName(1));
+    assertEquals("t", meta.getTableName(1));
+    assertEquals("c", meta.getColumnName(1));
+    assertEquals("t", columns[0].getTable());
+    assertEquals("c", columns[0].getColumnName());
+  }
+
+  @Test
+  public void concurrentMetadataRead() throws Exception {
+    ColumnMetadataCache cache = new ColumnMetadataCache(2);
+    ColumnDecoder[] columns = cache.read(reader("a", "bb"), 2, false, false);
+    Thread[] threads = new Thread[4];
+    AtomicInteger errors = new AtomicInteger();
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] =
+          new Thread(
+              () -> {
+                for (int j = 0; j < 10_000; j++) {
+                  // shared columns are read without changing buffer position
+                  if (!"a".equals(columns[0].getColumnName())
+                      || !"db".equals(columns[0].getSchema())
+                      || !"bb".equals(columns[1].getColumnAlias())
+                      || !"t".equals(columns[1].getTable())) {
+                    errors.incrementAndGet();
+                  }
+                }
+              });
+      threads[i].start();
+    }
+    for (Thread thread : threads) thread.join();
+    assertEquals(0, errors.get());
+  }
+}
@@ -12,9 +12,13 @@ import java.util.Properties;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mariadb.jdbc.*;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.DataType;
 import org.mariadb.jdbc.export.HaMode;
 import org.mariadb.jdbc.export.SslMode;
 import org.mariadb.jdbc.integration.Common;
+import org.mariadb.jdbc.plugin.codec.IntCodec;
+import org.mariadb.jdbc.plugin.codec.StringCodec;
 
 @SuppressWarnings("ConstantConditions")
 public class ConfigurationTest {
@@ -27,6 +31,71 @@ public class ConfigurationTest {
         "url parsing error : '//' is not present in the url");
   }
 
+  @Test
+  public void parseCache() throws SQLException {
+    Properties props = new Properties();
+    props.setProperty("socketTimeout", "50");
+    Configuration conf = Configuration.parse("jdbc:mariadb://localhost/test?createDB=true", props);
+    // caller properties are not modified by url options
+    assertEquals(1, props.size());
+    assertSame(conf, Configuration.parse("jdbc:mariadb://localhost/test?createDB=true", props));
+    assertNotSame(conf, Configuration.parse("jdbc:mariadb://localhost/test2", props));
+
+    // non mapped options cannot be changed from outside
+    Common.assertThrowsContains(
+        UnsupportedOperationException.class,
+        () -> conf.nonMappedOptions().setProperty("createDB", "false"),
+        "cannot be modified");
+    assertEquals("true", conf.nonMappedOptions().get("createDB"));
+
+    props.setProperty("socketTimeout", "60");
+    Configuration conf2 = Configuration.parse("jdbc:mariadb://localhost/test", props);
+    assertNotSame(conf, conf2);
+    assertEquals(60, conf2.socketTimeout());
+    assertSame(conf.codecs(), conf2.codecs());
+  }
+
+  @Test
+  public void parseCacheCredentials() throws SQLException {
+    Properties props = new Properties();
+    props.setProperty("password", "pwd1");
+    Configuration conf = Configuration.parse("jdbc:mariadb://localhost/test?user=u", props);
+    assertEquals("pwd1", conf.password());
+    Configuration conf2 = Configuration.parse("jdbc:mariadb://localhost/test?user=u", props);
+    assertEquals("pwd1", conf2.password());
+    assertEquals("u", conf2.user());
+    assertEquals(conf, conf2);
+
+    // url password has precedence
+    Configuration conf3 =
+        Configuration.parse("jdbc:mariadb://localhost/test?user=u&password=pwd2", props);
+    assertEquals("pwd2", conf3.password());
+    assertEquals(
+        "pwd2",
+        Configuration.parse("jdbc:mariadb://localhost/test?user=u&password=pwd2", props)
+            .password());
+
+    props.setProperty("password", "pwd3");
+    assertEquals(
+        "pwd3", Configuration.parse("jdbc:mariadb://localhost/test?user=u", props).password());
+  }
+
+  @Test
+  public void codecDispatch() throws SQLException {
+    Configuration conf = Configuration.parse("jdbc:mariadb://localhost/test");
+    assertTrue(conf.encoder(1) instanceof IntCodec);
+    assertSame(conf.encoder(1), conf.encoder(2));
+    assertTrue(conf.encoder("a") instanceof StringCodec);
+    assertNull(conf.encoder(new Object()));
+    assertNull(conf.encoder(new Object()));
+
+    ColumnDecoder column = ColumnDecoder.create("a", DataType.INTEGER, 0);
+    assertTrue(conf.decoder(column, Integer.class) instanceof IntCodec);
+    assertSame(conf.decoder(column, Integer.class), conf.decoder(column, Integer.class));
+    assertTrue(conf.decoder(column, String.class) instanceof StringCodec);
+    assertNull(conf.decoder(column, Thread.class));
+  }
+
   @Test
   public void testParseProps() throws SQLException {
     Configuration conf = Configuration.parse("jdbc:mariadb://localhost/test", null);
@@ -0,0 +1,69 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.unit.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.util.Parameters;
+import org.mariadb.jdbc.codec.Parameter;
+import org.mariadb.jdbc.plugin.codec.StringCodec;
+import org.mariadb.jdbc.util.ParameterBatch;
+import org.mariadb.jdbc.util.ParameterList;
+
+public class ParameterBatchTest {
+
+  @Test
+  public void columnarStorage() {
+    ParameterBatch batch = new ParameterBatch();
+    ParameterList params = new ParameterList(2);
+    for (int i = 0; i < 100; i++) {
+      params.setInt(0, i);
+      if (i % 2 == 0) {
+        params.set(1, Parameter.NULL_PARAMETER);
+      } else {
+        params.set(1, new Parameter<>(StringCodec.INSTANCE, "v" + i));
+      }
+      batch.add(params);
+    }
+    assertEquals(100, batch.size());
+    assertTrue(batch.approximateSize() > 100 * 8);
+    assertEquals(2, batch.parameterCount(50));
+    assertEquals(DataType.INTEGER.get(), batch.getBinaryEncodeType(10, 0));
+    assertTrue(batch.isNull(10, 1));
+    assertFalse(batch.isNull(11, 1));
+
+    // row views
+    Parameters row = batch.get(11);
+    assertEquals("11", row.get(0).bestEffortStringValue(null));
+    assertTrue(row.containsKey(1));
+    Parameters rowCopy = row.clone();
+    row.set(0, Parameter.NULL_PARAMETER);
+    assertTrue(batch.isNull(11, 0));
+    assertFalse(rowCopy.isNull(0));
+
+    ParameterBatch copy = batch.copy();
+    batch.clear();
+    assertEquals(0, batch.size());
+    assertEquals(0, batch.approximateSize());
+    assertEquals(100, copy.size());
+    assertTrue(copy.isNull(11, 0));
+  }
+
+  @Test
+  public void fromList() {
+    List<Parameters> list = new ArrayList<>();
+    ParameterList params = new ParameterList();
+    params.setLong(0, 5L);
+    list.add(params);
+    ParameterBatch batch = ParameterBatch.of(list);
+    assertEquals(1, batch.size());
+    assertEquals(DataType.BIGINT.get(), batch.getBinaryEncodeType(0, 0));
+    assertSame(batch, ParameterBatch.of(batch));
+  }
+}
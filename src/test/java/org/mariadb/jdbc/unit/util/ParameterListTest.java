@@ -6,7 +6,9 @@ package org.mariadb.jdbc.unit.util;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.socket.impl.PacketWriter;
 import org.mariadb.jdbc.codec.Parameter;
 import org.mariadb.jdbc.plugin.codec.StringCodec;
 import org.mariadb.jdbc.util.ParameterList;
@@ -21,4 +23,50 @@ public class ParameterListTest {
     assertNotNull(p.get(2));
     assertThrows(ArrayIndexOutOfBoundsException.class, () -> p.get(3));
   }
+
+  @Test
+  public void primitives() throws Exception {
+    ParameterList p = new ParameterList(1);
+    p.setInt(0, -5);
+    p.setLong(1, Long.MAX_VALUE);
+    p.setDouble(2, 1.5d);
+    p.setFloat(3, -2.5f);
+    p.setBoolean(4, true);
+    p.setShort(5, (short) 3);
+    p.setByte(6, (byte) -1);
+    p.set(7, Parameter.NULL_PARAMETER);
+    assertEquals(8, p.size());
+    assertFalse(p.isNull(0));
+    assertTrue(p.isNull(7));
+    assertTrue(p.containsKey(6));
+
+    ParameterList copy = p.clone();
+    p.setInt(0, 10);
+    assertEquals("-5,9223372036854775807,1.5,-2.5,1,3,-1,null", encodeText(copy));
+    assertEquals("10,9223372036854775807,1.5,-2.5,1,3,-1,null", encodeText(p));
+
+    // binary encoding is the same as for wrapped parameters
+    for (int i = 0; i < 7; i++) {
+      PacketWriter writer = new PacketWriter(null, 0, 0xffffff, null, null);
+      p.encodeBinary(i, writer);
+      PacketWriter expected = new PacketWriter(null, 0, 0xffffff, null, null);
+      p.get(i).encodeBinary(expected);
+      assertEquals(expected.pos(), writer.pos());
+      assertEquals(p.get(i).getBinaryEncodeType(), p.getBinaryEncodeType(i));
+    }
+
+    Parameter<String> str = new Parameter<>(StringCodec.INSTANCE, "test");
+    p.set(0, str);
+    assertSame(str, p.get(0));
+    assertEquals(StringCodec.INSTANCE.getBinaryEncodeType(), p.getBinaryEncodeType(0));
+  }
+
+  private String encodeText(ParameterList p) throws Exception {
+    PacketWriter writer = new PacketWriter(null, 0, 0xffffff, null, null);
+    for (int i = 0; i < p.size(); i++) {
+      if (i > 0) writer.writeByte(',');
+      p.encodeText(i, writer, null);
+    }
+    return new String(writer.buf(), 4, writer.pos() - 4, StandardCharsets.UTF_8);
+  }
 }
@@ -0,0 +1,141 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.unit.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.InputStream;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
+import org.mariadb.jdbc.client.util.MutableInt;
+import org.mariadb.jdbc.client.util.RowStore;
+import org.mariadb.jdbc.client.util.SlabPool;
+import org.mariadb.jdbc.plugin.codec.StreamCodec;
+
+public class RowStoreTest {
+
+  @Test
+  public void slabStorage() {
+    SlabPool pool = new SlabPool();
+    RowStore rows = new RowStore(pool, 2);
+    for (int i = 0; i < 10_000; i++) {
+      int idx = rows.reserve(20);
+      assertEquals(i, idx);
+      rows.buf(idx)[rows.offset(idx)] = (byte) i;
+    }
+    assertEquals(10_000, rows.size());
+    assertSame(rows.buf(0), rows.buf(1));
+    assertEquals(20, rows.offset(1));
+    for (int i = 0; i < 10_000; i++) {
+      assertEquals((byte) i, rows.buf(i)[rows.offset(i)]);
+    }
+
+    byte[] firstSlab = rows.buf(0);
+    rows.release();
+    assertEquals(0, rows.size());
+
+    // slab is reused by next storage
+    RowStore nextRows = new RowStore(pool, 10);
+    int idx = nextRows.reserve(5);
+    assertSame(firstSlab, nextRows.buf(idx));
+  }
+
+  @Test
+  public void bigRows() {
+    RowStore rows = new RowStore(new SlabPool(), 10);
+    int small = rows.reserve(10);
+    int big = rows.reserve(RowStore.SLAB_SIZE);
+    assertNotSame(rows.buf(small), rows.buf(big));
+    assertEquals(0, rows.offset(big));
+    rows.buf(big)[10] = 1;
+    rows.extend(big, 100);
+    assertEquals(RowStore.SLAB_SIZE + 100, rows.length(big));
+    assertEquals(1, rows.buf(big)[10]);
+  }
+
+  @Test
+  public void modification() {
+    RowStore rows = new RowStore(new byte[][] {new byte[] {1}, new byte[] {2}, new byte[] {3}});
+    rows.remove(1);
+    assertEquals(2, rows.size());
+    assertArrayEquals(new byte[] {3}, rows.copy(1));
+    rows.set(0, new byte[] {4, 5});
+    assertEquals(2, rows.length(0));
+    rows.add(new byte[] {6});
+    assertEquals(3, rows.size());
+
+    RowStore streamRows = new RowStore(new SlabPool(), 10);
+    streamRows.reserve(10);
+    int last = streamRows.reserve(10);
+    streamRows.removeLast();
+    assertEquals(1, streamRows.size());
+    assertEquals(10, streamRows.offset(streamRows.reserve(3)));
+    streamRows.clear();
+    assertEquals(0, streamRows.size());
+    assertEquals(0, streamRows.offset(streamRows.reserve(3)));
+    assertEquals(1, last);
+  }
+
+  @Test
+  public void streamingReuse() {
+    RowStore rows = new RowStore(new SlabPool(), 10);
+    int rowNumber = RowStore.SLAB_SIZE / 1000 * 3;
+    for (int i = 0; i < rowNumber; i++) rows.reserve(1000);
+    byte[] firstSlab = rows.buf(0);
+    byte[] lastSlab = rows.buf(rowNumber - 1);
+    assertNotSame(firstSlab, lastSlab);
+
+    // next fetch reuse same slabs in order
+    rows.clear();
+    for (int i = 0; i < rowNumber; i++) rows.reserve(1000);
+    assertSame(firstSlab, rows.buf(0));
+    assertSame(lastSlab, rows.buf(rowNumber - 1));
+  }
+
+  private static InputStream decodeStream(RowStore rows, int index) throws Exception {
+    StandardReadableByteBuf buf =
+        new StandardReadableByteBuf(rows.buf(index), rows.offset(index) + rows.length(index));
+    buf.pos(rows.offset(index));
+    return StreamCodec.INSTANCE.decodeText(
+        buf, new MutableInt(rows.length(index)), ColumnDecoder.create("c", DataType.BLOB, 0), null);
+  }
+
+  @Test
+  public void streamSurvivesSlabReuse() throws Exception {
+    SlabPool pool = new SlabPool();
+    RowStore rows = new RowStore(pool, 2);
+    int idx = rows.reserve(3);
+    System.arraycopy(new byte[] {1, 2, 3}, 0, rows.buf(idx), rows.offset(idx), 3);
+    InputStream is = decodeStream(rows, idx);
+    rows.release();
+
+    // slab reused by another result-set
+    RowStore nextRows = new RowStore(pool, 2);
+    int nextIdx = nextRows.reserve(3);
+    System.arraycopy(new byte[] {7, 8, 9}, 0, nextRows.buf(nextIdx), nextRows.offset(nextIdx), 3);
+    assertEquals(1, is.read());
+    assertEquals(2, is.read());
+    assertEquals(3, is.read());
+  }
+
+  @Test
+  public void streamSurvivesNextFetch() throws Exception {
+    RowStore rows = new RowStore(new SlabPool(), 2);
+    int idx = rows.reserve(3);
+    System.arraycopy(new byte[] {1, 2, 3}, 0, rows.buf(idx), rows.offset(idx), 3);
+    InputStream is = decodeStream(rows, idx);
+
+    // next streaming fetch overwrites same slab, while stream is still open
+    rows.clear();
+    int nextIdx = rows.reserve(3);
+    assertEquals(rows.offset(idx), rows.offset(nextIdx));
+    System.arraycopy(new byte[] {7, 8, 9}, 0, rows.buf(nextIdx), rows.offset(nextIdx), 3);
+    byte[] read = new byte[3];
+    assertEquals(3, is.read(read));
+    assertArrayEquals(new byte[] {1, 2, 3}, read);
+  }
+}
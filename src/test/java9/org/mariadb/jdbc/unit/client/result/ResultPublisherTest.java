@@ -0,0 +1,247 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2021 MariaDB Corporation Ab
+
+package org.mariadb.jdbc.unit.client.result;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Flow;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.result.ResultPublisher;
+
+public class ResultPublisherTest {
+
+  /** Result-set over integer rows, recording fetch sizes and close. */
+  private static final class Rows {
+    private final List<Integer> values;
+    private final int fetchSize;
+    private final List<Integer> fetchSizes = new ArrayList<>();
+    private int position = -1;
+    private boolean closed;
+    private final ResultSet rs;
+
+    private Rows(int fetchSize, Integer... values) {
+      this.values = Arrays.asList(values);
+      this.fetchSize = fetchSize;
+      this.rs =
+          (ResultSet)
+              Proxy.newProxyInstance(
+                  ResultSet.class.getClassLoader(),
+                  new Class<?>[] {ResultSet.class},
+                  (proxy, method, args) -> {
+                    switch (method.getName()) {
+                      case "next":
+                        if (closed) throw new SQLException("closed result-set");
+                        return ++position < this.values.size();
+                      case "getInt":
+                        return this.values.get(position);
+                      case "getFetchSize":
+                        return this.fetchSize;
+                      case "setFetchSize":
+                        fetchSizes.add((Integer) args[0]);
+                        return null;
+                      case "close":
+                        closed = true;
+                        return null;
+                      default:
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                  });
+    }
+  }
+
+  private static class RecordingSubscriber implements Flow.Subscriber<Integer> {
+    private final List<Integer> items = new ArrayList<>();
+    private Flow.Subscription subscription;
+    private Throwable error;
+    private int completions;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(Integer item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      completions++;
+    }
+  }
+
+  @Test
+  public void demand() {
+    Rows rows = new Rows(0, 1, 2, 3, 4, 5);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    new ResultPublisher<>(rows.rs, rs -> rs.getInt(1)).subscribe(subscriber);
+    assertTrue(subscriber.items.isEmpty());
+
+    subscriber.subscription.request(2);
+    assertEquals(Arrays.asList(1, 2), subscriber.items);
+    assertEquals(0, subscriber.completions);
+    assertFalse(rows.closed);
+
+    subscriber.subscription.request(1);
+    assertEquals(Arrays.asList(1, 2, 3), subscriber.items);
+    assertEquals(0, subscriber.completions);
+
+    subscriber.subscription.request(10);
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), subscriber.items);
+    assertEquals(1, subscriber.completions);
+    assertNull(subscriber.error);
+    assertTrue(rows.closed);
+  }
+
+  @Test
+  public void unboundedDemand() {
+    Rows rows = new Rows(0, 1, 2, 3);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    new ResultPublisher<>(rows.rs, rs -> rs.getInt(1)).subscribe(subscriber);
+    subscriber.subscription.request(Long.MAX_VALUE);
+    subscriber.subscription.request(Long.MAX_VALUE);
+    assertEquals(Arrays.asList(1, 2, 3), subscriber.items);
+    assertEquals(1, subscriber.completions);
+    assertTrue(rows.closed);
+  }
+
+  @Test
+  public void streamingFetchSize() {
+    Rows rows = new Rows(10, 1, 2, 3, 4, 5);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    new ResultPublisher<>(rows.rs, rs -> rs.getInt(1)).subscribe(subscriber);
+    subscriber.subscription.request(2);
+    subscriber.subscription.request(20);
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), subscriber.items);
+    // fetch never exceeds outstanding demand, nor initial fetch size
+    assertEquals(Arrays.asList(2, 1, 10, 10, 10, 10), rows.fetchSizes);
+    assertEquals(1, subscriber.completions);
+  }
+
+  @Test
+  public void emptyResult() {
+    Rows rows = new Rows(0);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    new ResultPublisher<>(rows.rs, rs -> rs.getInt(1)).subscribe(subscriber);
+    subscriber.subscription.request(1);
+    assertTrue(subscriber.items.isEmpty());
+    assertEquals(1, subscriber.completions);
+    assertTrue(rows.closed);
+
+    // no signal after completion
+    subscriber.subscription.request(1);
+    assertEquals(1, subscriber.completions);
+  }
+
+  @Test
+  public void cancel() {
+    Rows rows = new Rows(0, 1, 2, 3);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    new ResultPublisher<>(rows.rs, rs -> rs.getInt(1)).subscribe(subscriber);
+    subscriber.subscription.request(1);
+    subscriber.subscription.cancel();
+    assertTrue(rows.closed);
+
+    subscriber.subscription.request(5);
+    assertEquals(Arrays.asList(1), subscriber.items);
+    assertEquals(0, subscriber.completions);
+    assertNull(subscriber.error);
+  }
+
+  @Test
+  public void cancelFromOnNext() {
+    Rows rows = new Rows(0, 1, 2, 3);
+    RecordingSubscriber subscriber =
+        new RecordingSubscriber() {
+          @Override
+          public void onNext(Integer item) {
+            super.onNext(item);
+            if (item == 2) super.subscription.cancel();
+          }
+        };
+    new ResultPublisher<>(rows.rs, rs -> rs.getInt(1)).subscribe(subscriber);
+    subscriber.subscription.request(Long.MAX_VALUE);
+    assertEquals(Arrays.asList(1, 2), subscriber.items);
+    assertEquals(0, subscriber.completions);
+    assertTrue(rows.closed);
+  }
+
+  @Test
+  public void mapperError() {
+    Rows rows = new Rows(0, 1, 2, 3);
+    SQLException failure = new SQLException("mapping failure");
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    new ResultPublisher<Integer>(
+            rows.rs,
+            rs -> {
+              if (rs.getInt(1) == 2) throw failure;
+              return rs.getInt(1);
+            })
+        .subscribe(subscriber);
+    subscriber.subscription.request(5);
+    assertEquals(Arrays.asList(1), subscriber.items);
+    assertSame(failure, subscriber.error);
+    assertEquals(0, subscriber.completions);
+    assertTrue(rows.closed);
+  }
+
+  @Test
+  public void invalidRequest() {
+    Rows rows = new Rows(0, 1, 2);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    new ResultPublisher<>(rows.rs, rs -> rs.getInt(1)).subscribe(subscriber);
+    subscriber.subscription.request(0);
+    assertTrue(subscriber.error instanceof IllegalArgumentException);
+    assertTrue(subscriber.items.isEmpty());
+    assertTrue(rows.closed);
+  }
+
+  @Test
+  public void subscriberError() {
+    Rows rows = new Rows(0, 1, 2, 3);
+    RecordingSubscriber subscriber =
+        new RecordingSubscriber() {
+          @Override
+          public void onNext(Integer item) {
+            super.onNext(item);
+            throw new IllegalStateException("subscriber failure");
+          }
+        };
+    new ResultPublisher<>(rows.rs, rs -> rs.getInt(1)).subscribe(subscriber);
+    subscriber.subscription.request(5);
+    // subscription is cancelled, subscriber own failure is not signalled back
+    assertEquals(Arrays.asList(1), subscriber.items);
+    assertNull(subscriber.error);
+    assertEquals(0, subscriber.completions);
+    assertTrue(rows.closed);
+  }
+
+  @Test
+  public void singleSubscriber() {
+    Rows rows = new Rows(0, 1);
+    ResultPublisher<Integer> publisher = new ResultPublisher<>(rows.rs, rs -> rs.getInt(1));
+    RecordingSubscriber first = new RecordingSubscriber();
+    RecordingSubscriber second = new RecordingSubscriber();
+    publisher.subscribe(first);
+    publisher.subscribe(second);
+    assertTrue(second.error instanceof IllegalStateException);
+    assertNull(first.error);
+
+    first.subscription.request(1);
+    assertEquals(Arrays.asList(1), first.items);
+  }
+}